@@ -0,0 +1,27 @@
+package com.sdlcassist.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caffeine caches for lookups that one request tends to repeat: users by username
+ * (login, current user, upload and project ownership) and project metadata by id.
+ * Caches and their spec are declared under {@code spring.cache} in application.yml;
+ * Boot binds them to Micrometer as {@code cache.gets{result=hit|miss}}, {@code cache.puts},
+ * {@code cache.evictions} and {@code cache.size}, visible under /actuator/metrics.
+ *
+ * The caching advice runs outside the transaction advice, so a hit never opens a
+ * transaction or borrows a pooled connection, and a write's eviction happens after
+ * its transaction has committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /** {@link com.sdlcassist.model.User} by username; evicted by every user write. */
+    public static final String USERS = "users";
+
+    /** {@link com.sdlcassist.model.Project} metadata (owner loaded, artifacts not) by id. */
+    public static final String PROJECTS = "projects";
+}
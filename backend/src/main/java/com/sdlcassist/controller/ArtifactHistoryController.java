@@ -0,0 +1,120 @@
+package com.sdlcassist.controller;
+
+import com.sdlcassist.dto.ArtifactRevisionResponse;
+import com.sdlcassist.dto.ProjectResponse;
+import com.sdlcassist.dto.ScreenDefinitionDto;
+import com.sdlcassist.model.ArtifactRevision;
+import com.sdlcassist.model.ProjectArtifact;
+import com.sdlcassist.service.ArtifactHistoryService;
+import com.sdlcassist.service.ProjectService;
+import com.sdlcassist.service.ScreenExtractionService;
+import com.sdlcassist.service.ScreenGenerationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Revision history of the project documents and screen prototypes: list, read, diff and
+ * restore. Documents are named by their API slug ({@code prd}, {@code design-system},
+ * {@code architecture}, {@code data-model}, {@code api-contract}, {@code sequence-diagrams}).
+ */
+@RestController
+@RequestMapping("/api/projects")
+@RequiredArgsConstructor
+public class ArtifactHistoryController {
+
+    private final ArtifactHistoryService historyService;
+    private final ProjectService projectService;
+    private final ScreenGenerationService screenGenerationService;
+    private final ScreenExtractionService screenExtractionService;
+
+    // -------------------------------------------------------------------------
+    // Project documents
+    // -------------------------------------------------------------------------
+
+    @GetMapping("/{id}/history/{artifact}")
+    public ResponseEntity<List<ArtifactRevisionResponse>> getHistory(
+            @PathVariable UUID id, @PathVariable String artifact) {
+        return ResponseEntity.ok(revisions(id, versioned(artifact).name(), null));
+    }
+
+    @GetMapping("/{id}/history/{artifact}/{revision}")
+    public ResponseEntity<Map<String, Object>> getRevision(
+            @PathVariable UUID id, @PathVariable String artifact, @PathVariable int revision) {
+        String content = historyService.content(id, versioned(artifact).name(), null, revision);
+        return ResponseEntity.ok(Map.of("revision", revision, "content", content));
+    }
+
+    @GetMapping("/{id}/history/{artifact}/diff")
+    public ResponseEntity<Map<String, Object>> diff(
+            @PathVariable UUID id, @PathVariable String artifact,
+            @RequestParam int from, @RequestParam int to) {
+        String diff = historyService.diff(id, versioned(artifact).name(), null, from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "diff", diff));
+    }
+
+    @PostMapping("/{id}/history/{artifact}/{revision}/restore")
+    public ResponseEntity<ProjectResponse> restore(
+            @PathVariable UUID id, @PathVariable String artifact, @PathVariable int revision,
+            WebRequest request) {
+        return ETags.project(projectService.restoreArtifact(id, versioned(artifact), revision,
+                ETags.ifMatchUpdatedAt(request)));
+    }
+
+    // -------------------------------------------------------------------------
+    // Screen prototypes
+    // -------------------------------------------------------------------------
+
+    @GetMapping("/{id}/screens/{screenId}/prototype/history")
+    public ResponseEntity<List<ArtifactRevisionResponse>> getPrototypeHistory(
+            @PathVariable UUID id, @PathVariable UUID screenId) {
+        return ResponseEntity.ok(revisions(id, ArtifactRevision.PROTOTYPE, screenId));
+    }
+
+    @GetMapping("/{id}/screens/{screenId}/prototype/history/{revision}")
+    public ResponseEntity<Map<String, Object>> getPrototypeRevision(
+            @PathVariable UUID id, @PathVariable UUID screenId, @PathVariable int revision) {
+        String content = historyService.content(id, ArtifactRevision.PROTOTYPE, screenId, revision);
+        return ResponseEntity.ok(Map.of("revision", revision, "content", content));
+    }
+
+    @GetMapping("/{id}/screens/{screenId}/prototype/history/diff")
+    public ResponseEntity<Map<String, Object>> diffPrototype(
+            @PathVariable UUID id, @PathVariable UUID screenId,
+            @RequestParam int from, @RequestParam int to) {
+        String diff = historyService.diff(id, ArtifactRevision.PROTOTYPE, screenId, from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "diff", diff));
+    }
+
+    @PostMapping("/{id}/screens/{screenId}/prototype/history/{revision}/restore")
+    public ResponseEntity<ScreenDefinitionDto> restorePrototype(
+            @PathVariable UUID id, @PathVariable UUID screenId, @PathVariable int revision,
+            WebRequest request) {
+        ScreenDefinitionDto restored = screenGenerationService.restorePrototype(id, screenId, revision,
+                ETags.ifMatchStamp(request));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(screenExtractionService.getScreensChangeStamp(id)))
+                .body(restored);
+    }
+
+    private List<ArtifactRevisionResponse> revisions(UUID projectId, String artifact, UUID screenId) {
+        return historyService.history(projectId, artifact, screenId).stream()
+                .map(ArtifactRevisionResponse::from)
+                .toList();
+    }
+
+    private static ProjectArtifact.Type versioned(String slug) {
+        ProjectArtifact.Type type = ProjectArtifact.Type.fromSlug(slug);
+        if (type == null || !ProjectArtifact.Type.VERSIONED.contains(type)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No history for artifact: " + slug);
+        }
+        return type;
+    }
+}
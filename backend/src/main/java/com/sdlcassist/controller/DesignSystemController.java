@@ -5,16 +5,16 @@ import com.sdlcassist.dto.ProjectResponse;
 import com.sdlcassist.model.Project;
 import com.sdlcassist.service.DesignSystemService;
 import com.sdlcassist.service.ProjectService;
+import com.sdlcassist.service.StreamingExecutor;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -23,8 +23,7 @@ public class DesignSystemController {
 
     private final DesignSystemService designSystemService;
     private final ProjectService projectService;
-
-    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final StreamingExecutor streamingExecutor;
 
     @GetMapping(value = "/{id}/design-system/generate", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter generateDesignSystem(
@@ -52,8 +51,8 @@ public class DesignSystemController {
             emitter.complete();
         });
 
-        streamExecutor.execute(() ->
-                designSystemService.generateDesignSystem(id, emitter));
+        streamingExecutor.submit("design-system", emitter, StreamingExecutor.agentError(emitter, "progress"),
+                () -> designSystemService.generateDesignSystem(id, emitter));
 
         return emitter;
     }
@@ -61,8 +60,10 @@ public class DesignSystemController {
     @PutMapping("/{id}/design-system")
     public ResponseEntity<ProjectResponse> saveDesignSystem(
             @PathVariable UUID id,
-            @RequestBody DesignSystemSaveRequest request) {
-        Project project = projectService.saveDesignSystem(id, request.getContent());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @RequestBody DesignSystemSaveRequest request,
+            WebRequest webRequest) {
+        Project project = projectService.saveDesignSystem(id, request.getContent(), request.getVersion(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 }
@@ -0,0 +1,118 @@
+package com.sdlcassist.controller;
+
+import com.sdlcassist.dto.ChangeStamp;
+import com.sdlcassist.dto.ProjectResponse;
+import com.sdlcassist.model.Project;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Strong entity tags for the JSON endpoints. A project is tagged with its updated_at and
+ * a collection with its {@link ChangeStamp}; both are read with a one-row query, so an
+ * If-None-Match that still matches is answered with 304 before the body is loaded.
+ */
+final class ETags {
+
+    /** Let the browser keep the response but revalidate it (with If-None-Match) on every use. */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {}
+
+    static String of(Instant updatedAt) {
+        return quote(micros(updatedAt));
+    }
+
+    static String of(ChangeStamp stamp) {
+        Instant last = stamp.getLastUpdatedAt();
+        return quote(stamp.getTotal() + "-" + (last == null ? "0" : micros(last)));
+    }
+
+    static String ofHash(String hash) {
+        return quote(hash);
+    }
+
+    /** 200 with the project and its current tag, for reads and for every project write. */
+    static ResponseEntity<ProjectResponse> project(Project project) {
+        return ResponseEntity.ok()
+                .eTag(of(project.getUpdatedAt()))
+                .cacheControl(REVALIDATE)
+                .body(ProjectResponse.from(project));
+    }
+
+    /**
+     * The project versions an If-Match header accepts, for the service to make its write
+     * conditional on: null when the header is absent or {@code *}, so the write is
+     * unconditional. Fails with 412 straight away when no listed tag is a project tag.
+     */
+    static List<Instant> ifMatchUpdatedAt(WebRequest request) {
+        List<String> tags = ifMatchTags(request);
+        if (tags == null) return null;
+        List<Instant> accepted = new ArrayList<>();
+        for (String tag : tags) {
+            try {
+                accepted.add(Instant.EPOCH.plus(Long.parseLong(tag, 36), ChronoUnit.MICROS));
+            } catch (NumberFormatException | ArithmeticException | DateTimeException e) {
+                // Not a project tag, so it can't match
+            }
+        }
+        if (accepted.isEmpty()) throw preconditionFailed();
+        return accepted;
+    }
+
+    /**
+     * If-Match as a test of a collection's current {@link ChangeStamp}, for the service to
+     * apply under the lock its write is made with: null when the header is absent or
+     * {@code *}.
+     */
+    static Predicate<ChangeStamp> ifMatchStamp(WebRequest request) {
+        List<String> tags = ifMatchTags(request);
+        if (tags == null) return null;
+        return stamp -> tags.contains(unquote(of(stamp)));
+    }
+
+    // The strong tags listed in If-Match, unquoted; weak ones never match a write
+    private static List<String> ifMatchTags(WebRequest request) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_MATCH);
+        if (headers == null) return null;
+        List<String> tags = new ArrayList<>();
+        for (String header : headers) {
+            for (String tag : header.split(",")) {
+                tag = tag.trim();
+                if (tag.equals("*")) return null;
+                if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                    tags.add(unquote(tag));
+                }
+            }
+        }
+        return tags;
+    }
+
+    private static ResponseStatusException preconditionFailed() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "The resource was changed by someone else; reload and try again");
+    }
+
+    // Postgres keeps microseconds, so that's the precision every read of the row agrees on
+    private static String micros(Instant instant) {
+        return Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, instant), 36);
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    private static String unquote(String tag) {
+        return tag.substring(1, tag.length() - 1);
+    }
+}
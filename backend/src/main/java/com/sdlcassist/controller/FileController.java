@@ -1,25 +1,33 @@
 package com.sdlcassist.controller;
 
 import com.sdlcassist.dto.AiAnalysisResponse;
+import com.sdlcassist.dto.AnalysisChangesResponse;
 import com.sdlcassist.dto.FileResponse;
+import com.sdlcassist.dto.ProjectFileSummary;
 import com.sdlcassist.model.ProjectFile;
 import com.sdlcassist.service.AiService;
+import com.sdlcassist.service.ChunkService;
 import com.sdlcassist.service.FileService;
+import com.sdlcassist.service.FileStatusBroadcaster;
+import com.sdlcassist.service.StreamingExecutor;
 import com.sdlcassist.service.VertexAIService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.InputStream;
 import java.security.Principal;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}")
@@ -29,8 +37,9 @@ public class FileController {
     private final FileService fileService;
     private final AiService aiService;
     private final VertexAIService vertexAIService;
-
-    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final StreamingExecutor streamingExecutor;
+    private final FileStatusBroadcaster fileStatusBroadcaster;
+    private final ChunkService chunkService;
 
     @PostMapping("/files")
     public ResponseEntity<List<FileResponse>> uploadFiles(
@@ -42,22 +51,109 @@ public class FileController {
         return ResponseEntity.ok(response);
     }
 
+    /** Tagged with the list's row count and newest updated_at, which extraction progress also moves. */
     @GetMapping("/files")
-    public ResponseEntity<List<FileResponse>> getFiles(@PathVariable UUID projectId) {
+    public ResponseEntity<List<FileResponse>> getFiles(@PathVariable UUID projectId, WebRequest request) {
+        String etag = ETags.of(fileService.getFilesChangeStamp(projectId));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
         List<FileResponse> response = fileService.getFilesByProject(projectId).stream()
                 .map(FileResponse::from)
                 .toList();
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(response);
+    }
+
+    @GetMapping(value = "/files/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter fileStatusEvents(@PathVariable UUID projectId, HttpServletResponse response) {
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+        List<FileResponse> current = fileService.getFilesByProject(projectId).stream()
+                .map(FileResponse::from)
+                .toList();
+        return fileStatusBroadcaster.subscribe(projectId, current);
     }
 
+    /**
+     * Streams the file from the blob store. Content is immutable and addressed by its hash,
+     * so the hash is a strong ETag; a single byte range is honoured (subject to If-Range),
+     * multi-range requests get the whole file.
+     */
     @GetMapping("/files/{fileId}")
-    public ResponseEntity<byte[]> downloadFile(@PathVariable UUID projectId, @PathVariable UUID fileId) {
-        ProjectFile file = fileService.getFile(fileId);
-        return ResponseEntity.ok()
+    public ResponseEntity<StreamingResponseBody> downloadFile(
+            @PathVariable UUID projectId,
+            @PathVariable UUID fileId,
+            @RequestHeader HttpHeaders requestHeaders,
+            WebRequest request) {
+        ProjectFileSummary file = fileService.getFileSummary(fileId);
+        String etag = "\"" + file.getContentHash() + "\"";
+        long lastModified = file.getCreatedAt().toEpochMilli();
+        long size = file.getFileSize();
+
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified).build();
+        }
+
+        ResponseEntity.BodyBuilder response;
+        long offset = 0;
+        long length = size;
+
+        HttpRange range = requestedRange(requestHeaders, etag, lastModified);
+        if (range == null) {
+            response = ResponseEntity.ok();
+        } else {
+            try {
+                offset = range.getRangeStart(size);
+                length = range.getRangeEnd(size) - offset + 1;
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+            response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + (offset + length - 1) + "/" + size);
+        }
+
+        long start = offset;
+        long count = length;
+        StreamingResponseBody body = out -> {
+            try (InputStream in = fileService.openContent(file, start, count)) {
+                in.transferTo(out);
+            }
+        };
+        return response
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getOriginalFilename() + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(etag)
+                .lastModified(lastModified)
                 .contentType(MediaType.parseMediaType(file.getMimeType()))
-                .contentLength(file.getFileSize())
-                .body(file.getFileData());
+                .contentLength(length)
+                .body(body);
+    }
+
+    /**
+     * The single range to serve, or null for the full file: no Range header, a
+     * multi-range request, or an If-Range validator that no longer matches.
+     */
+    private HttpRange requestedRange(HttpHeaders headers, String etag, long lastModified) {
+        List<HttpRange> ranges;
+        try {
+            ranges = headers.getRange();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.size() != 1) return null;
+
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            long ifRangeDate = -1;
+            try {
+                ifRangeDate = headers.getFirstDate(HttpHeaders.IF_RANGE);
+            } catch (IllegalArgumentException ignored) {}
+            // HTTP dates have second precision
+            if (ifRangeDate < 0 || lastModified / 1000 != ifRangeDate / 1000) return null;
+        }
+        return ranges.get(0);
     }
 
     @DeleteMapping("/files/{fileId}")
@@ -66,16 +162,19 @@ public class FileController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/analyze/changes")
+    public ResponseEntity<AnalysisChangesResponse> getAnalysisChanges(@PathVariable UUID projectId) {
+        return ResponseEntity.ok(chunkService.changesSinceLastAnalysis(projectId));
+    }
+
     @PostMapping("/analyze")
     public ResponseEntity<AiAnalysisResponse> analyzeRequirements(@PathVariable UUID projectId) {
-        String content = aiService.analyzeRequirements(projectId);
-        return ResponseEntity.ok(AiAnalysisResponse.builder().content(content).build());
+        return ResponseEntity.ok(aiService.analyzeRequirements(projectId));
     }
 
     @PostMapping("/analyze/gemini")
     public ResponseEntity<AiAnalysisResponse> analyzeWithGemini(@PathVariable UUID projectId) {
-        String content = vertexAIService.analyzeRequirements(projectId);
-        return ResponseEntity.ok(AiAnalysisResponse.builder().content(content).build());
+        return ResponseEntity.ok(vertexAIService.analyzeRequirements(projectId));
     }
 
     @GetMapping(value = "/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -98,7 +197,8 @@ public class FileController {
             emitter.complete();
         });
 
-        streamExecutor.execute(() -> aiService.streamAnalysis(projectId, emitter));
+        streamingExecutor.submit("analysis", emitter, StreamingExecutor.plainError(emitter),
+                () -> aiService.streamAnalysis(projectId, emitter));
         return emitter;
     }
 }
@@ -1,12 +1,15 @@
 package com.sdlcassist.controller;
 
+import com.sdlcassist.dto.ArtifactVersion;
 import com.sdlcassist.dto.CompletePhaseRequest;
 import com.sdlcassist.dto.PrdRequest;
 import com.sdlcassist.dto.ProjectRequest;
 import com.sdlcassist.dto.ProjectResponse;
+import com.sdlcassist.dto.ProjectSummaryPage;
 import com.sdlcassist.dto.TechPreferencesRequest;
 import com.sdlcassist.dto.TemplateSelectionRequest;
 import com.sdlcassist.model.Project;
+import com.sdlcassist.model.ProjectArtifact;
 import com.sdlcassist.model.User;
 import com.sdlcassist.service.ProjectService;
 import com.sdlcassist.service.UserService;
@@ -16,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -37,10 +41,27 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    /** Dashboard list: summary columns and counts only, keyset-paginated via {@code cursor}. */
+    @GetMapping("/summaries")
+    public ResponseEntity<ProjectSummaryPage> getSummaries(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(projectService.findSummaries(sort, limit, cursor));
+    }
+
+    /**
+     * Tagged with the project's updated_at, which every metadata or artifact write bumps;
+     * a matching If-None-Match gets 304 without the artifacts being loaded.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponse> getById(@PathVariable UUID id) {
-        Project project = projectService.findById(id);
-        return ResponseEntity.ok(ProjectResponse.from(project));
+    public ResponseEntity<ProjectResponse> getById(@PathVariable UUID id, WebRequest request) {
+        String etag = ETags.of(projectService.findUpdatedAt(id));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+        Project project = projectService.findByIdWithArtifacts(id);
+        return ETags.project(project);
     }
 
     @PostMapping
@@ -54,62 +75,76 @@ public class ProjectController {
 
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> update(@PathVariable UUID id,
-            @Valid @RequestBody ProjectRequest request) {
-        Project project = projectService.update(id, request);
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @Valid @RequestBody ProjectRequest request, WebRequest webRequest) {
+        Project project = projectService.update(id, request, ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @PutMapping("/{id}/prd")
     public ResponseEntity<ProjectResponse> savePrd(@PathVariable UUID id,
-            @RequestBody PrdRequest request) {
-        Project project = projectService.savePrd(id, request.getContent());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @RequestBody PrdRequest request, WebRequest webRequest) {
+        Project project = projectService.savePrd(id, request.getContent(), request.getVersion(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @PutMapping("/{id}/template")
     public ResponseEntity<ProjectResponse> selectTemplate(@PathVariable UUID id,
-            @Valid @RequestBody TemplateSelectionRequest request) {
-        Project project = projectService.selectTemplate(id, request.getTemplateId());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @Valid @RequestBody TemplateSelectionRequest request, WebRequest webRequest) {
+        Project project = projectService.selectTemplate(id, request.getTemplateId(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @PostMapping("/{id}/complete-phase")
     public ResponseEntity<ProjectResponse> completePhase(
-            @PathVariable UUID id, @RequestBody CompletePhaseRequest request) {
-        Project project = projectService.completePhase(id, request.getPhase());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @PathVariable UUID id, @RequestBody CompletePhaseRequest request, WebRequest webRequest) {
+        Project project = projectService.completePhase(id, request.getPhase(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @PutMapping("/{id}/tech-preferences")
     public ResponseEntity<ProjectResponse> saveTechPreferences(
             @PathVariable UUID id,
-            @RequestBody TechPreferencesRequest request) {
-        Project project = projectService.saveTechPreferences(id, request);
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @RequestBody TechPreferencesRequest request,
+            WebRequest webRequest) {
+        Project project = projectService.saveTechPreferences(id, request, ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
+    /** Tagged with the content hash, checked before the content itself is read. */
     @GetMapping("/{id}/corporate-guidelines")
-    public ResponseEntity<java.util.Map<String, String>> getCorporateGuidelines(@PathVariable UUID id) {
-        Project project = projectService.findById(id);
-        String content = project.getCorporateGuidelinesContent();
+    public ResponseEntity<java.util.Map<String, String>> getCorporateGuidelines(@PathVariable UUID id, WebRequest request) {
+        ArtifactVersion version = projectService.findArtifactVersion(id, ProjectArtifact.Type.CORPORATE_GUIDELINES);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ETags.ofHash(version.getHash());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+        String content = projectService.findArtifactContent(id, ProjectArtifact.Type.CORPORATE_GUIDELINES);
         if (content == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(java.util.Map.of("content", content));
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(java.util.Map.of("content", content));
     }
 
     @PostMapping("/{id}/corporate-guidelines")
     public ResponseEntity<ProjectResponse> uploadCorporateGuidelines(
             @PathVariable UUID id,
-            @RequestParam("file") MultipartFile file) {
-        Project project = projectService.saveCorporateGuidelines(id, file);
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @RequestParam("file") MultipartFile file,
+            WebRequest webRequest) {
+        Project project = projectService.saveCorporateGuidelines(id, file,
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @DeleteMapping("/{id}/corporate-guidelines")
-    public ResponseEntity<ProjectResponse> deleteCorporateGuidelines(@PathVariable UUID id) {
-        Project project = projectService.deleteCorporateGuidelines(id);
-        return ResponseEntity.ok(ProjectResponse.from(project));
+    public ResponseEntity<ProjectResponse> deleteCorporateGuidelines(@PathVariable UUID id, WebRequest webRequest) {
+        Project project = projectService.deleteCorporateGuidelines(id, ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @DeleteMapping("/{id}")
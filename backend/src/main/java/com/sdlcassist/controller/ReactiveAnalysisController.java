@@ -0,0 +1,63 @@
+package com.sdlcassist.controller;
+
+import com.sdlcassist.service.AiService;
+import com.sdlcassist.service.StreamingExecutor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reactive counterpart of {@code GET /analyze/stream}, enabled with
+ * {@code app.streaming.reactive.enabled=true}. Emits the same delta/done/error events,
+ * but Spring MVC only requests the next frame once the previous write has completed,
+ * so a slow browser throttles the upstream model stream instead of buffering it.
+ *
+ * Streams share the "analysis" permits, queue limit, metrics and shutdown handling of
+ * {@link StreamingExecutor} with the blocking endpoint, and time out after five minutes
+ * like its emitter does.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.streaming.reactive.enabled", havingValue = "true")
+public class ReactiveAnalysisController {
+
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(5);
+
+    private final AiService aiService;
+    private final StreamingExecutor streamingExecutor;
+
+    @GetMapping(value = "/analyze/stream/reactive", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamAnalysis(@PathVariable UUID projectId, HttpServletResponse response) {
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+        Flux<ServerSentEvent<String>> stream = streamingExecutor.stream("analysis",
+                StreamingExecutor::errorEvent, aiService.streamAnalysisReactive(projectId));
+        return withTimeout(stream, STREAM_TIMEOUT,
+                StreamingExecutor.errorEvent("Stream timed out after 5 minutes"));
+    }
+
+    /**
+     * Ends the stream with {@code timeoutEvent} once {@code timeout} has passed since
+     * subscription. Flux return values get no MVC async timeout, so the deadline lives
+     * here rather than in {@code spring.mvc.async.request-timeout}, which would apply to
+     * every async request.
+     */
+    private static <T> Flux<T> withTimeout(Flux<T> stream, Duration timeout, T timeoutEvent) {
+        return Flux.defer(() -> {
+            AtomicBoolean timedOut = new AtomicBoolean();
+            return stream
+                    .takeUntilOther(Mono.delay(timeout).doOnNext(tick -> timedOut.set(true)))
+                    .concatWith(Mono.fromSupplier(() -> timedOut.get() ? timeoutEvent : null));
+        });
+    }
+}
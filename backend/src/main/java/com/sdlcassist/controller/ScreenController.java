@@ -5,17 +5,18 @@ import com.sdlcassist.dto.PrototypeSaveRequest;
 import com.sdlcassist.dto.ScreenDefinitionDto;
 import com.sdlcassist.service.ScreenExtractionService;
 import com.sdlcassist.service.ScreenGenerationService;
+import com.sdlcassist.service.StreamingExecutor;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -24,19 +25,30 @@ public class ScreenController {
 
     private final ScreenExtractionService screenExtractionService;
     private final ScreenGenerationService screenGenerationService;
+    private final StreamingExecutor streamingExecutor;
 
-    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
-
+    /**
+     * The screen list (prototypes included) is tagged with its row count and newest
+     * updated_at; a matching If-None-Match gets 304 without the screens being loaded.
+     */
     @GetMapping("/{id}/screens")
-    public ResponseEntity<List<ScreenDefinitionDto>> getScreens(@PathVariable UUID id) {
-        return ResponseEntity.ok(screenExtractionService.getScreens(id));
+    public ResponseEntity<List<ScreenDefinitionDto>> getScreens(@PathVariable UUID id, WebRequest request) {
+        String etag = screensEtag(id);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE)
+                .body(screenExtractionService.getScreens(id));
     }
 
     @PostMapping("/{id}/screens")
     public ResponseEntity<List<ScreenDefinitionDto>> saveScreens(
             @PathVariable UUID id,
-            @RequestBody List<ScreenDefinitionDto> screens) {
-        return ResponseEntity.ok(screenExtractionService.saveScreens(id, screens));
+            @RequestBody List<ScreenDefinitionDto> screens,
+            WebRequest request) {
+        List<ScreenDefinitionDto> saved = screenExtractionService.saveScreens(id, screens,
+                ETags.ifMatchStamp(request));
+        return ResponseEntity.ok().eTag(screensEtag(id)).body(saved);
     }
 
     @GetMapping(value = "/{id}/screens/extract", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -65,8 +77,8 @@ public class ScreenController {
             emitter.complete();
         });
 
-        streamExecutor.execute(() ->
-                screenExtractionService.extractScreens(id, emitter));
+        streamingExecutor.submit("screen-extraction", emitter, StreamingExecutor.agentError(emitter, "progress"),
+                () -> screenExtractionService.extractScreens(id, emitter));
 
         return emitter;
     }
@@ -98,8 +110,8 @@ public class ScreenController {
             emitter.complete();
         });
 
-        streamExecutor.execute(() ->
-                screenGenerationService.generatePrototype(id, screenId, emitter));
+        streamingExecutor.submit("screen-generation", emitter, StreamingExecutor.agentError(emitter, "progress"),
+                () -> screenGenerationService.generatePrototype(id, screenId, emitter));
 
         return emitter;
     }
@@ -108,18 +120,24 @@ public class ScreenController {
     public ResponseEntity<ScreenDefinitionDto> savePrototype(
             @PathVariable UUID id,
             @PathVariable UUID screenId,
-            @RequestBody PrototypeSaveRequest request) {
-        return ResponseEntity.ok(screenGenerationService.savePrototype(id, screenId, request.getHtmlContent()));
+            @RequestBody PrototypeSaveRequest request,
+            WebRequest webRequest) {
+        ScreenDefinitionDto saved = screenGenerationService.savePrototype(id, screenId, request.getHtmlContent(),
+                ETags.ifMatchStamp(webRequest));
+        return ResponseEntity.ok().eTag(screensEtag(id)).body(saved);
     }
 
     @PatchMapping("/{id}/screens/{screenId}/prototype")
     public ResponseEntity<ScreenDefinitionDto> saveRefinedPrototype(
             @PathVariable UUID id,
             @PathVariable UUID screenId,
-            @RequestBody PrototypeSaveRequest request) {
+            @RequestBody PrototypeSaveRequest request,
+            WebRequest webRequest) {
         // Accepts same body as PUT — prototypeContent or htmlContent
         String content = request.getHtmlContent();
-        return ResponseEntity.ok(screenGenerationService.savePrototype(id, screenId, content));
+        ScreenDefinitionDto saved = screenGenerationService.savePrototype(id, screenId, content,
+                ETags.ifMatchStamp(webRequest));
+        return ResponseEntity.ok().eTag(screensEtag(id)).body(saved);
     }
 
     @PostMapping(value = "/{id}/screens/{screenId}/refine", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -150,9 +168,14 @@ public class ScreenController {
             emitter.complete();
         });
 
-        streamExecutor.execute(() ->
-                screenGenerationService.refinePrototype(id, screenId, request.getMessage(), emitter));
+        streamingExecutor.submit("screen-refinement", emitter, StreamingExecutor.agentError(emitter, "refine"),
+                () -> screenGenerationService.refinePrototype(id, screenId, request.getMessage(), emitter));
 
         return emitter;
     }
+
+    // Writes are tagged with the list version they produced, so the next If-Match can use it
+    private String screensEtag(UUID id) {
+        return ETags.of(screenExtractionService.getScreensChangeStamp(id));
+    }
 }
@@ -4,17 +4,17 @@ import com.sdlcassist.dto.ProjectResponse;
 import com.sdlcassist.dto.TechDesignArtifactRequest;
 import com.sdlcassist.model.Project;
 import com.sdlcassist.service.ProjectService;
+import com.sdlcassist.service.StreamingExecutor;
 import com.sdlcassist.service.TechDesignService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -23,8 +23,7 @@ public class TechDesignController {
 
     private final TechDesignService techDesignService;
     private final ProjectService projectService;
-
-    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final StreamingExecutor streamingExecutor;
 
     // -------------------------------------------------------------------------
     // SSE generation endpoints (POST — GET would also work but POST is cleaner
@@ -69,30 +68,38 @@ public class TechDesignController {
 
     @PatchMapping("/{id}/tech-design/architecture")
     public ResponseEntity<ProjectResponse> saveArchitecture(
-            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request) {
-        Project project = projectService.saveArtifact(id, "architecture", request.getContent());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request,
+            WebRequest webRequest) {
+        Project project = projectService.saveArtifact(id, "architecture", request.getContent(), request.getVersion(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @PatchMapping("/{id}/tech-design/data-model")
     public ResponseEntity<ProjectResponse> saveDataModel(
-            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request) {
-        Project project = projectService.saveArtifact(id, "data-model", request.getContent());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request,
+            WebRequest webRequest) {
+        Project project = projectService.saveArtifact(id, "data-model", request.getContent(), request.getVersion(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @PatchMapping("/{id}/tech-design/api-contract")
     public ResponseEntity<ProjectResponse> saveApiContract(
-            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request) {
-        Project project = projectService.saveArtifact(id, "api-contract", request.getContent());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request,
+            WebRequest webRequest) {
+        Project project = projectService.saveArtifact(id, "api-contract", request.getContent(), request.getVersion(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @PatchMapping("/{id}/tech-design/sequence-diagrams")
     public ResponseEntity<ProjectResponse> saveSequenceDiagrams(
-            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request) {
-        Project project = projectService.saveArtifact(id, "sequence-diagrams", request.getContent());
-        return ResponseEntity.ok(ProjectResponse.from(project));
+            @PathVariable UUID id, @RequestBody TechDesignArtifactRequest request,
+            WebRequest webRequest) {
+        Project project = projectService.saveArtifact(id, "sequence-diagrams", request.getContent(), request.getVersion(),
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     // -------------------------------------------------------------------------
@@ -100,27 +107,39 @@ public class TechDesignController {
     // -------------------------------------------------------------------------
 
     @DeleteMapping("/{id}/tech-design/architecture")
-    public ResponseEntity<ProjectResponse> clearArchitecture(@PathVariable UUID id) {
-        Project project = projectService.clearArtifact(id, "architecture");
-        return ResponseEntity.ok(ProjectResponse.from(project));
+    public ResponseEntity<ProjectResponse> clearArchitecture(
+            @PathVariable UUID id, @RequestParam(required = false) Long version,
+            WebRequest webRequest) {
+        Project project = projectService.clearArtifact(id, "architecture", version,
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @DeleteMapping("/{id}/tech-design/data-model")
-    public ResponseEntity<ProjectResponse> clearDataModel(@PathVariable UUID id) {
-        Project project = projectService.clearArtifact(id, "data-model");
-        return ResponseEntity.ok(ProjectResponse.from(project));
+    public ResponseEntity<ProjectResponse> clearDataModel(
+            @PathVariable UUID id, @RequestParam(required = false) Long version,
+            WebRequest webRequest) {
+        Project project = projectService.clearArtifact(id, "data-model", version,
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @DeleteMapping("/{id}/tech-design/api-contract")
-    public ResponseEntity<ProjectResponse> clearApiContract(@PathVariable UUID id) {
-        Project project = projectService.clearArtifact(id, "api-contract");
-        return ResponseEntity.ok(ProjectResponse.from(project));
+    public ResponseEntity<ProjectResponse> clearApiContract(
+            @PathVariable UUID id, @RequestParam(required = false) Long version,
+            WebRequest webRequest) {
+        Project project = projectService.clearArtifact(id, "api-contract", version,
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     @DeleteMapping("/{id}/tech-design/sequence-diagrams")
-    public ResponseEntity<ProjectResponse> clearSequenceDiagrams(@PathVariable UUID id) {
-        Project project = projectService.clearArtifact(id, "sequence-diagrams");
-        return ResponseEntity.ok(ProjectResponse.from(project));
+    public ResponseEntity<ProjectResponse> clearSequenceDiagrams(
+            @PathVariable UUID id, @RequestParam(required = false) Long version,
+            WebRequest webRequest) {
+        Project project = projectService.clearArtifact(id, "sequence-diagrams", version,
+                ETags.ifMatchUpdatedAt(webRequest));
+        return ETags.project(project);
     }
 
     // -------------------------------------------------------------------------
@@ -150,7 +169,8 @@ public class TechDesignController {
             emitter.complete();
         });
 
-        streamExecutor.execute(() -> task.accept(emitter));
+        streamingExecutor.submit("tech-design", emitter, StreamingExecutor.agentError(emitter, "progress"),
+                () -> task.accept(emitter));
         return emitter;
     }
 }
@@ -0,0 +1,47 @@
+package com.sdlcassist.controller;
+
+import com.sdlcassist.service.TemplateRegistry;
+import com.sdlcassist.service.TemplateRegistry.TemplateDefinition;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/templates")
+@RequiredArgsConstructor
+public class TemplateController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1)).cachePrivate();
+
+    private final TemplateRegistry templateRegistry;
+
+    @GetMapping
+    public ResponseEntity<String> getTemplates(WebRequest request) {
+        return conditional(request, templateRegistry.getIndexEtag(), templateRegistry.getIndexJson());
+    }
+
+    @GetMapping("/{templateId}")
+    public ResponseEntity<String> getTemplate(@PathVariable String templateId, WebRequest request) {
+        TemplateDefinition template = templateRegistry.find(templateId)
+                .orElseThrow(() -> new EntityNotFoundException("Template not found: " + templateId));
+        return conditional(request, template.etag(), template.metadataJson());
+    }
+
+    private ResponseEntity<String> conditional(WebRequest request, String etag, String body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
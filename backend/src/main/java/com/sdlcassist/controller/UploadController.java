@@ -0,0 +1,97 @@
+package com.sdlcassist.controller;
+
+import com.sdlcassist.dto.FileResponse;
+import com.sdlcassist.dto.UploadInitRequest;
+import com.sdlcassist.dto.UploadSessionResponse;
+import com.sdlcassist.service.UploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resumable uploads: POST to initiate, PUT raw bytes at {@code ?offset=}, then POST
+ * {@code /complete}. GET (or HEAD) reports the current offset in the body and the
+ * {@code Upload-Offset} header; a PUT at the wrong offset gets 409 with the same.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private final UploadService uploadService;
+
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> initiate(
+            @PathVariable UUID projectId,
+            @Valid @RequestBody UploadInitRequest request,
+            Principal principal) {
+        UploadSessionResponse upload = uploadService.initiate(projectId, request, principal.getName());
+        return ResponseEntity.created(URI.create("/api/projects/" + projectId + "/uploads/" + upload.getId()))
+                .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                .body(upload);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadSessionResponse> getStatus(
+            @PathVariable UUID projectId,
+            @PathVariable UUID uploadId,
+            Principal principal) {
+        UploadSessionResponse upload = uploadService.getStatus(projectId, uploadId, principal.getName());
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                .body(upload);
+    }
+
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionResponse> appendChunk(
+            @PathVariable UUID projectId,
+            @PathVariable UUID uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request,
+            Principal principal) throws IOException {
+        UploadSessionResponse upload;
+        HttpStatus status = HttpStatus.OK;
+        try {
+            upload = uploadService.appendChunk(projectId, uploadId, offset, request.getInputStream(), principal.getName());
+        } catch (IllegalStateException e) {
+            upload = uploadService.getStatus(projectId, uploadId, principal.getName());
+            status = HttpStatus.CONFLICT;
+        }
+        return ResponseEntity.status(status)
+                .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                .body(upload);
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(
+            @PathVariable UUID projectId,
+            @PathVariable UUID uploadId,
+            Principal principal) {
+        try {
+            return ResponseEntity.ok(FileResponse.from(uploadService.complete(projectId, uploadId, principal.getName())));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(
+            @PathVariable UUID projectId,
+            @PathVariable UUID uploadId,
+            Principal principal) {
+        uploadService.abort(projectId, uploadId, principal.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
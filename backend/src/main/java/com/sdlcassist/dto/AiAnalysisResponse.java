@@ -7,4 +7,5 @@ import lombok.Data;
 @Builder
 public class AiAnalysisResponse {
     private String content;
+    private String promptVersion;
 }
@@ -0,0 +1,40 @@
+package com.sdlcassist.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class AnalysisChangesResponse {
+    private Instant lastAnalyzedAt;
+    private int totalChunks;
+    private int unchangedChunks;
+    private int removedChunks;
+    private int newTokenEstimate;
+    private List<ChunkInfo> newChunks;
+
+    @Data
+    @Builder
+    public static class ChunkInfo {
+        private String chunkHash;
+        private String filename;
+        private String headingPath;
+        private Integer pageStart;
+        private Integer pageEnd;
+        private Integer tokenEstimate;
+
+        public static ChunkInfo from(ChunkSummary chunk) {
+            return ChunkInfo.builder()
+                    .chunkHash(chunk.getChunkHash())
+                    .filename(chunk.getOriginalFilename())
+                    .headingPath(chunk.getHeadingPath())
+                    .pageStart(chunk.getPageStart())
+                    .pageEnd(chunk.getPageEnd())
+                    .tokenEstimate(chunk.getTokenEstimate())
+                    .build();
+        }
+    }
+}
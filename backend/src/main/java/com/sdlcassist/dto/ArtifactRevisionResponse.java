@@ -0,0 +1,26 @@
+package com.sdlcassist.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class ArtifactRevisionResponse {
+    private int revision;
+    private String storedAs;
+    private String contentHash;
+    private int contentLength;
+    private Instant createdAt;
+
+    public static ArtifactRevisionResponse from(ArtifactRevisionSummary revision) {
+        return ArtifactRevisionResponse.builder()
+                .revision(revision.getRevision())
+                .storedAs(revision.getKind().name())
+                .contentHash(revision.getContentHash())
+                .contentLength(revision.getContentLength())
+                .createdAt(revision.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.sdlcassist.dto;
+
+import com.sdlcassist.model.ArtifactRevision;
+
+import java.time.Instant;
+
+/**
+ * Column projection of a revision without its stored data.
+ */
+public interface ArtifactRevisionSummary {
+    int getRevision();
+    ArtifactRevision.Kind getKind();
+    String getContentHash();
+    int getContentLength();
+    Instant getCreatedAt();
+}
@@ -0,0 +1,9 @@
+package com.sdlcassist.dto;
+
+/**
+ * Column projection of an artifact's optimistic-lock version and content hash.
+ */
+public interface ArtifactVersion {
+    Long getVersion();
+    String getHash();
+}
@@ -0,0 +1,12 @@
+package com.sdlcassist.dto;
+
+import java.time.Instant;
+
+/**
+ * Row count and newest updated_at of a collection; changes whenever a row is added,
+ * removed or updated, so it serves as the collection's version.
+ */
+public interface ChangeStamp {
+    long getTotal();
+    Instant getLastUpdatedAt();
+}
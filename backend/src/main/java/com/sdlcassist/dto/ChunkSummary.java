@@ -0,0 +1,13 @@
+package com.sdlcassist.dto;
+
+/**
+ * Column projection of a chunk of one of a project's READY files, without its text.
+ */
+public interface ChunkSummary {
+    String getChunkHash();
+    String getOriginalFilename();
+    String getHeadingPath();
+    Integer getPageStart();
+    Integer getPageEnd();
+    Integer getTokenEstimate();
+}
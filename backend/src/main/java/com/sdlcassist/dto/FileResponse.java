@@ -15,6 +15,8 @@ public class FileResponse {
     private String originalFilename;
     private String mimeType;
     private Long fileSize;
+    private String status;
+    private String extractionError;
     private Instant createdAt;
 
     public static FileResponse from(ProjectFile file) {
@@ -24,6 +26,21 @@ public class FileResponse {
                 .originalFilename(file.getOriginalFilename())
                 .mimeType(file.getMimeType())
                 .fileSize(file.getFileSize())
+                .status(file.getExtractionStatus().name())
+                .extractionError(file.getExtractionError())
+                .createdAt(file.getCreatedAt())
+                .build();
+    }
+
+    public static FileResponse from(ProjectFileSummary file) {
+        return FileResponse.builder()
+                .id(file.getId())
+                .projectId(file.getProjectId())
+                .originalFilename(file.getOriginalFilename())
+                .mimeType(file.getMimeType())
+                .fileSize(file.getFileSize())
+                .status(file.getExtractionStatus().name())
+                .extractionError(file.getExtractionError())
                 .createdAt(file.getCreatedAt())
                 .build();
     }
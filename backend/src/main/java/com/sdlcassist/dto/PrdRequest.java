@@ -5,4 +5,6 @@ import lombok.Data;
 @Data
 public class PrdRequest {
     private String content;
+    /** Artifact version the edit is based on; when set, the save fails with 409 if it has moved on. */
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package com.sdlcassist.dto;
+
+import com.sdlcassist.model.ProjectFile.ExtractionStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Column projection of a project file for listings — no binary content or extracted text.
+ */
+public interface ProjectFileSummary {
+    UUID getId();
+    UUID getProjectId();
+    String getOriginalFilename();
+    String getMimeType();
+    Long getFileSize();
+    String getContentHash();
+    ExtractionStatus getExtractionStatus();
+    String getExtractionError();
+    Instant getCreatedAt();
+}
@@ -0,0 +1,9 @@
+package com.sdlcassist.dto;
+
+/**
+ * Column projection carrying just what analysis needs from a file.
+ */
+public interface ProjectFileText {
+    String getOriginalFilename();
+    String getExtractedText();
+}
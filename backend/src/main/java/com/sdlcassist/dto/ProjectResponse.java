@@ -1,11 +1,14 @@
 package com.sdlcassist.dto;
 
 import com.sdlcassist.model.Project;
+import com.sdlcassist.model.ProjectArtifact;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Data
 @Builder
@@ -38,6 +41,9 @@ public class ProjectResponse {
     private String techDesignStatus;
     private Instant techDesignCompletedAt;
 
+    /** Current version of each stored artifact by type, for conditional saves. */
+    private Map<String, Long> artifactVersions;
+
     private String ownerName;
     private UUID ownerId;
     private Instant createdAt;
@@ -48,28 +54,30 @@ public class ProjectResponse {
                 .id(project.getId())
                 .name(project.getName())
                 .description(project.getDescription())
-                .prdContent(project.getPrdContent())
+                .prdContent(project.getArtifactContent(ProjectArtifact.Type.PRD))
                 .selectedTemplateId(project.getSelectedTemplateId())
-                .designSystemContent(project.getDesignSystemContent())
+                .designSystemContent(project.getArtifactContent(ProjectArtifact.Type.DESIGN_SYSTEM))
                 .status(project.getStatus().name())
                 .uxDesignStatus(project.getUxDesignStatus())
                 .technicalDesignStatus(project.getTechnicalDesignStatus())
                 .uxDesignCompletedAt(project.getUxDesignCompletedAt())
-                .designSystemUpdatedAt(project.getDesignSystemUpdatedAt())
+                .designSystemUpdatedAt(project.getArtifactGeneratedAt(ProjectArtifact.Type.DESIGN_SYSTEM))
                 .techPreferences(project.getTechPreferences())
                 .techPreferencesSavedAt(project.getTechPreferencesSavedAt())
                 .corporateGuidelinesFilename(project.getCorporateGuidelinesFilename())
-                .corporateGuidelinesUploadedAt(project.getCorporateGuidelinesUploadedAt())
-                .archOverviewContent(project.getArchOverviewContent())
-                .archOverviewGeneratedAt(project.getArchOverviewGeneratedAt())
-                .dataModelContent(project.getDataModelContent())
-                .dataModelGeneratedAt(project.getDataModelGeneratedAt())
-                .apiContractContent(project.getApiContractContent())
-                .apiContractGeneratedAt(project.getApiContractGeneratedAt())
-                .sequenceDiagramsContent(project.getSequenceDiagramsContent())
-                .sequenceDiagramsGeneratedAt(project.getSequenceDiagramsGeneratedAt())
+                .corporateGuidelinesUploadedAt(project.getArtifactGeneratedAt(ProjectArtifact.Type.CORPORATE_GUIDELINES))
+                .archOverviewContent(project.getArtifactContent(ProjectArtifact.Type.ARCH_OVERVIEW))
+                .archOverviewGeneratedAt(project.getArtifactGeneratedAt(ProjectArtifact.Type.ARCH_OVERVIEW))
+                .dataModelContent(project.getArtifactContent(ProjectArtifact.Type.DATA_MODEL))
+                .dataModelGeneratedAt(project.getArtifactGeneratedAt(ProjectArtifact.Type.DATA_MODEL))
+                .apiContractContent(project.getArtifactContent(ProjectArtifact.Type.API_CONTRACT))
+                .apiContractGeneratedAt(project.getArtifactGeneratedAt(ProjectArtifact.Type.API_CONTRACT))
+                .sequenceDiagramsContent(project.getArtifactContent(ProjectArtifact.Type.SEQUENCE_DIAGRAMS))
+                .sequenceDiagramsGeneratedAt(project.getArtifactGeneratedAt(ProjectArtifact.Type.SEQUENCE_DIAGRAMS))
                 .techDesignStatus(project.getTechDesignStatus())
                 .techDesignCompletedAt(project.getTechDesignCompletedAt())
+                .artifactVersions(project.getArtifacts().values().stream()
+                        .collect(Collectors.toMap(a -> a.getType().name(), ProjectArtifact::getVersion)))
                 .ownerName(project.getOwner() != null ? project.getOwner().getDisplayName() : null)
                 .ownerId(project.getOwner() != null ? project.getOwner().getId() : null)
                 .createdAt(project.getCreatedAt())
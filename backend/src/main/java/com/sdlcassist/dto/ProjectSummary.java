@@ -0,0 +1,25 @@
+package com.sdlcassist.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Native-query projection of a project for the dashboard list: list columns and
+ * per-project counts, none of the PRD, design-system or tech-design content.
+ */
+public interface ProjectSummary {
+    UUID getId();
+    String getName();
+    String getDescription();
+    String getStatus();
+    String getUxDesignStatus();
+    String getTechnicalDesignStatus();
+    String getTechDesignStatus();
+    UUID getOwnerId();
+    String getOwnerName();
+    Long getFileCount();
+    Long getScreenCount();
+    Long getPrototypeCount();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,56 @@
+package com.sdlcassist.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ProjectSummaryPage {
+    private String sort;
+    private int limit;
+    private List<Item> items;
+    /** Opaque cursor for the next page, or null on the last page. */
+    private String nextCursor;
+
+    @Data
+    @Builder
+    public static class Item {
+        private UUID id;
+        private String name;
+        private String description;
+        private String status;
+        private String uxDesignStatus;
+        private String technicalDesignStatus;
+        private String techDesignStatus;
+        private UUID ownerId;
+        private String ownerName;
+        private long fileCount;
+        private long screenCount;
+        private long prototypeCount;
+        private Instant createdAt;
+        private Instant updatedAt;
+
+        public static Item from(ProjectSummary summary) {
+            return Item.builder()
+                    .id(summary.getId())
+                    .name(summary.getName())
+                    .description(summary.getDescription())
+                    .status(summary.getStatus())
+                    .uxDesignStatus(summary.getUxDesignStatus())
+                    .technicalDesignStatus(summary.getTechnicalDesignStatus())
+                    .techDesignStatus(summary.getTechDesignStatus())
+                    .ownerId(summary.getOwnerId())
+                    .ownerName(summary.getOwnerName())
+                    .fileCount(summary.getFileCount() != null ? summary.getFileCount() : 0)
+                    .screenCount(summary.getScreenCount() != null ? summary.getScreenCount() : 0)
+                    .prototypeCount(summary.getPrototypeCount() != null ? summary.getPrototypeCount() : 0)
+                    .createdAt(summary.getCreatedAt())
+                    .updatedAt(summary.getUpdatedAt())
+                    .build();
+        }
+    }
+}
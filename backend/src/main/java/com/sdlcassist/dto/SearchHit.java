@@ -0,0 +1,16 @@
+package com.sdlcassist.dto;
+
+import java.util.UUID;
+
+/**
+ * Native-query projection of one ranked search match. The snippet still carries
+ * ts_headline's raw \u0001/\u0002 highlight delimiters.
+ */
+public interface SearchHit {
+    UUID getProjectId();
+    String getProjectName();
+    String getSource();
+    String getLabel();
+    Double getRank();
+    String getSnippet();
+}
@@ -0,0 +1,28 @@
+package com.sdlcassist.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class SearchResponse {
+    private String query;
+    private int limit;
+    private int offset;
+    private List<Result> results;
+
+    @Data
+    @Builder
+    public static class Result {
+        private UUID projectId;
+        private String projectName;
+        private String source;
+        private String label;
+        private double rank;
+        /** HTML-escaped excerpt; matched terms are wrapped in {@code <mark>}. */
+        private String snippet;
+    }
+}
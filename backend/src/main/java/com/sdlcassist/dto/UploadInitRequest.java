@@ -0,0 +1,21 @@
+package com.sdlcassist.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UploadInitRequest {
+    @NotBlank(message = "Filename is required")
+    @Size(max = 500, message = "Filename must be less than 500 characters")
+    private String filename;
+
+    @Size(max = 100, message = "MIME type must be less than 100 characters")
+    private String mimeType;
+
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long size;
+}
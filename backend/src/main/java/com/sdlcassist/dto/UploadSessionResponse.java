@@ -0,0 +1,21 @@
+package com.sdlcassist.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+public class UploadSessionResponse {
+    private UUID id;
+    private UUID projectId;
+    private String originalFilename;
+    private String mimeType;
+    private long size;
+    /** Bytes received so far; the next chunk must start here. */
+    private long offset;
+    private long maxChunkSize;
+    private Instant expiresAt;
+}
@@ -0,0 +1,34 @@
+package com.sdlcassist.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A chunk hash that was part of a project's most recent successful analysis.
+ * The set is replaced after each analysis and diffed against the current chunks.
+ */
+@Entity
+@Table(name = "project_analysis_chunks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyzedChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "chunk_hash", nullable = false, length = 64)
+    private String chunkHash;
+
+    @Column(name = "analyzed_at", nullable = false)
+    private Instant analyzedAt;
+}
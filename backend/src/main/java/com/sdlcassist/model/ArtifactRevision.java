@@ -0,0 +1,69 @@
+package com.sdlcassist.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One saved version of a project artifact or screen prototype. Most revisions are stored
+ * as a delta against the revision before them; every few revisions, or when a delta
+ * wouldn't be much smaller than the text itself, a full snapshot starts a new chain. Any
+ * revision is rebuilt from the nearest snapshot at or before it plus the deltas after.
+ */
+@Entity
+@Table(name = "artifact_revisions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArtifactRevision {
+
+    /** {@link #artifact} of screen prototypes; the others use their {@link ProjectArtifact.Type} name. */
+    public static final String PROTOTYPE = "PROTOTYPE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(nullable = false, length = 30)
+    private String artifact;
+
+    /** Set for prototypes only. */
+    @Column(name = "screen_id")
+    private UUID screenId;
+
+    /** 1, 2, 3... per artifact (and screen). */
+    @Column(nullable = false)
+    private int revision;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    /** The compressed text of a SNAPSHOT, or a DELTA's binary delta from the previous revision. */
+    @Column(nullable = false, columnDefinition = "BYTEA")
+    private byte[] data;
+
+    /** SHA-256 of the full text of this revision. */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /** Size of the full text in UTF-8 bytes. */
+    @Column(name = "content_length", nullable = false)
+    private int contentLength;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public enum Kind {
+        SNAPSHOT, DELTA
+    }
+}
@@ -0,0 +1,93 @@
+package com.sdlcassist.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores large text attributes deflate-compressed in a {@code BYTEA} column.
+ *
+ * Compressed values start with a two-byte header: {@link #MAGIC} (0xFF, which never
+ * begins valid UTF-8) and a format id. Values without the header are plain UTF-8 —
+ * rows written before compression was introduced, and values under
+ * {@value #MIN_COMPRESS_BYTES} bytes, which aren't worth compressing — so both read
+ * back unchanged. The format id leaves room for another codec without a rewrite.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    public static final byte MAGIC = (byte) 0xFF;
+    static final byte FORMAT_DEFLATE = 1;
+    public static final int MIN_COMPRESS_BYTES = 1024;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : decompress(dbData);
+    }
+
+    public static boolean isCompressed(byte[] data) {
+        return data.length >= 2 && data[0] == MAGIC;
+    }
+
+    public static byte[] compress(String text) {
+        byte[] plain = text.getBytes(StandardCharsets.UTF_8);
+        if (plain.length < MIN_COMPRESS_BYTES) {
+            return plain;
+        }
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 16);
+            out.write(MAGIC);
+            out.write(FORMAT_DEFLATE);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            // Incompressible text is kept as-is rather than stored larger
+            return out.size() < plain.length ? out.toByteArray() : plain;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] data) {
+        if (!isCompressed(data)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if (data[1] != FORMAT_DEFLATE) {
+            throw new IllegalStateException("Unknown compressed text format: " + data[1]);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 2, data.length - 2);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
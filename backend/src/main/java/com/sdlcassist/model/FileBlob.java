@@ -0,0 +1,44 @@
+package com.sdlcassist.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Raw uploaded bytes, keyed by their SHA-256, plus the text extracted from them.
+ * Shared by every project file with the same content; {@code refCount} is the number
+ * of such files. Rows are written and read through
+ * {@link com.sdlcassist.repository.FileBlobRepository}'s native queries; the entity
+ * mainly describes the table.
+ */
+@Entity
+@Table(name = "file_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileBlob {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "data", nullable = false, columnDefinition = "BYTEA")
+    private byte[] data;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    private String extractedText;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,48 @@
+package com.sdlcassist.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * One chunk of a blob's extracted text (see TextChunker). Chunks belong to the shared
+ * blob, not to a project file, and are replaced whenever the blob is re-extracted.
+ */
+@Entity
+@Table(name = "file_chunks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(name = "chunk_hash", nullable = false, length = 64)
+    private String chunkHash;
+
+    @Column(name = "heading_path", columnDefinition = "TEXT")
+    private String headingPath;
+
+    @Column(name = "page_start")
+    private Integer pageStart;
+
+    @Column(name = "page_end")
+    private Integer pageEnd;
+
+    @Column(name = "token_estimate", nullable = false)
+    private Integer tokenEstimate;
+
+    @Column(name = "text", nullable = false, columnDefinition = "TEXT")
+    private String text;
+}
@@ -3,15 +3,19 @@ package com.sdlcassist.model;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Entity
 @Table(name = "projects")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,15 +33,9 @@ public class Project {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Column(name = "prd_content", columnDefinition = "TEXT")
-    private String prdContent;
-
     @Column(name = "selected_template_id", length = 100)
     private String selectedTemplateId;
 
-    @Column(name = "design_system_content", columnDefinition = "TEXT")
-    private String designSystemContent;
-
     @Column(name = "ux_design_status", length = 20)
     @Builder.Default
     private String uxDesignStatus = "NOT_STARTED";
@@ -49,9 +47,6 @@ public class Project {
     @Column(name = "ux_design_completed_at")
     private Instant uxDesignCompletedAt;
 
-    @Column(name = "design_system_updated_at")
-    private Instant designSystemUpdatedAt;
-
     // --- Technical Design Phase ---
 
     @JdbcTypeCode(SqlTypes.JSON)
@@ -61,39 +56,9 @@ public class Project {
     @Column(name = "tech_preferences_saved_at")
     private Instant techPreferencesSavedAt;
 
-    @Column(name = "corporate_guidelines_content", columnDefinition = "TEXT")
-    private String corporateGuidelinesContent;
-
     @Column(name = "corporate_guidelines_filename", length = 255)
     private String corporateGuidelinesFilename;
 
-    @Column(name = "corporate_guidelines_uploaded_at")
-    private Instant corporateGuidelinesUploadedAt;
-
-    @Column(name = "arch_overview_content", columnDefinition = "TEXT")
-    private String archOverviewContent;
-
-    @Column(name = "arch_overview_generated_at")
-    private Instant archOverviewGeneratedAt;
-
-    @Column(name = "data_model_content", columnDefinition = "TEXT")
-    private String dataModelContent;
-
-    @Column(name = "data_model_generated_at")
-    private Instant dataModelGeneratedAt;
-
-    @Column(name = "api_contract_content", columnDefinition = "TEXT")
-    private String apiContractContent;
-
-    @Column(name = "api_contract_generated_at")
-    private Instant apiContractGeneratedAt;
-
-    @Column(name = "sequence_diagrams_content", columnDefinition = "TEXT")
-    private String sequenceDiagramsContent;
-
-    @Column(name = "sequence_diagrams_generated_at")
-    private Instant sequenceDiagramsGeneratedAt;
-
     @Column(name = "tech_design_status", length = 20)
     @Builder.Default
     private String techDesignStatus = "NOT_STARTED";
@@ -110,6 +75,15 @@ public class Project {
     @JoinColumn(name = "owner_id")
     private User owner;
 
+    /**
+     * PRD, design system and other documents, loaded only when first accessed (or when
+     * fetched with {@code findByIdWithArtifacts}); absent types have no row.
+     */
+    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @MapKey(name = "type")
+    @Builder.Default
+    private Map<ProjectArtifact.Type, ProjectArtifact> artifacts = new HashMap<>();
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
@@ -118,6 +92,16 @@ public class Project {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    public String getArtifactContent(ProjectArtifact.Type type) {
+        ProjectArtifact artifact = artifacts.get(type);
+        return artifact != null ? artifact.getContent() : null;
+    }
+
+    public Instant getArtifactGeneratedAt(ProjectArtifact.Type type) {
+        ProjectArtifact artifact = artifacts.get(type);
+        return artifact != null ? artifact.getGeneratedAt() : null;
+    }
+
     public enum Status {
         DRAFT, ACTIVE, COMPLETED, ARCHIVED
     }
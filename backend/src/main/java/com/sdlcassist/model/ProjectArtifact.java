@@ -0,0 +1,98 @@
+package com.sdlcassist.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One generated or uploaded markdown document of a project (PRD, design system,
+ * corporate guidelines, tech-design artifacts). Kept out of the {@code projects} row so
+ * metadata reads and writes never touch the large text; at most one row per type.
+ */
+@Entity
+@Table(name = "project_artifacts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectArtifact {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Type type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    /** SHA-256 of the content; set alongside it on every write. */
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(name = "generated_at")
+    private Instant generatedAt;
+
+    /** Bumped on every content change; saves can require the version they were based on. */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public enum Type {
+        PRD("prd"),
+        DESIGN_SYSTEM("design-system"),
+        CORPORATE_GUIDELINES("corporate-guidelines"),
+        ARCH_OVERVIEW("architecture"),
+        DATA_MODEL("data-model"),
+        API_CONTRACT("api-contract"),
+        SEQUENCE_DIAGRAMS("sequence-diagrams");
+
+        /** The four Technical Design artifacts, all required to complete that phase. */
+        public static final List<Type> TECH_DESIGN = List.of(ARCH_OVERVIEW, DATA_MODEL, API_CONTRACT, SEQUENCE_DIAGRAMS);
+
+        /** Artifacts whose saves are kept as revision history; uploaded guidelines are not. */
+        public static final List<Type> VERSIONED = List.of(PRD, DESIGN_SYSTEM, ARCH_OVERVIEW, DATA_MODEL, API_CONTRACT, SEQUENCE_DIAGRAMS);
+
+        private final String slug;
+
+        Type(String slug) {
+            this.slug = slug;
+        }
+
+        /** The name used in API paths, e.g. {@code design-system}. */
+        public String slug() {
+            return slug;
+        }
+
+        /** The type an API path segment names, or null if it names none. */
+        public static Type fromSlug(String slug) {
+            for (Type type : values()) {
+                if (type.slug.equals(slug)) return type;
+            }
+            return null;
+        }
+    }
+}
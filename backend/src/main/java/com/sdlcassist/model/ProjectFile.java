@@ -6,6 +6,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -38,11 +39,22 @@ public class ProjectFile {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
-    @Column(name = "file_data", nullable = false, columnDefinition = "BYTEA")
-    private byte[] fileData;
+    /** SHA-256 of the raw bytes, which live in {@code file_blobs} (see BlobStore). */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
 
-    @Column(name = "extracted_text", columnDefinition = "TEXT")
-    private String extractedText;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "extraction_status", nullable = false, length = 20)
+    @Builder.Default
+    private ExtractionStatus extractionStatus = ExtractionStatus.PENDING;
+
+    @Column(name = "extraction_error", columnDefinition = "TEXT")
+    private String extractionError;
+
+    /** Times extraction has started; a file that keeps crashing the worker is failed on startup. */
+    @Column(name = "extraction_attempts", nullable = false)
+    @Builder.Default
+    private Integer extractionAttempts = 0;
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -51,4 +63,14 @@ public class ProjectFile {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
+
+    public enum ExtractionStatus {
+        PENDING, EXTRACTING, READY, FAILED;
+
+        public static final List<ExtractionStatus> UNSETTLED = List.of(PENDING, EXTRACTING);
+
+        public boolean isSettled() {
+            return this == READY || this == FAILED;
+        }
+    }
 }
@@ -45,7 +45,8 @@ public class ProjectScreen {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
-    @Column(name = "prototype_content", columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "prototype_content", columnDefinition = "BYTEA")
     private String prototypeContent;
 
     @Column(name = "vertex_session_id")
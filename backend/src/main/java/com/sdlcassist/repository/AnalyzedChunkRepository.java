@@ -0,0 +1,26 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.model.AnalyzedChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AnalyzedChunkRepository extends JpaRepository<AnalyzedChunk, UUID> {
+
+    @Query("SELECT a.chunkHash FROM AnalyzedChunk a WHERE a.projectId = :projectId")
+    List<String> findChunkHashesByProjectId(UUID projectId);
+
+    @Query("SELECT MAX(a.analyzedAt) FROM AnalyzedChunk a WHERE a.projectId = :projectId")
+    Optional<Instant> findLastAnalyzedAt(UUID projectId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AnalyzedChunk a WHERE a.projectId = :projectId")
+    int deleteByProjectId(UUID projectId);
+}
@@ -0,0 +1,37 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.dto.ArtifactRevisionSummary;
+import com.sdlcassist.model.ArtifactRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Revisions are addressed by project, artifact and screen; {@code screenId} is null for
+ * everything but prototypes, which the derived queries turn into {@code IS NULL}.
+ */
+public interface ArtifactRevisionRepository extends JpaRepository<ArtifactRevision, UUID> {
+
+    List<ArtifactRevisionSummary> findByProjectIdAndArtifactAndScreenIdOrderByRevisionDesc(
+            UUID projectId, String artifact, UUID screenId);
+
+    Optional<ArtifactRevisionSummary> findFirstByProjectIdAndArtifactAndScreenIdOrderByRevisionDesc(
+            UUID projectId, String artifact, UUID screenId);
+
+    /** The snapshot a revision is rebuilt from: the newest one at or before it. */
+    Optional<ArtifactRevision> findFirstByProjectIdAndArtifactAndScreenIdAndKindAndRevisionLessThanEqualOrderByRevisionDesc(
+            UUID projectId, String artifact, UUID screenId, ArtifactRevision.Kind kind, int revision);
+
+    List<ArtifactRevision> findByProjectIdAndArtifactAndScreenIdAndRevisionBetweenOrderByRevisionAsc(
+            UUID projectId, String artifact, UUID screenId, int from, int to);
+
+    @Modifying
+    @Query("DELETE FROM ArtifactRevision r WHERE r.projectId = :projectId AND r.artifact = :artifact " +
+           "AND r.screenId IN :screenIds")
+    int deleteByScreenIds(UUID projectId, String artifact, Collection<UUID> screenIds);
+}
@@ -0,0 +1,51 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.model.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    /** Takes a reference on existing content without sending the bytes again. */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE file_blobs SET ref_count = ref_count + 1 WHERE hash = :hash", nativeQuery = true)
+    int incrementRefCount(String hash);
+
+    /** Stores new content with one reference, or takes a reference if another upload just stored it. */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO file_blobs (hash, data, size, ref_count, created_at) VALUES (:hash, :data, :size, 1, NOW()) " +
+                   "ON CONFLICT (hash) DO UPDATE SET ref_count = file_blobs.ref_count + 1", nativeQuery = true)
+    int insertOrIncrement(String hash, byte[] data, long size);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE file_blobs SET ref_count = ref_count - 1 WHERE hash = :hash", nativeQuery = true)
+    int decrementRefCount(String hash);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM file_blobs WHERE hash = :hash AND ref_count <= 0", nativeQuery = true)
+    int deleteIfUnreferenced(String hash);
+
+    @Query(value = "SELECT size FROM file_blobs WHERE hash = :hash", nativeQuery = true)
+    Optional<Long> findSizeByHash(String hash);
+
+    /** Reads {@code length} bytes starting at the zero-based {@code offset}. */
+    @Query(value = "SELECT substring(data FROM CAST(:offset AS INTEGER) + 1 FOR CAST(:length AS INTEGER)) " +
+                   "FROM file_blobs WHERE hash = :hash", nativeQuery = true)
+    byte[] readRange(String hash, long offset, int length);
+
+    @Query(value = "SELECT extracted_text IS NOT NULL FROM file_blobs WHERE hash = :hash", nativeQuery = true)
+    Optional<Boolean> hasExtractedText(String hash);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE file_blobs SET extracted_text = :text WHERE hash = :hash", nativeQuery = true)
+    int updateExtractedText(String hash, String text);
+}
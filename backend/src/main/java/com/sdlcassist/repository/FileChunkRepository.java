@@ -0,0 +1,41 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.dto.ChunkSummary;
+import com.sdlcassist.model.FileChunk;
+import com.sdlcassist.model.ProjectFile.ExtractionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface FileChunkRepository extends JpaRepository<FileChunk, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FileChunk c WHERE c.contentHash = :contentHash")
+    int deleteByContentHash(String contentHash);
+
+    @Query("SELECT c.chunkHash AS chunkHash, f.originalFilename AS originalFilename, c.headingPath AS headingPath, " +
+           "c.pageStart AS pageStart, c.pageEnd AS pageEnd, c.tokenEstimate AS tokenEstimate " +
+           "FROM FileChunk c JOIN ProjectFile f ON f.contentHash = c.contentHash " +
+           "WHERE f.project.id = :projectId AND f.extractionStatus = :status " +
+           "ORDER BY f.createdAt, c.chunkIndex")
+    List<ChunkSummary> findSummariesByProjectIdAndExtractionStatus(UUID projectId, ExtractionStatus status);
+
+    /** Blobs with extracted text but no chunks yet, e.g. extracted before chunking existed. */
+    @Query(value = "SELECT b.hash FROM file_blobs b WHERE b.extracted_text IS NOT NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM file_chunks c WHERE c.content_hash = b.hash)", nativeQuery = true)
+    List<String> findUnchunkedBlobHashes();
+
+    @Query(value = "SELECT extracted_text FROM file_blobs WHERE hash = :hash", nativeQuery = true)
+    String findExtractedText(String hash);
+
+    boolean existsByContentHash(String contentHash);
+
+    /** Transaction-scoped advisory lock on a content hash, held by whoever rewrites its chunks. */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(:contentHash, 0))", nativeQuery = true)
+    int lockContentHash(String contentHash);
+}
@@ -0,0 +1,45 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.dto.ArtifactVersion;
+import com.sdlcassist.model.ProjectArtifact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProjectArtifactRepository extends JpaRepository<ProjectArtifact, UUID> {
+
+    @Query("SELECT a FROM ProjectArtifact a WHERE a.project.id = :projectId AND a.type = :type")
+    Optional<ProjectArtifact> findByProjectIdAndType(UUID projectId, ProjectArtifact.Type type);
+
+    /** Version and hash of an artifact, without its content. */
+    @Query("SELECT a.version AS version, a.hash AS hash FROM ProjectArtifact a " +
+           "WHERE a.project.id = :projectId AND a.type = :type")
+    Optional<ArtifactVersion> findVersionByProjectIdAndType(UUID projectId, ProjectArtifact.Type type);
+
+    /** How many of {@code types} the project has, without reading any content. */
+    @Query("SELECT COUNT(a) FROM ProjectArtifact a WHERE a.project.id = :projectId AND a.type IN :types")
+    long countByProjectIdAndTypeIn(UUID projectId, Collection<ProjectArtifact.Type> types);
+
+    /**
+     * Replaces the content of one artifact, touching only its row, if it is still at
+     * {@code version}. Returns 0 when another write got there first.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProjectArtifact a SET a.content = :content, a.hash = :hash, a.generatedAt = :generatedAt, " +
+           "a.version = a.version + 1 " +
+           "WHERE a.project.id = :projectId AND a.type = :type AND a.version = :version")
+    int updateContent(UUID projectId, ProjectArtifact.Type type, String content, String hash,
+                      Instant generatedAt, long version);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProjectArtifact a WHERE a.project.id = :projectId AND a.type = :type AND a.version = :version")
+    int deleteVersion(UUID projectId, ProjectArtifact.Type type, long version);
+}
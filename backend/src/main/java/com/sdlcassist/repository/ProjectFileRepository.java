@@ -1,13 +1,73 @@
 package com.sdlcassist.repository;
 
+import com.sdlcassist.dto.ChangeStamp;
+import com.sdlcassist.dto.ProjectFileSummary;
+import com.sdlcassist.dto.ProjectFileText;
 import com.sdlcassist.model.ProjectFile;
+import com.sdlcassist.model.ProjectFile.ExtractionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ProjectFileRepository extends JpaRepository<ProjectFile, UUID> {
     List<ProjectFile> findByProjectIdOrderByCreatedAtDesc(UUID projectId);
 
     long countByProjectId(UUID projectId);
+
+    @Query("SELECT COUNT(f) AS total, MAX(f.updatedAt) AS lastUpdatedAt FROM ProjectFile f WHERE f.project.id = :projectId")
+    ChangeStamp findChangeStampByProjectId(UUID projectId);
+
+    String SUMMARY_COLUMNS = "f.id AS id, f.project.id AS projectId, f.originalFilename AS originalFilename, " +
+            "f.mimeType AS mimeType, f.fileSize AS fileSize, f.contentHash AS contentHash, " +
+            "f.extractionStatus AS extractionStatus, f.extractionError AS extractionError, f.createdAt AS createdAt";
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM ProjectFile f WHERE f.project.id = :projectId ORDER BY f.createdAt DESC")
+    List<ProjectFileSummary> findSummariesByProjectId(UUID projectId);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM ProjectFile f WHERE f.id = :id")
+    Optional<ProjectFileSummary> findSummaryById(UUID id);
+
+    @Query("SELECT f.originalFilename AS originalFilename, b.extractedText AS extractedText " +
+           "FROM ProjectFile f JOIN FileBlob b ON b.hash = f.contentHash " +
+           "WHERE f.project.id = :projectId AND f.extractionStatus = :status ORDER BY f.createdAt DESC")
+    List<ProjectFileText> findTextsByProjectIdAndExtractionStatus(UUID projectId, ExtractionStatus status);
+
+    /** Rows of {@code [id, projectId, extractionAttempts]}. */
+    @Query("SELECT f.id, f.project.id, f.extractionAttempts FROM ProjectFile f WHERE f.extractionStatus IN :statuses")
+    List<Object[]> findIdsByExtractionStatusIn(Collection<ExtractionStatus> statuses);
+
+    /** Marks an unsettled file as being extracted and counts the attempt. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectFile f SET f.extractionStatus = :status, f.extractionError = NULL, " +
+           "f.extractionAttempts = f.extractionAttempts + 1, f.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE f.id = :id AND f.extractionStatus IN :unsettled")
+    int startExtraction(UUID id, ExtractionStatus status, Collection<ExtractionStatus> unsettled);
+
+    default int startExtraction(UUID id) {
+        return startExtraction(id, ExtractionStatus.EXTRACTING, ExtractionStatus.UNSETTLED);
+    }
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectFile f SET f.extractionStatus = :status, f.extractionError = :error, " +
+           "f.updatedAt = CURRENT_TIMESTAMP WHERE f.id = :id AND f.extractionStatus IN :unsettled")
+    int completeExtraction(UUID id, ExtractionStatus status, String error, Collection<ExtractionStatus> unsettled);
+
+    /**
+     * Settles a file that hasn't settled yet; a file already READY or FAILED (e.g. timed
+     * out by the watchdog) is left as it is.
+     */
+    default int completeExtraction(UUID id, ExtractionStatus status, String error) {
+        return completeExtraction(id, status, error, ExtractionStatus.UNSETTLED);
+    }
+
+    @Query("SELECT f.contentHash FROM ProjectFile f WHERE f.project.id = :projectId")
+    List<String> findContentHashesByProjectId(UUID projectId);
 }
@@ -1,20 +1,123 @@
 package com.sdlcassist.repository;
 
+import com.sdlcassist.dto.ProjectSummary;
 import com.sdlcassist.model.Project;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
-    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner ORDER BY p.updatedAt DESC")
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner LEFT JOIN FETCH p.artifacts ORDER BY p.updatedAt DESC")
     List<Project> findAllByOrderByUpdatedAtDesc();
 
-    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner WHERE p.owner.id = :ownerId ORDER BY p.updatedAt DESC")
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner LEFT JOIN FETCH p.artifacts WHERE p.owner.id = :ownerId ORDER BY p.updatedAt DESC")
     List<Project> findByOwnerIdOrderByUpdatedAtDesc(UUID ownerId);
 
+    /** Metadata only; artifacts stay unloaded until accessed. */
     @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner WHERE p.id = :id")
     Optional<Project> findByIdWithOwner(UUID id);
+
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner LEFT JOIN FETCH p.artifacts WHERE p.id = :id")
+    Optional<Project> findByIdWithArtifacts(UUID id);
+
+    /** Every write bumps updated_at, so it alone versions the project and its artifacts. */
+    @Query("SELECT p.updatedAt FROM Project p WHERE p.id = :id")
+    Optional<Instant> findUpdatedAtById(UUID id);
+
+    /**
+     * If-Match for a project write: row-locks the project until the transaction ends, but
+     * only while its updated_at is still one of {@code expected}. The check and the lock are
+     * one statement, so nothing can change the project between them; 0 means it changed
+     * (or is gone). Nothing is modified, so a write that turns out to be a no-op leaves the
+     * project's tag alone.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET p.updatedAt = p.updatedAt WHERE p.id = :id AND p.updatedAt IN :expected")
+    int lockIfUpdatedAtIn(UUID id, Collection<Instant> expected);
+
+    /** Row-locks the project until the transaction ends, to serialise writes made under it. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id")
+    Optional<Project> findByIdForUpdate(UUID id);
+
+    // -------------------------------------------------------------------------
+    // Single-column updates for artifact saves, which otherwise only need the
+    // project's updated_at bumped
+    // -------------------------------------------------------------------------
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET p.updatedAt = :updatedAt WHERE p.id = :id")
+    int touch(UUID id, Instant updatedAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET p.corporateGuidelinesFilename = :filename, p.updatedAt = :updatedAt WHERE p.id = :id")
+    int updateCorporateGuidelinesFilename(UUID id, String filename, Instant updatedAt);
+
+    /** Moves Technical Design from NOT_STARTED to IN_PROGRESS; later states are left alone. */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET p.techDesignStatus = 'IN_PROGRESS' WHERE p.id = :id AND p.techDesignStatus = 'NOT_STARTED'")
+    int startTechDesign(UUID id);
+
+    // -------------------------------------------------------------------------
+    // Dashboard summaries: the inner query picks one keyset page of list columns
+    // (walking the matching index from migration 016), then file, screen and
+    // prototype counts are computed for just those rows. No content column is read.
+    // -------------------------------------------------------------------------
+    String SUMMARY_SELECT = """
+            SELECT p.id AS id, p.name AS name, p.description AS description, p.status AS status,
+                   p.ux_design_status AS uxDesignStatus, p.technical_design_status AS technicalDesignStatus,
+                   p.tech_design_status AS techDesignStatus, p.owner_id AS ownerId, u.display_name AS ownerName,
+                   (SELECT count(*) FROM project_files f WHERE f.project_id = p.id) AS fileCount,
+                   s.screen_count AS screenCount, s.prototype_count AS prototypeCount,
+                   p.created_at AS createdAt, p.updated_at AS updatedAt
+            FROM (
+                SELECT p.id, p.name, p.description, p.status, p.ux_design_status, p.technical_design_status,
+                       p.tech_design_status, p.owner_id, p.created_at, p.updated_at
+                FROM projects p
+            """;
+
+    String SUMMARY_JOINS = """
+            ) p
+            LEFT JOIN users u ON u.id = p.owner_id
+            LEFT JOIN LATERAL (
+                SELECT count(*) AS screen_count, count(sc.prototype_content) AS prototype_count
+                FROM project_screens sc WHERE sc.project_id = p.id
+            ) s ON TRUE
+            """;
+
+    @Query(nativeQuery = true, value = SUMMARY_SELECT + """
+                WHERE CAST(:afterUpdatedAt AS TIMESTAMPTZ) IS NULL
+                   OR (p.updated_at, p.id) < (CAST(:afterUpdatedAt AS TIMESTAMPTZ), CAST(:afterId AS UUID))
+                ORDER BY p.updated_at DESC, p.id DESC
+                LIMIT :limit
+            """ + SUMMARY_JOINS + "ORDER BY p.updated_at DESC, p.id DESC")
+    List<ProjectSummary> findSummariesByUpdatedAt(Instant afterUpdatedAt, UUID afterId, int limit);
+
+    @Query(nativeQuery = true, value = SUMMARY_SELECT + """
+                WHERE CAST(:afterCreatedAt AS TIMESTAMPTZ) IS NULL
+                   OR (p.created_at, p.id) < (CAST(:afterCreatedAt AS TIMESTAMPTZ), CAST(:afterId AS UUID))
+                ORDER BY p.created_at DESC, p.id DESC
+                LIMIT :limit
+            """ + SUMMARY_JOINS + "ORDER BY p.created_at DESC, p.id DESC")
+    List<ProjectSummary> findSummariesByCreatedAt(Instant afterCreatedAt, UUID afterId, int limit);
+
+    @Query(nativeQuery = true, value = SUMMARY_SELECT + """
+                WHERE CAST(:afterName AS VARCHAR) IS NULL
+                   OR (p.name, p.id) > (CAST(:afterName AS VARCHAR), CAST(:afterId AS UUID))
+                ORDER BY p.name, p.id
+                LIMIT :limit
+            """ + SUMMARY_JOINS + "ORDER BY p.name, p.id")
+    List<ProjectSummary> findSummariesByName(String afterName, UUID afterId, int limit);
 }
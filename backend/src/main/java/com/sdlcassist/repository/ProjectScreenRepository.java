@@ -1,7 +1,10 @@
 package com.sdlcassist.repository;
 
+import com.sdlcassist.dto.ChangeStamp;
 import com.sdlcassist.model.ProjectScreen;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +18,22 @@ public interface ProjectScreenRepository extends JpaRepository<ProjectScreen, UU
 
     long countByProjectIdAndPrototypeContentIsNotNull(UUID projectId);
 
+    @Query("SELECT COUNT(s) AS total, MAX(s.updatedAt) AS lastUpdatedAt FROM ProjectScreen s WHERE s.projectId = :projectId")
+    ChangeStamp findChangeStampByProjectId(UUID projectId);
+
+    /** Prototypes still stored as plain UTF-8 that are large enough to compress. */
+    @Query(value = "SELECT id FROM project_screens WHERE id > :after AND prototype_content IS NOT NULL " +
+                   "AND substring(prototype_content FROM 1 FOR 1) <> decode('ff', 'hex') " +
+                   "AND octet_length(prototype_content) >= :minBytes ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<UUID> findUncompressedPrototypeIds(UUID after, int minBytes, int limit);
+
+    @Query(value = "SELECT prototype_content FROM project_screens WHERE id = :id", nativeQuery = true)
+    byte[] findRawPrototypeContent(UUID id);
+
+    /** Swaps in the compressed bytes unless the prototype changed since it was read. */
     @Transactional
-    void deleteByProjectId(UUID projectId);
+    @Modifying
+    @Query(value = "UPDATE project_screens SET prototype_content = :compressed " +
+                   "WHERE id = :id AND md5(prototype_content) = :originalMd5", nativeQuery = true)
+    int replacePrototypeContent(UUID id, byte[] compressed, String originalMd5);
 }
@@ -0,0 +1,100 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.dto.SearchHit;
+import com.sdlcassist.model.Project;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search over the tsvector columns added in migrations 012 and 017. Matching and
+ * ranking use the GIN indexes only; the inner query picks the page of hits and
+ * ts_headline runs on just those rows. Searches within one project have their own
+ * statement rather than an optional parameter, so the filter is never planned as
+ * {@code :projectId IS NULL OR ...}.
+ */
+public interface SearchRepository extends Repository<Project, UUID> {
+
+    String HITS_HEAD = """
+            WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query)
+            SELECT p.id AS projectId, p.name AS projectName, h.source AS source, h.label AS label,
+                   CAST(h.rank AS DOUBLE PRECISION) AS rank,
+                   ts_headline('english',
+                       CASE h.source
+                           WHEN 'project' THEN concat_ws('. ', p.name, p.description)
+                           WHEN 'document' THEN c.text
+                           ELSE a.content
+                       END,
+                       q.query,
+                       'StartSel=' || chr(1) || ', StopSel=' || chr(2) || ', MaxFragments=2, MaxWords=30, MinWords=10')
+                       AS snippet
+            FROM (
+                SELECT r.project_id, r.artifact_id, r.chunk_id, r.source, r.label, r.rank
+                FROM (
+            """;
+
+    // Each branch ends in its WHERE clause, so a project filter can be appended to it
+    String PROJECT_HITS = """
+                    SELECT p.id AS project_id, CAST(NULL AS UUID) AS artifact_id, CAST(NULL AS UUID) AS chunk_id,
+                           'project' AS source, CAST(NULL AS TEXT) AS label, ts_rank(p.meta_search, q.query, 1) AS rank
+                    FROM projects p, q WHERE p.meta_search @@ q.query
+            """;
+
+    String ARTIFACT_HITS = """
+                    SELECT a.project_id, a.id, NULL,
+                           CASE a.type WHEN 'PRD' THEN 'prd' WHEN 'DESIGN_SYSTEM' THEN 'design-system' ELSE 'tech-design' END,
+                           CASE a.type
+                               WHEN 'ARCH_OVERVIEW' THEN 'Architecture overview'
+                               WHEN 'DATA_MODEL' THEN 'Data model'
+                               WHEN 'API_CONTRACT' THEN 'API contract'
+                               WHEN 'SEQUENCE_DIAGRAMS' THEN 'Sequence diagrams'
+                           END,
+                           ts_rank(a.search_vector, q.query, 1)
+                    FROM project_artifacts a, q
+                    WHERE a.search_vector @@ q.query AND a.type <> 'CORPORATE_GUIDELINES'
+            """;
+
+    String DOCUMENT_HITS = """
+                    SELECT f.project_id, NULL, c.id, 'document',
+                           f.original_filename || coalesce(' > ' || c.heading_path, ''),
+                           ts_rank(c.search_vector, q.query, 1)
+                    FROM file_chunks c
+                    JOIN project_files f ON f.content_hash = c.content_hash AND f.extraction_status = 'READY', q
+                    WHERE c.search_vector @@ q.query
+            """;
+
+    String HITS_TAIL = """
+                ) r
+                ORDER BY r.rank DESC, r.project_id
+                LIMIT :limit OFFSET :offset
+            ) h
+            JOIN projects p ON p.id = h.project_id
+            LEFT JOIN project_artifacts a ON a.id = h.artifact_id
+            LEFT JOIN file_chunks c ON c.id = h.chunk_id
+            CROSS JOIN q
+            ORDER BY h.rank DESC, h.project_id
+            """;
+
+    String SEARCH_ALL = HITS_HEAD
+            + PROJECT_HITS + "UNION ALL\n"
+            + ARTIFACT_HITS + "UNION ALL\n"
+            + DOCUMENT_HITS + HITS_TAIL;
+
+    /**
+     * The project filter sits inside every branch, next to the tsquery match, so the
+     * planner can start from the project's own rows (primary key, project_id and
+     * content_hash indexes) instead of collecting every match across all projects first.
+     */
+    String SEARCH_PROJECT = HITS_HEAD
+            + PROJECT_HITS + "      AND p.id = :projectId\nUNION ALL\n"
+            + ARTIFACT_HITS + "      AND a.project_id = :projectId\nUNION ALL\n"
+            + DOCUMENT_HITS + "      AND f.project_id = :projectId\n" + HITS_TAIL;
+
+    @Query(nativeQuery = true, value = SEARCH_ALL)
+    List<SearchHit> search(String query, int limit, int offset);
+
+    @Query(nativeQuery = true, value = SEARCH_PROJECT)
+    List<SearchHit> searchProject(String query, UUID projectId, int limit, int offset);
+}
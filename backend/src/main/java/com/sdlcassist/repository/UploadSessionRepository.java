@@ -0,0 +1,28 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    Optional<UploadSession> findByIdAndProjectIdAndCreatedByUsername(UUID id, UUID projectId, String username);
+
+    @Query("SELECT s.id FROM UploadSession s WHERE s.expiresAt < :now")
+    List<UUID> findExpiredIds(Instant now);
+
+    @Query("SELECT s.id FROM UploadSession s")
+    List<UUID> findAllIds();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.expiresAt = :expiresAt WHERE s.id = :id")
+    int extend(UUID id, Instant expiresAt);
+}
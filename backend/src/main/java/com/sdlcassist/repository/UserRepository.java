@@ -1,12 +1,16 @@
 package com.sdlcassist.repository;
 
+import com.sdlcassist.config.CacheConfig;
 import com.sdlcassist.model.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+    /** Cached here rather than in UserService so that loadUserByUsername hits it too. */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#username", unless = "#result == null")
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
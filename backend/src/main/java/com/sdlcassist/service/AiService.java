@@ -1,13 +1,25 @@
 package com.sdlcassist.service;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sdlcassist.model.ProjectFile;
+import com.sdlcassist.dto.AiAnalysisResponse;
+import com.sdlcassist.dto.ProjectFileText;
+import com.sdlcassist.service.PromptService.Prompt;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.http.MediaType;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -17,9 +29,12 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +43,7 @@ import java.util.stream.Collectors;
 public class AiService {
 
     private final FileService fileService;
+    private final ChunkService chunkService;
     private final PromptService promptService;
     private final ObjectMapper objectMapper;
 
@@ -40,13 +56,32 @@ public class AiService {
     @Value("${app.anthropic.max-tokens:20000}")
     private int maxTokens;
 
+    @Value("${app.streaming.delta.max-chars:256}")
+    private int deltaMaxChars;
+
+    @Value("${app.streaming.delta.max-delay-ms:50}")
+    private long deltaMaxDelayMs;
+
     private static final String ANTHROPIC_API_URL = "https://api.anthropic.com/v1/messages";
+    private static final String PLANNING_PROMPT = "planning-analysis-v2-prod";
+
+    private static final StringDecoder LINE_DECODER = StringDecoder.textPlainOnly();
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+    private static final int REACTIVE_BATCH_EVENTS = 64;
+
+    // Shared by all reactive streams: the async client multiplexes them over its own selector thread
+    private final HttpClient reactiveClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
 
     @SuppressWarnings("unchecked")
-    public String analyzeRequirements(UUID projectId) {
+    public AiAnalysisResponse analyzeRequirements(UUID projectId) {
         validateApiKey();
         String combinedText = collectExtractedText(projectId);
-        String systemPrompt = promptService.getPrompt("planning-analysis-v2-prod");
+        Set<String> chunkHashes = chunkService.currentChunkHashes(projectId);
+        Prompt prompt = promptService.get(PLANNING_PROMPT);
+        String systemPrompt = prompt.text();
+        log.info("Analyzing project {} with prompt {}", projectId, prompt.stamp());
 
         try {
             Map<String, Object> requestBody = Map.of(
@@ -75,7 +110,12 @@ public class AiService {
                 throw new RuntimeException("No content in Anthropic API response");
             }
 
-            return (String) content.get(0).get("text");
+            AiAnalysisResponse result = AiAnalysisResponse.builder()
+                    .content((String) content.get(0).get("text"))
+                    .promptVersion(prompt.stamp())
+                    .build();
+            chunkService.recordAnalysis(projectId, chunkHashes);
+            return result;
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -92,7 +132,11 @@ public class AiService {
     public void streamAnalysis(UUID projectId, SseEmitter emitter) {
         validateApiKey();
         String combinedText = collectExtractedText(projectId);
-        String systemPrompt = promptService.getPrompt("planning-analysis-v2-prod");
+        Set<String> chunkHashes = chunkService.currentChunkHashes(projectId);
+        Prompt prompt = promptService.get(PLANNING_PROMPT);
+        String systemPrompt = prompt.text();
+        String doneData = doneData(prompt);
+        log.info("Streaming analysis for project {} with prompt {}", projectId, prompt.stamp());
 
         try {
             Map<String, Object> requestBody = Map.of(
@@ -120,6 +164,9 @@ public class AiService {
                 return;
             }
 
+            SseDeltaWriter deltaWriter = new SseDeltaWriter(emitter, deltaMaxChars, deltaMaxDelayMs);
+            int deltaCount = 0;
+
             try (BufferedReader reader = new BufferedReader(
                     new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
                 String line;
@@ -142,8 +189,8 @@ public class AiService {
                             if (delta != null) {
                                 String text = (String) delta.get("text");
                                 if (text != null) {
-                                    emitter.send(SseEmitter.event().name("delta")
-                                            .data(Map.of("text", text), MediaType.APPLICATION_JSON));
+                                    deltaWriter.append(text);
+                                    deltaCount++;
                                 }
                             }
                         } else if ("message_delta".equals(type)) {
@@ -155,13 +202,18 @@ public class AiService {
                                 }
                             }
                         } else if ("message_stop".equals(type)) {
-                            emitter.send(SseEmitter.event().name("done").data(""));
+                            deltaWriter.flush();
+                            log.info("Stream complete: {} deltas coalesced into {} frames",
+                                    deltaCount, deltaWriter.getFramesSent());
+                            chunkService.recordAnalysis(projectId, chunkHashes);
+                            emitter.send(SseEmitter.event().name("done").data(doneData));
                             emitter.complete();
                             return;
                         } else if ("error".equals(type)) {
                             Map<String, Object> error = (Map<String, Object>) event.get("error");
                             String message = error != null ? (String) error.get("message") : "Unknown error";
                             log.error("Anthropic stream error: {}", message);
+                            deltaWriter.flush();
                             emitter.send(SseEmitter.event().name("error").data(message));
                             emitter.complete();
                             return;
@@ -173,7 +225,9 @@ public class AiService {
             }
 
             // Stream ended without message_stop — send done anyway
-            emitter.send(SseEmitter.event().name("done").data(""));
+            deltaWriter.flush();
+            chunkService.recordAnalysis(projectId, chunkHashes);
+            emitter.send(SseEmitter.event().name("done").data(doneData));
             emitter.complete();
 
         } catch (InterruptedException e) {
@@ -191,6 +245,138 @@ public class AiService {
         }
     }
 
+    /**
+     * Non-blocking variant of {@link #streamAnalysis}. The upstream body is consumed through
+     * {@code HttpClient.sendAsync} as a Flow publisher, so demand from the client connection
+     * propagates to the socket read and no thread is parked while the model is generating.
+     * Only the initial file-text lookup runs on a bounded-elastic worker.
+     */
+    public Flux<ServerSentEvent<String>> streamAnalysisReactive(UUID projectId) {
+        Prompt prompt = promptService.get(PLANNING_PROMPT);
+        String doneData = doneData(prompt);
+        AtomicReference<Set<String>> chunkHashes = new AtomicReference<>(Set.of());
+        return Mono.fromCallable(() -> {
+                    validateApiKey();
+                    String combinedText = collectExtractedText(projectId);
+                    chunkHashes.set(chunkService.currentChunkHashes(projectId));
+                    String systemPrompt = prompt.text();
+                    return objectMapper.writeValueAsString(Map.of(
+                            "model", model,
+                            "max_tokens", maxTokens,
+                            "stream", true,
+                            "system", systemPrompt,
+                            "messages", List.of(
+                                    Map.of("role", "user", "content", combinedText)
+                            )
+                    ));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(jsonBody -> Mono.fromFuture(() -> reactiveClient.sendAsync(
+                        buildAnthropicRequest(jsonBody), HttpResponse.BodyHandlers.ofPublisher())))
+                .flatMapMany(response -> {
+                    Flux<DataBuffer> body = JdkFlowAdapter.flowPublisherToFlux(response.body())
+                            .concatMapIterable(buffers -> buffers)
+                            .map(DefaultDataBufferFactory.sharedInstance::wrap);
+                    log.info("Anthropic reactive streaming API responded with status {}", response.statusCode());
+                    if (response.statusCode() != 200) {
+                        return DataBufferUtils.join(body)
+                                .doOnNext(buffer -> log.error("Anthropic API error: status={}, body={}",
+                                        response.statusCode(), buffer.toString(StandardCharsets.UTF_8)))
+                                .thenMany(Flux.just(StreamEvent.failure("API error: " + response.statusCode())));
+                    }
+                    return LINE_DECODER.decode(body, STRING_TYPE, null, null)
+                            .concatMap(this::parseStreamLine)
+                            .concatWith(Mono.just(StreamEvent.END));
+                })
+                .takeUntil(event -> event.text() == null)
+                .bufferTimeout(REACTIVE_BATCH_EVENTS, Duration.ofMillis(Math.max(1, deltaMaxDelayMs)), true)
+                .concatMapIterable(batch -> toFrames(batch, doneData))
+                .concatMap(frame -> !"done".equals(frame.event()) ? Mono.just(frame)
+                        : Mono.fromRunnable(() -> chunkService.recordAnalysis(projectId, chunkHashes.get()))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .thenReturn(frame))
+                .onErrorResume(e -> {
+                    log.error("Reactive streaming analysis failed", e);
+                    return Flux.just(ServerSentEvent.<String>builder()
+                            .event("error").data(String.valueOf(e.getMessage())).build());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<StreamEvent> parseStreamLine(String line) {
+        if (!line.startsWith("data: ")) return Mono.empty();
+        String data = line.substring(6).trim();
+        if (data.equals("[DONE]") || data.isEmpty()) return Mono.empty();
+
+        try {
+            Map<String, Object> event = objectMapper.readValue(data, Map.class);
+            String type = (String) event.get("type");
+            if ("content_block_delta".equals(type)) {
+                Map<String, Object> delta = (Map<String, Object>) event.get("delta");
+                String text = delta != null ? (String) delta.get("text") : null;
+                return text != null ? Mono.just(new StreamEvent(text, null)) : Mono.empty();
+            } else if ("message_stop".equals(type)) {
+                return Mono.just(StreamEvent.END);
+            } else if ("error".equals(type)) {
+                Map<String, Object> error = (Map<String, Object>) event.get("error");
+                String message = error != null ? (String) error.get("message") : "Unknown error";
+                log.error("Anthropic stream error: {}", message);
+                return Mono.just(StreamEvent.failure(message));
+            }
+        } catch (Exception parseEx) {
+            log.debug("Skipping unparseable stream line: {}", data);
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Folds one buffered batch of stream events into SSE frames: consecutive deltas become a
+     * single pre-escaped delta frame, followed by the terminal done/error frame if present.
+     */
+    private List<ServerSentEvent<String>> toFrames(List<StreamEvent> batch, String doneData) {
+        List<ServerSentEvent<String>> frames = new ArrayList<>(2);
+        StringBuilder text = new StringBuilder();
+        for (StreamEvent event : batch) {
+            if (event.text() != null) {
+                text.append(event.text());
+                continue;
+            }
+            if (!text.isEmpty()) {
+                frames.add(deltaFrame(text));
+                text.setLength(0);
+            }
+            frames.add(event.error() == null
+                    ? ServerSentEvent.<String>builder().event("done").data(doneData).build()
+                    : ServerSentEvent.<String>builder().event("error").data(event.error()).build());
+        }
+        if (!text.isEmpty()) {
+            frames.add(deltaFrame(text));
+        }
+        return frames;
+    }
+
+    private ServerSentEvent<String> deltaFrame(CharSequence text) {
+        StringBuilder json = new StringBuilder(text.length() + 16).append("{\"text\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(text, json);
+        return ServerSentEvent.<String>builder().event("delta").data(json.append("\"}").toString()).build();
+    }
+
+    /**
+     * One parsed upstream event: a text delta, or a terminal marker (text == null) that
+     * carries an error message when the stream failed.
+     */
+    private record StreamEvent(String text, String error) {
+        static final StreamEvent END = new StreamEvent(null, null);
+
+        static StreamEvent failure(String message) {
+            return new StreamEvent(null, message);
+        }
+    }
+
+    private String doneData(Prompt prompt) {
+        return "{\"promptVersion\":\"" + prompt.stamp() + "\"}";
+    }
+
     private void validateApiKey() {
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("Anthropic API key is not configured");
@@ -198,9 +384,9 @@ public class AiService {
     }
 
     private String collectExtractedText(UUID projectId) {
-        List<ProjectFile> files = fileService.getFilesByProject(projectId);
+        List<ProjectFileText> files = fileService.getFilesForAnalysis(projectId);
         if (files.isEmpty()) {
-            throw new IllegalArgumentException("No files uploaded for this project. Upload documents first.");
+            throw new IllegalArgumentException("No processed documents for this project. Upload documents first.");
         }
 
         String combinedText = files.stream()
@@ -224,7 +410,12 @@ public class AiService {
                 .connectTimeout(Duration.ofSeconds(30))
                 .build();
 
-        HttpRequest request = HttpRequest.newBuilder()
+        log.info("Sending request to Anthropic API...");
+        return client.send(buildAnthropicRequest(jsonBody), bodyHandler);
+    }
+
+    private HttpRequest buildAnthropicRequest(String jsonBody) {
+        return HttpRequest.newBuilder()
                 .uri(URI.create(ANTHROPIC_API_URL))
                 .header("Content-Type", "application/json")
                 .header("x-api-key", apiKey)
@@ -232,8 +423,5 @@ public class AiService {
                 .timeout(Duration.ofMinutes(5))
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
-
-        log.info("Sending request to Anthropic API...");
-        return client.send(request, bodyHandler);
     }
 }
@@ -0,0 +1,198 @@
+package com.sdlcassist.service;
+
+import com.github.difflib.DiffUtils;
+import com.github.difflib.UnifiedDiffUtils;
+import com.github.difflib.patch.Patch;
+import com.sdlcassist.dto.ArtifactRevisionSummary;
+import com.sdlcassist.model.ArtifactRevision;
+import com.sdlcassist.model.CompressedTextConverter;
+import com.sdlcassist.model.ProjectArtifact;
+import com.sdlcassist.repository.ArtifactRevisionRepository;
+import com.sdlcassist.repository.ProjectRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Version history of the generated documents and screen prototypes.
+ *
+ * Every save that changes the text is recorded as the next revision. To keep storage
+ * close to the size of the edits rather than of the documents, a revision is stored as a
+ * {@link DeltaCodec} delta from the one before it, and only every
+ * {@code app.history.snapshot-interval} revisions (or when a delta saves less than half)
+ * as a compressed full snapshot. Reading a revision therefore costs at most one snapshot
+ * plus interval - 1 deltas, all applied in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArtifactHistoryService {
+
+    private static final int DIFF_CONTEXT_LINES = 3;
+
+    private final ArtifactRevisionRepository revisionRepository;
+    private final ProjectRepository projectRepository;
+
+    @Value("${app.history.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    // -------------------------------------------------------------------------
+    // Recording
+    // -------------------------------------------------------------------------
+
+    /**
+     * Records {@code content} as the next revision, unless it is what the latest revision
+     * already holds. Joins the caller's transaction, so the revision commits or rolls back
+     * together with the save it belongs to.
+     *
+     * {@code baseline} supplies the text being replaced and is only asked for when there is
+     * no history yet, so content saved before history existed becomes revision 1 and the
+     * first change to it can still be undone.
+     *
+     * Revisions are numbered from the latest one, so the project row is locked until the
+     * caller commits: concurrent saves to the same project take turns instead of both
+     * reading the same latest revision and colliding on its number.
+     */
+    @Transactional
+    public void record(UUID projectId, String artifact, UUID screenId, String content, Supplier<String> baseline) {
+        projectRepository.findByIdForUpdate(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + projectId));
+        ArtifactRevisionSummary latest = latest(projectId, artifact, screenId);
+        if (latest == null) {
+            String previous = baseline.get();
+            if (previous != null && !previous.equals(content)) {
+                append(projectId, artifact, screenId, previous, null);
+                latest = latest(projectId, artifact, screenId);
+            }
+        }
+        append(projectId, artifact, screenId, content, latest);
+    }
+
+    /** Drops the history of screens that have been deleted. */
+    @Transactional
+    public void deleteScreens(UUID projectId, String artifact, Collection<UUID> screenIds) {
+        int deleted = revisionRepository.deleteByScreenIds(projectId, artifact, screenIds);
+        log.debug("Deleted {} {} revisions of {} removed screens of project {}",
+                deleted, artifact, screenIds.size(), projectId);
+    }
+
+    private ArtifactRevisionSummary latest(UUID projectId, String artifact, UUID screenId) {
+        return revisionRepository
+                .findFirstByProjectIdAndArtifactAndScreenIdOrderByRevisionDesc(projectId, artifact, screenId)
+                .orElse(null);
+    }
+
+    private void append(UUID projectId, String artifact, UUID screenId, String content, ArtifactRevisionSummary latest) {
+        String hash = ProjectArtifact.sha256(content);
+        if (latest != null && hash.equals(latest.getContentHash())) return;
+
+        byte[] text = content.getBytes(StandardCharsets.UTF_8);
+        byte[] snapshot = CompressedTextConverter.compress(content);
+        int revision = latest == null ? 1 : latest.getRevision() + 1;
+
+        ArtifactRevision.Kind kind = ArtifactRevision.Kind.SNAPSHOT;
+        byte[] data = snapshot;
+        if (latest != null) {
+            List<ArtifactRevision> chain = chain(projectId, artifact, screenId, latest.getRevision());
+            if (revision - chain.get(0).getRevision() < snapshotInterval) {
+                byte[] delta = DeltaCodec.encode(rebuild(chain), text);
+                // A delta near the snapshot's size means the text was mostly rewritten
+                if (delta.length < snapshot.length / 2) {
+                    kind = ArtifactRevision.Kind.DELTA;
+                    data = delta;
+                }
+            }
+        }
+
+        revisionRepository.save(ArtifactRevision.builder()
+                .projectId(projectId)
+                .artifact(artifact)
+                .screenId(screenId)
+                .revision(revision)
+                .kind(kind)
+                .data(data)
+                .contentHash(hash)
+                .contentLength(text.length)
+                .build());
+        log.debug("Recorded {} revision {} of project {} as {} ({} of {} bytes)",
+                artifact, revision, projectId, kind, data.length, text.length);
+    }
+
+    // -------------------------------------------------------------------------
+    // Reading
+    // -------------------------------------------------------------------------
+
+    /** All revisions, newest first, without their content. */
+    @Transactional(readOnly = true)
+    public List<ArtifactRevisionSummary> history(UUID projectId, String artifact, UUID screenId) {
+        return revisionRepository.findByProjectIdAndArtifactAndScreenIdOrderByRevisionDesc(projectId, artifact, screenId);
+    }
+
+    @Transactional(readOnly = true)
+    public String content(UUID projectId, String artifact, UUID screenId, int revision) {
+        List<ArtifactRevision> chain = chain(projectId, artifact, screenId, revision);
+        byte[] text = rebuild(chain);
+        String content = new String(text, StandardCharsets.UTF_8);
+        if (!ProjectArtifact.sha256(content).equals(chain.get(chain.size() - 1).getContentHash())) {
+            throw new IllegalStateException("Revision " + revision + " of " + artifact + " failed its hash check");
+        }
+        return content;
+    }
+
+    /** Unified diff between two revisions, line by line, oldest-to-newest as given. */
+    @Transactional(readOnly = true)
+    public String diff(UUID projectId, String artifact, UUID screenId, int from, int to) {
+        List<String> original = content(projectId, artifact, screenId, from).lines().toList();
+        List<String> revised = content(projectId, artifact, screenId, to).lines().toList();
+        Patch<String> patch = DiffUtils.diff(original, revised);
+
+        String name = artifact.toLowerCase(Locale.ROOT);
+        return String.join("\n", UnifiedDiffUtils.generateUnifiedDiff(
+                name + "@" + from, name + "@" + to, original, patch, DIFF_CONTEXT_LINES));
+    }
+
+    // -------------------------------------------------------------------------
+    // Snapshot + delta chains
+    // -------------------------------------------------------------------------
+
+    /** The nearest snapshot at or before {@code revision}, followed by every delta up to it. */
+    private List<ArtifactRevision> chain(UUID projectId, String artifact, UUID screenId, int revision) {
+        ArtifactRevision snapshot = revisionRepository
+                .findFirstByProjectIdAndArtifactAndScreenIdAndKindAndRevisionLessThanEqualOrderByRevisionDesc(
+                        projectId, artifact, screenId, ArtifactRevision.Kind.SNAPSHOT, revision)
+                .orElseThrow(() -> new EntityNotFoundException("Revision " + revision + " of " + artifact + " not found"));
+
+        List<ArtifactRevision> chain = new ArrayList<>();
+        chain.add(snapshot);
+        if (snapshot.getRevision() < revision) {
+            chain.addAll(revisionRepository.findByProjectIdAndArtifactAndScreenIdAndRevisionBetweenOrderByRevisionAsc(
+                    projectId, artifact, screenId, snapshot.getRevision() + 1, revision));
+        }
+        if (chain.get(chain.size() - 1).getRevision() != revision) {
+            throw new EntityNotFoundException("Revision " + revision + " of " + artifact + " not found");
+        }
+        if (chain.size() != revision - snapshot.getRevision() + 1) {
+            throw new IllegalStateException("Revision history of " + artifact + " has a gap before revision " + revision);
+        }
+        return chain;
+    }
+
+    private static byte[] rebuild(List<ArtifactRevision> chain) {
+        byte[] text = CompressedTextConverter.decompress(chain.get(0).getData()).getBytes(StandardCharsets.UTF_8);
+        for (int i = 1; i < chain.size(); i++) {
+            text = DeltaCodec.apply(text, chain.get(i).getData());
+        }
+        return text;
+    }
+}
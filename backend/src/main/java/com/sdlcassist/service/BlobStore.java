@@ -0,0 +1,193 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.repository.FileBlobRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed storage for uploaded file bytes.
+ *
+ * Bytes live in the {@code file_blobs} table keyed by their SHA-256, and
+ * {@link com.sdlcassist.model.ProjectFile} keeps only the hash, so listing files or
+ * reading extracted text never pulls binary content.
+ *
+ * Identical content is stored once and shared by reference count: {@link #put} takes a
+ * reference (sending the bytes only when the hash is new) and {@link #release} drops one,
+ * deleting the row with the last. The text extracted from a blob is stored on it too, so
+ * a re-upload of known content needs no extraction at all.
+ *
+ * Reads go through {@link #openStream}, which fetches {@value #CHUNK_SIZE}-byte slices
+ * with {@code substring()} so callers never hold more than one chunk in memory. The
+ * table uses EXTERNAL storage (uncompressed TOAST) so those slices are cheap.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlobStore {
+
+    static final int CHUNK_SIZE = 512 * 1024;
+
+    private final FileBlobRepository blobRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Hashes the stream as it is read and takes a reference on that content, storing
+     * the bytes only if the hash is new. Joins the caller's transaction, so a
+     * rolled-back upload leaves neither a blob nor a reference behind.
+     */
+    public StoredBlob put(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] data;
+        try (DigestInputStream in = new DigestInputStream(content, digest)) {
+            data = in.readAllBytes();
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        if (blobRepository.incrementRefCount(hash) > 0) {
+            log.debug("Reusing stored blob {}", hash);
+            boolean hasText = blobRepository.hasExtractedText(hash).orElse(false);
+            return new StoredBlob(hash, true, hasText);
+        }
+        blobRepository.insertOrIncrement(hash, data, data.length);
+        return new StoredBlob(hash, false, false);
+    }
+
+    /**
+     * Like {@link #put(InputStream)} for content staged in a file: the file is hashed in
+     * one pass and, if the hash is new, streamed to Postgres in a second, so large
+     * uploads never sit in the heap. Joins the caller's transaction.
+     */
+    public StoredBlob put(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        if (blobRepository.incrementRefCount(hash) > 0) {
+            log.debug("Reusing stored blob {}", hash);
+            boolean hasText = blobRepository.hasExtractedText(hash).orElse(false);
+            return new StoredBlob(hash, true, hasText);
+        }
+
+        // Same statement as FileBlobRepository.insertOrIncrement, but bound with a stream
+        long size = Files.size(file);
+        try (InputStream in = Files.newInputStream(file)) {
+            jdbcTemplate.update("INSERT INTO file_blobs (hash, data, size, ref_count, created_at) VALUES (?, ?, ?, 1, NOW()) " +
+                                "ON CONFLICT (hash) DO UPDATE SET ref_count = file_blobs.ref_count + 1", ps -> {
+                ps.setString(1, hash);
+                ps.setBinaryStream(2, in, size);
+                ps.setLong(3, size);
+            });
+        }
+        return new StoredBlob(hash, false, false);
+    }
+
+    /** Drops one reference, deleting the blob when it was the last. */
+    public void release(String hash) {
+        blobRepository.decrementRefCount(hash);
+        if (blobRepository.deleteIfUnreferenced(hash) > 0) {
+            log.debug("Deleted unreferenced blob {}", hash);
+        }
+    }
+
+    public boolean hasExtractedText(String hash) {
+        return blobRepository.hasExtractedText(hash).orElse(false);
+    }
+
+    public void saveExtractedText(String hash, String text) {
+        blobRepository.updateExtractedText(hash, text);
+    }
+
+    public long size(String hash) {
+        return blobRepository.findSizeByHash(hash)
+                .orElseThrow(() -> new EntityNotFoundException("File content not found: " + hash));
+    }
+
+    public InputStream openStream(String hash) {
+        return openStream(hash, 0, size(hash));
+    }
+
+    /** Streams {@code length} bytes starting at {@code offset}, one chunk at a time. */
+    public InputStream openStream(String hash, long offset, long length) {
+        return new ChunkedBlobInputStream(hash, offset, length);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Result of {@link #put}: {@code existing} when the content was already stored, and
+     * {@code hasExtractedText} when its text is already known.
+     */
+    public record StoredBlob(String hash, boolean existing, boolean hasExtractedText) {}
+
+    private final class ChunkedBlobInputStream extends InputStream {
+
+        private final String hash;
+        private long position;
+        private final long end;
+        private byte[] chunk = new byte[0];
+        private int chunkPos;
+
+        private ChunkedBlobInputStream(String hash, long offset, long length) {
+            this.hash = hash;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) return -1;
+            return chunk[chunkPos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (!fill()) return -1;
+            int n = Math.min(len, chunk.length - chunkPos);
+            System.arraycopy(chunk, chunkPos, b, off, n);
+            chunkPos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return chunk.length - chunkPos;
+        }
+
+        private boolean fill() throws IOException {
+            if (chunkPos < chunk.length) return true;
+            if (position >= end) return false;
+
+            int length = (int) Math.min(CHUNK_SIZE, end - position);
+            byte[] next = blobRepository.readRange(hash, position, length);
+            if (next == null || next.length == 0) {
+                throw new IOException("Blob " + hash + " ended at " + position + " of " + end);
+            }
+            chunk = next;
+            chunkPos = 0;
+            position += next.length;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sdlcassist.service;
+
+/**
+ * Output buffer for extractors: stops accepting text at the configured cap and ends
+ * the result with {@link DocumentTextExtractor#TRUNCATED_MARKER} if anything was cut.
+ */
+final class CappedText {
+
+    private final StringBuilder text = new StringBuilder();
+    private final int maxChars;
+    private boolean truncated;
+
+    CappedText(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /** Appends as much as fits; returns false once the cap has been reached. */
+    boolean append(CharSequence value) {
+        if (truncated) return false;
+        int room = maxChars - text.length();
+        if (value.length() > room) {
+            text.append(value, 0, Math.max(0, room));
+            truncated = true;
+            return false;
+        }
+        text.append(value);
+        return true;
+    }
+
+    boolean isFull() {
+        return truncated;
+    }
+
+    int length() {
+        return text.length();
+    }
+
+    @Override
+    public String toString() {
+        return truncated ? text + DocumentTextExtractor.TRUNCATED_MARKER : text.toString();
+    }
+}
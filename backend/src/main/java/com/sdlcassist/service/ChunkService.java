@@ -0,0 +1,153 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.dto.AnalysisChangesResponse;
+import com.sdlcassist.dto.AnalysisChangesResponse.ChunkInfo;
+import com.sdlcassist.dto.ChunkSummary;
+import com.sdlcassist.model.AnalyzedChunk;
+import com.sdlcassist.model.FileChunk;
+import com.sdlcassist.model.ProjectFile.ExtractionStatus;
+import com.sdlcassist.repository.AnalyzedChunkRepository;
+import com.sdlcassist.repository.FileChunkRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the chunked form of every blob's extracted text and tracks which chunks each
+ * project's last analysis covered, so callers can tell what is new since then.
+ *
+ * Blobs extracted before chunking existed are chunked once per startup on a background
+ * thread, one blob per transaction, so startup doesn't wait on it and an interrupted run
+ * leaves no blob half-chunked. Chunk writes for one content hash take an advisory lock,
+ * so the backfill and an extraction of the same content never interleave.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkService {
+
+    private final FileChunkRepository chunkRepository;
+    private final AnalyzedChunkRepository analyzedChunkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Thread backfill;
+    private volatile boolean stopping;
+
+    /** Replaces the chunks of a blob with those of its freshly extracted text. */
+    @Transactional
+    public int storeChunks(String contentHash, String text) {
+        chunkRepository.lockContentHash(contentHash);
+        chunkRepository.deleteByContentHash(contentHash);
+        List<FileChunk> chunks = TextChunker.chunk(text).stream()
+                .map(c -> FileChunk.builder()
+                        .contentHash(contentHash)
+                        .chunkIndex(c.index())
+                        .chunkHash(c.hash())
+                        .headingPath(c.headingPath())
+                        .pageStart(c.pageStart())
+                        .pageEnd(c.pageEnd())
+                        .tokenEstimate(c.tokenEstimate())
+                        .text(c.text())
+                        .build())
+                .toList();
+        chunkRepository.saveAll(chunks);
+        return chunks.size();
+    }
+
+    /** Chunk hashes of the project's READY files — capture before an analysis starts. */
+    public Set<String> currentChunkHashes(UUID projectId) {
+        Set<String> hashes = new LinkedHashSet<>();
+        chunkRepository.findSummariesByProjectIdAndExtractionStatus(projectId, ExtractionStatus.READY)
+                .forEach(c -> hashes.add(c.getChunkHash()));
+        return hashes;
+    }
+
+    /** Records the chunks a successful analysis was generated from. */
+    @Transactional
+    public void recordAnalysis(UUID projectId, Set<String> chunkHashes) {
+        Instant now = Instant.now();
+        analyzedChunkRepository.deleteByProjectId(projectId);
+        analyzedChunkRepository.saveAll(chunkHashes.stream()
+                .map(hash -> AnalyzedChunk.builder().projectId(projectId).chunkHash(hash).analyzedAt(now).build())
+                .toList());
+    }
+
+    public AnalysisChangesResponse changesSinceLastAnalysis(UUID projectId) {
+        List<ChunkSummary> current = chunkRepository.findSummariesByProjectIdAndExtractionStatus(
+                projectId, ExtractionStatus.READY);
+        Set<String> analyzed = new HashSet<>(analyzedChunkRepository.findChunkHashesByProjectId(projectId));
+
+        Set<String> seen = new HashSet<>();
+        List<ChunkSummary> added = current.stream()
+                .filter(c -> seen.add(c.getChunkHash()) && !analyzed.contains(c.getChunkHash()))
+                .toList();
+        int unchanged = (int) seen.stream().filter(analyzed::contains).count();
+
+        return AnalysisChangesResponse.builder()
+                .lastAnalyzedAt(analyzedChunkRepository.findLastAnalyzedAt(projectId).orElse(null))
+                .totalChunks(seen.size())
+                .unchangedChunks(unchanged)
+                .removedChunks(analyzed.size() - unchanged)
+                .newTokenEstimate(added.stream().mapToInt(ChunkSummary::getTokenEstimate).sum())
+                .newChunks(added.stream().map(ChunkInfo::from).toList())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void chunkExistingBlobs() {
+        backfill = Thread.ofVirtual().name("chunk-backfill").start(this::backfillChunks);
+    }
+
+    // Checked between blobs rather than interrupting: an interrupt during a JDBC write
+    // closes the socket and breaks the pooled connection
+    @PreDestroy
+    void shutdown() {
+        stopping = true;
+    }
+
+    private void backfillChunks() {
+        List<String> hashes;
+        try {
+            hashes = chunkRepository.findUnchunkedBlobHashes();
+        } catch (Exception e) {
+            log.warn("Chunk backfill stopped: {}", e.getMessage());
+            return;
+        }
+        if (hashes.isEmpty()) return;
+
+        log.info("Chunking extracted text of {} existing blobs", hashes.size());
+        int chunked = 0;
+        for (String hash : hashes) {
+            if (stopping) {
+                log.info("Chunk backfill stopped after {} blobs; it resumes on next startup", chunked);
+                return;
+            }
+            try {
+                // storeChunks' @Transactional doesn't apply to a call from inside the bean,
+                // so the template keeps each blob's delete and inserts in one transaction
+                Integer stored = transactionTemplate.execute(status -> {
+                    chunkRepository.lockContentHash(hash);
+                    // An extraction of the same content may have chunked it since the scan
+                    if (chunkRepository.existsByContentHash(hash)) return null;
+                    return storeChunks(hash, chunkRepository.findExtractedText(hash));
+                });
+                if (stored != null) chunked++;
+            } catch (Exception e) {
+                log.warn("Failed to chunk blob {}: {}", hash, e.getMessage());
+            }
+        }
+        log.info("Chunked {} existing blobs", chunked);
+    }
+}
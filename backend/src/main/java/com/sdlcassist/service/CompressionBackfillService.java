@@ -0,0 +1,100 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.model.CompressedTextConverter;
+import com.sdlcassist.repository.ProjectScreenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compresses prototypes written before {@link CompressedTextConverter} was introduced.
+ *
+ * Runs once per startup on a background thread, a batch of
+ * {@code app.compression.backfill.batch-size} rows at a time with a pause in between,
+ * so it never competes with request traffic for the small connection pool. Each row is
+ * rewritten with a native update guarded by the original content's md5, so a prototype
+ * saved in the meantime is left alone. Rows are walked in id order and those already
+ * compressed (or too small to bother) are skipped, so the job is safe to interrupt and
+ * rerun.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompressionBackfillService {
+
+    private final ProjectScreenRepository screenRepository;
+
+    @Value("${app.compression.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.compression.backfill.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.compression.backfill.pause-ms:200}")
+    private long pauseMs;
+
+    private volatile Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        worker = Thread.ofVirtual().name("compression-backfill").start(this::run);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        long rows = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        try {
+            UUID after = new UUID(0, 0);
+            while (!Thread.currentThread().isInterrupted()) {
+                List<UUID> ids = screenRepository.findUncompressedPrototypeIds(
+                        after, CompressedTextConverter.MIN_COMPRESS_BYTES, batchSize);
+                if (ids.isEmpty()) break;
+                after = ids.get(ids.size() - 1);
+
+                for (UUID id : ids) {
+                    byte[] plain = screenRepository.findRawPrototypeContent(id);
+                    if (plain == null || CompressedTextConverter.isCompressed(plain)) continue;
+
+                    // Incompressible text comes back without the header; leave it plain
+                    byte[] compressed = CompressedTextConverter.compress(new String(plain, StandardCharsets.UTF_8));
+                    if (!CompressedTextConverter.isCompressed(compressed)) continue;
+
+                    if (screenRepository.replacePrototypeContent(id, compressed, DigestUtils.md5DigestAsHex(plain)) > 0) {
+                        rows++;
+                        bytesBefore += plain.length;
+                        bytesAfter += compressed.length;
+                    }
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            log.info("Prototype compression backfill interrupted; it resumes on next startup");
+            return;
+        } catch (Exception e) {
+            log.warn("Prototype compression backfill stopped: {}", e.getMessage());
+        }
+
+        if (rows > 0) {
+            log.info("Compressed {} prototypes: {} KB -> {} KB", rows, bytesBefore / 1024, bytesAfter / 1024);
+        }
+    }
+}
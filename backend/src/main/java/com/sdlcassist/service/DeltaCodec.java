@@ -0,0 +1,216 @@
+package com.sdlcassist.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Copy/insert delta between two byte strings, in the spirit of xdelta: the target is
+ * described as runs copied from the base plus the literal bytes that are new.
+ *
+ * The base is indexed by a hash of each {@value #BLOCK}-byte block at block-aligned
+ * offsets. The target is scanned with a rolling hash of the same width, and every verified
+ * hit is extended forwards and backwards as far as the bytes agree, so an edit anywhere in
+ * a document costs roughly its own size. Encoding and decoding are linear, and the encoded
+ * ops are deflated, which also compresses the literal runs.
+ *
+ * Format before deflate: varint base length, varint target length, then ops:
+ * {@code 0, varint offset, varint length} copies from the base and
+ * {@code 1, varint length, bytes} inserts literals.
+ */
+final class DeltaCodec {
+
+    private static final int BLOCK = 16;
+    private static final int PRIME = 31;
+    private static final int PRIME_POW = pow(PRIME, BLOCK - 1);
+
+    private static final int OP_COPY = 0;
+    private static final int OP_INSERT = 1;
+
+    private DeltaCodec() {}
+
+    static byte[] encode(byte[] base, byte[] target) {
+        Map<Integer, Integer> index = index(base);
+        ByteArrayOutputStream ops = new ByteArrayOutputStream(target.length / 8 + 16);
+        writeVarint(ops, base.length);
+        writeVarint(ops, target.length);
+
+        int literalStart = 0;
+        int i = 0;
+        int hash = target.length >= BLOCK ? hash(target, 0) : 0;
+        while (i + BLOCK <= target.length) {
+            Integer at = index.get(hash);
+            if (at != null && Arrays.equals(base, at, at + BLOCK, target, i, i + BLOCK)) {
+                // Grow the match backwards into the pending literals, then forwards
+                int start = i;
+                int from = at;
+                while (start > literalStart && from > 0 && base[from - 1] == target[start - 1]) {
+                    start--;
+                    from--;
+                }
+                int end = i + BLOCK;
+                int baseEnd = at + BLOCK;
+                while (end < target.length && baseEnd < base.length && base[baseEnd] == target[end]) {
+                    end++;
+                    baseEnd++;
+                }
+                writeInsert(ops, target, literalStart, start);
+                ops.write(OP_COPY);
+                writeVarint(ops, from);
+                writeVarint(ops, end - start);
+
+                literalStart = i = end;
+                if (i + BLOCK <= target.length) hash = hash(target, i);
+                continue;
+            }
+            if (i + BLOCK < target.length) hash = roll(hash, target[i], target[i + BLOCK]);
+            i++;
+        }
+        writeInsert(ops, target, literalStart, target.length);
+        return deflate(ops.toByteArray());
+    }
+
+    static byte[] apply(byte[] base, byte[] delta) {
+        Reader in = new Reader(inflate(delta));
+        if (in.varint() != base.length) {
+            throw new IllegalStateException("Delta was made against a different base");
+        }
+        int length = in.varint();
+        byte[] out = new byte[length];
+        int pos = 0;
+        while (in.hasMore()) {
+            int op = in.next();
+            if (op == OP_COPY) {
+                int from = in.varint();
+                int n = in.varint();
+                if (from < 0 || n < 0 || from + n > base.length || pos + n > length) {
+                    throw new IllegalStateException("Corrupt delta: copy out of range");
+                }
+                System.arraycopy(base, from, out, pos, n);
+                pos += n;
+            } else if (op == OP_INSERT) {
+                int n = in.varint();
+                if (n < 0 || pos + n > length) {
+                    throw new IllegalStateException("Corrupt delta: insert out of range");
+                }
+                in.bytes(out, pos, n);
+                pos += n;
+            } else {
+                throw new IllegalStateException("Corrupt delta: unknown op " + op);
+            }
+        }
+        if (pos != length) {
+            throw new IllegalStateException("Corrupt delta: expected " + length + " bytes, got " + pos);
+        }
+        return out;
+    }
+
+    // -------------------------------------------------------------------------
+    // Hashing
+    // -------------------------------------------------------------------------
+    /** First base offset of each distinct block hash. */
+    private static Map<Integer, Integer> index(byte[] base) {
+        Map<Integer, Integer> index = new HashMap<>(Math.max(16, base.length / BLOCK * 2));
+        for (int at = 0; at + BLOCK <= base.length; at += BLOCK) {
+            index.putIfAbsent(hash(base, at), at);
+        }
+        return index;
+    }
+
+    private static int hash(byte[] data, int from) {
+        int h = 0;
+        for (int i = from; i < from + BLOCK; i++) {
+            h = h * PRIME + (data[i] & 0xFF);
+        }
+        return h;
+    }
+
+    private static int roll(int hash, byte out, byte in) {
+        return (hash - (out & 0xFF) * PRIME_POW) * PRIME + (in & 0xFF);
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Encoding
+    // -------------------------------------------------------------------------
+    private static void writeInsert(ByteArrayOutputStream ops, byte[] target, int from, int to) {
+        if (to <= from) return;
+        ops.write(OP_INSERT);
+        writeVarint(ops, to - from);
+        ops.write(target, from, to - from);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_COMPRESSION), true)) {
+            deflater.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] delta) {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(delta))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt delta", e);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        boolean hasMore() {
+            return pos < data.length;
+        }
+
+        int next() {
+            if (pos >= data.length) throw new IllegalStateException("Corrupt delta: truncated");
+            return data[pos++] & 0xFF;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = next();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalStateException("Corrupt delta: bad varint");
+        }
+
+        void bytes(byte[] out, int at, int n) {
+            if (pos + n > data.length) throw new IllegalStateException("Corrupt delta: truncated");
+            System.arraycopy(data, pos, out, at, n);
+            pos += n;
+        }
+    }
+}
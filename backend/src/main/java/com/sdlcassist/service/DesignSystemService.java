@@ -4,10 +4,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.sdlcassist.model.Project;
+import com.sdlcassist.model.ProjectArtifact;
+import com.sdlcassist.service.PromptService.Prompt;
+import com.sdlcassist.service.TemplateRegistry.TemplateDefinition;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -29,6 +31,8 @@ import java.util.UUID;
 public class DesignSystemService {
 
     private final ProjectService projectService;
+    private final TemplateRegistry templateRegistry;
+    private final PromptService promptService;
     private final ObjectMapper objectMapper;
 
     @Value("${app.vertexai.project-id}")
@@ -47,14 +51,17 @@ public class DesignSystemService {
         try {
             sendProgress(emitter, "INITIALIZING", 5, "Connecting to design system agent...");
 
-            Project project = projectService.findById(projectId);
-            if (project.getPrdContent() == null || project.getPrdContent().isBlank()) {
+            Project project = projectService.findByIdWithArtifacts(projectId);
+            String prdContent = project.getArtifactContent(ProjectArtifact.Type.PRD);
+            if (prdContent == null || prdContent.isBlank()) {
                 sendError(emitter, "No PRD found. Generate a PRD in the Planning phase first.");
                 return;
             }
 
-            // Load template metadata from classpath
-            JsonNode templateMetadata = loadTemplateMetadata(project.getSelectedTemplateId());
+            TemplateDefinition template = templateRegistry.find(project.getSelectedTemplateId()).orElse(null);
+            if (template == null && project.getSelectedTemplateId() != null) {
+                log.warn("Unknown template '{}' for project {}", project.getSelectedTemplateId(), projectId);
+            }
 
             String accessToken = getAccessToken();
             String sessionId = createSession(accessToken, projectId.toString());
@@ -65,14 +72,17 @@ public class DesignSystemService {
             sendProgress(emitter, "EXTRACTING_DOMAIN", 35, "Identifying domain patterns and use cases...");
 
             // Build template-aware progress message
-            String templateName = templateMetadata != null && templateMetadata.has("name")
-                    ? templateMetadata.get("name").asText()
-                    : "selected template";
+            String templateName = template != null ? template.name() : "selected template";
             Thread.sleep(600);
             sendProgress(emitter, "APPLYING_TEMPLATE", 50, "Applying " + templateName + " design tokens...");
 
             // Build the message and call the agent (blocking — slow)
-            String userMessage = buildMessage(project.getPrdContent(), templateMetadata);
+            Prompt prompt = promptService.get("design-system");
+            log.info("Generating design system for project {} with prompt {}", projectId, prompt.stamp());
+            PromptMessage userMessage = prompt.message(Map.of(
+                    "TEMPLATE_SECTION", () -> template != null ? template.promptFragment() : "",
+                    "PRD_CONTENT", () -> prdContent
+            ));
             String agentResponse = streamQuery(accessToken, sessionId, projectId.toString(), userMessage);
 
             // Emit quick final progression after agent responds
@@ -90,7 +100,8 @@ public class DesignSystemService {
                     "event", "COMPLETE",
                     "progress", 100,
                     "message", "Design system generated successfully.",
-                    "content", agentResponse
+                    "content", agentResponse,
+                    "promptVersion", prompt.stamp()
             ));
             emitter.send(SseEmitter.event().name("progress").data(completePayload));
             emitter.complete();
@@ -106,17 +117,6 @@ public class DesignSystemService {
         }
     }
 
-    private JsonNode loadTemplateMetadata(String templateId) {
-        if (templateId == null || templateId.isBlank()) return null;
-        try {
-            ClassPathResource resource = new ClassPathResource("templates/" + templateId + "/metadata.json");
-            return objectMapper.readTree(resource.getInputStream());
-        } catch (Exception e) {
-            log.warn("Could not load template metadata for '{}': {}", templateId, e.getMessage());
-            return null;
-        }
-    }
-
     // -------------------------------------------------------------------------
     // Step 1: Create session via POST :query with class_method=create_session
     // -------------------------------------------------------------------------
@@ -153,15 +153,8 @@ public class DesignSystemService {
     // -------------------------------------------------------------------------
     // Step 2: POST :streamQuery, read response line-by-line
     // -------------------------------------------------------------------------
-    private String streamQuery(String accessToken, String sessionId, String userId, String message) throws Exception {
+    private String streamQuery(String accessToken, String sessionId, String userId, PromptMessage message) throws Exception {
         String endpoint = baseUrl() + ":streamQuery";
-        Map<String, Object> body = Map.of(
-                "input", Map.of(
-                        "session_id", sessionId,
-                        "user_id", userId,
-                        "message", message
-                )
-        );
 
         HttpClient client = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(30))
@@ -172,7 +165,7 @@ public class DesignSystemService {
                 .header("Content-Type", "application/json")
                 .header("Authorization", "Bearer " + accessToken)
                 .timeout(Duration.ofMinutes(5))
-                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .POST(JsonBodyPublisher.streamQuery(objectMapper, sessionId, userId, message))
                 .build();
 
         log.info("Sending design_system streamQuery to: {}", endpoint);
@@ -266,53 +259,6 @@ public class DesignSystemService {
         return null;
     }
 
-    // -------------------------------------------------------------------------
-    // Build the message sent to the design_system_agent
-    // -------------------------------------------------------------------------
-    private String buildMessage(String prdContent, JsonNode templateMetadata) {
-        StringBuilder msg = new StringBuilder();
-        msg.append("Generate a comprehensive design system document for the following project.\n\n");
-
-        if (templateMetadata != null) {
-            String name = templateMetadata.has("name") ? templateMetadata.get("name").asText() : "Enterprise";
-            String tag = templateMetadata.has("tag") ? templateMetadata.get("tag").asText() : "";
-            String promptHint = templateMetadata.has("promptHint") ? templateMetadata.get("promptHint").asText() : "";
-            String description = templateMetadata.has("description") ? templateMetadata.get("description").asText() : "";
-
-            msg.append("SELECTED TEMPLATE: ").append(name);
-            if (!tag.isBlank()) msg.append(" (").append(tag).append(")");
-            msg.append("\n");
-            if (!description.isBlank()) msg.append(description).append("\n");
-            msg.append("\n");
-
-            if (!promptHint.isBlank()) {
-                msg.append("DESIGN GUIDANCE:\n").append(promptHint).append("\n\n");
-            }
-
-            JsonNode tokens = templateMetadata.path("designTokens");
-            if (!tokens.isMissingNode() && tokens.isObject()) {
-                msg.append("DESIGN TOKENS:\n");
-                tokens.fields().forEachRemaining(e ->
-                        msg.append("  ").append(e.getKey()).append(": ").append(e.getValue().asText()).append("\n")
-                );
-                msg.append("\n");
-            }
-
-            JsonNode components = templateMetadata.path("components");
-            if (components.isArray() && !components.isEmpty()) {
-                msg.append("COMPONENT LIBRARY: ");
-                components.forEach(c -> msg.append(c.asText()).append(", "));
-                msg.append("\n\n");
-            }
-        }
-
-        msg.append("PROJECT PRD:\n").append(prdContent).append("\n\n");
-        msg.append("Please generate a comprehensive design system document in Markdown format with sections for: ")
-           .append("Color System, Typography, Component Specifications, Layout Patterns, and Implementation Guidelines.");
-
-        return msg.toString();
-    }
-
     // -------------------------------------------------------------------------
     // Auth helpers
     // -------------------------------------------------------------------------
@@ -0,0 +1,80 @@
+package com.sdlcassist.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns an uploaded document into plain text. Stateless; called from the extraction workers.
+ *
+ * This is a registry of {@link TextExtractor} beans keyed by MIME type. The upload is
+ * spooled to a temp file once, so each extractor can read it incrementally (or with
+ * random access, as PDFBox and the OOXML readers need) without holding it in memory,
+ * and then handed to the extractor registered for its type. Types without one are read
+ * as plain text.
+ */
+@Component
+@Slf4j
+public class DocumentTextExtractor {
+
+    public static final char PAGE_BREAK = '\f';
+    static final String TRUNCATED_MARKER = "\n\n[... document truncated ...]\n";
+
+    private final Map<String, TextExtractor> extractors = new HashMap<>();
+    private final TextExtractor fallback;
+
+    public DocumentTextExtractor(List<TextExtractor> extractors, PlainTextExtractor fallback) {
+        this.fallback = fallback;
+        for (TextExtractor extractor : extractors) {
+            for (String mimeType : extractor.mimeTypes()) {
+                TextExtractor previous = this.extractors.put(mimeType, extractor);
+                if (previous != null && previous != extractor) {
+                    throw new IllegalStateException("Two extractors registered for " + mimeType + ": "
+                            + previous.getClass().getSimpleName() + " and " + extractor.getClass().getSimpleName());
+                }
+            }
+        }
+        log.info("Text extractors registered for {}", this.extractors.keySet());
+    }
+
+    /** MIME types with a registered extractor. */
+    public Set<String> supportedTypes() {
+        return extractors.keySet();
+    }
+
+    public boolean supports(String contentType) {
+        return contentType != null && extractors.containsKey(contentType);
+    }
+
+    public String extract(InputStream inputStream, String contentType) throws IOException {
+        TextExtractor extractor = contentType != null ? extractors.getOrDefault(contentType, fallback) : fallback;
+        Path spool = Files.createTempFile("sdlc-extract-", null);
+        try {
+            Files.copy(inputStream, spool, StandardCopyOption.REPLACE_EXISTING);
+            return extractor.extract(spool);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    /**
+     * Cooperative cancellation: the extraction watchdog interrupts a worker that runs past
+     * {@code app.extraction.timeout}, and the extractors call this between pages, XML
+     * events and read buffers so the worker stops promptly.
+     */
+    static void checkCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Extraction cancelled");
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.sdlcassist.service;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams the text out of a .docx without building POI's XWPF object model.
+ *
+ * {@code word/styles.xml} is read first to learn which paragraph styles are headings,
+ * then {@code word/document.xml} is walked with StAX. Paragraphs become lines,
+ * headings get markdown {@code #} markers, list items a {@code - } bullet, and table
+ * rows are written as {@code | cell | cell |}. Deleted revisions and field codes are
+ * skipped because only {@code w:t} runs are collected.
+ *
+ * Element names are matched on their local part so both transitional and strict
+ * OOXML documents are handled. Each part is read through a size limit so a
+ * decompression bomb fails instead of inflating without bound.
+ */
+final class DocxStreamReader {
+
+    static final String DOCUMENT_PART = "word/document.xml";
+    static final String STYLES_PART = "word/styles.xml";
+
+    private final int maxChars;
+
+    private final StringBuilder out = new StringBuilder();
+    private final StringBuilder paragraph = new StringBuilder();
+    private final List<String> rowCells = new ArrayList<>();
+    private StringBuilder cell;
+    private int tableDepth;
+    private int headingLevel;
+    private boolean listItem;
+    private boolean truncated;
+
+    private DocxStreamReader(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Returns the document text, or {@code null} if the package has no
+     * {@code word/document.xml} part.
+     */
+    static String extract(ZipFile docx, int maxChars, long maxPartBytes) throws IOException {
+        ZipEntry document = docx.getEntry(DOCUMENT_PART);
+        if (document == null) return null;
+
+        Map<String, Integer> headingStyles = Map.of();
+        ZipEntry styles = docx.getEntry(STYLES_PART);
+        if (styles != null) {
+            try (InputStream in = OoxmlParts.open(docx, styles, maxPartBytes)) {
+                headingStyles = readHeadingStyles(in);
+            }
+        }
+
+        DocxStreamReader extractor = new DocxStreamReader(maxChars);
+        try (InputStream in = OoxmlParts.open(docx, document, maxPartBytes)) {
+            extractor.readDocument(in, headingStyles);
+        }
+        return extractor.result();
+    }
+
+    // -------------------------------------------------------------------------
+    // styles.xml — style id -> heading level (1-6)
+    // -------------------------------------------------------------------------
+    private static Map<String, Integer> readHeadingStyles(InputStream in) throws IOException {
+        Map<String, Integer> headings = new HashMap<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = OoxmlParts.newReader(in);
+            String styleId = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "style" -> styleId = OoxmlParts.attribute(reader, "styleId");
+                        case "name" -> {
+                            Integer level = headingLevelForName(OoxmlParts.attribute(reader, "val"));
+                            if (styleId != null && level != null) headings.put(styleId, level);
+                        }
+                        case "outlineLvl" -> {
+                            Integer level = outlineLevel(OoxmlParts.attribute(reader, "val"));
+                            if (styleId != null && level != null) headings.putIfAbsent(styleId, level);
+                        }
+                        default -> {}
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "style".equals(reader.getLocalName())) {
+                    styleId = null;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw OoxmlParts.toIOException(e, "Malformed styles part in DOCX");
+        } finally {
+            OoxmlParts.close(reader);
+        }
+        return headings;
+    }
+
+    private static Integer headingLevelForName(String name) {
+        if (name == null) return null;
+        String lower = name.toLowerCase();
+        if (lower.equals("title")) return 1;
+        if (lower.startsWith("heading ")) {
+            try {
+                return Math.min(6, Math.max(1, Integer.parseInt(lower.substring(8).trim())));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** Built-in style ids ("Heading1", "Title") for documents without a styles part. */
+    private static int defaultHeadingLevel(String styleId) {
+        if (styleId == null) return 0;
+        Integer level = headingLevelForName(styleId.replaceFirst("(?i)^heading(\\d)$", "heading $1"));
+        return level != null ? level : 0;
+    }
+
+    private static Integer outlineLevel(String value) {
+        if (value == null) return null;
+        try {
+            int level = Integer.parseInt(value);
+            // 9 is "body text" in Word's outline levels
+            return level >= 0 && level < 9 ? Math.min(6, level + 1) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // document.xml
+    // -------------------------------------------------------------------------
+    private void readDocument(InputStream in, Map<String, Integer> headingStyles) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = OoxmlParts.newReader(in);
+            boolean inText = false;
+            boolean inParagraphProperties = false;
+            int events = 0;
+
+            while (reader.hasNext() && !truncated) {
+                int event = reader.next();
+                if ((++events & 0xFFF) == 0) DocumentTextExtractor.checkCancelled();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "p" -> {
+                                paragraph.setLength(0);
+                                headingLevel = 0;
+                                listItem = false;
+                            }
+                            case "pPr" -> inParagraphProperties = true;
+                            case "pStyle" -> {
+                                if (inParagraphProperties) {
+                                    String styleId = OoxmlParts.attribute(reader, "val");
+                                    Integer level = headingStyles.get(styleId);
+                                    headingLevel = level != null ? level : defaultHeadingLevel(styleId);
+                                }
+                            }
+                            case "outlineLvl" -> {
+                                Integer level = inParagraphProperties ? outlineLevel(OoxmlParts.attribute(reader, "val")) : null;
+                                if (level != null) headingLevel = level;
+                            }
+                            case "numPr" -> {
+                                if (inParagraphProperties) listItem = true;
+                            }
+                            case "t" -> inText = true;
+                            case "tab" -> {
+                                if (!inParagraphProperties) paragraph.append('\t');
+                            }
+                            case "br", "cr" -> paragraph.append('\n');
+                            case "tbl" -> tableDepth++;
+                            case "tr" -> {
+                                if (tableDepth == 1) rowCells.clear();
+                            }
+                            case "tc" -> {
+                                if (tableDepth == 1) cell = new StringBuilder();
+                            }
+                            default -> {}
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (inText) paragraph.append(reader.getText());
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "t" -> inText = false;
+                            case "pPr" -> inParagraphProperties = false;
+                            case "p" -> endParagraph();
+                            case "tc" -> {
+                                if (tableDepth == 1 && cell != null) {
+                                    rowCells.add(cell.toString().strip().replace("\n", " ").replace("|", "\\|"));
+                                    cell = null;
+                                }
+                            }
+                            case "tr" -> {
+                                if (tableDepth == 1) emit("| " + String.join(" | ", rowCells) + " |\n");
+                            }
+                            case "tbl" -> {
+                                tableDepth--;
+                                if (tableDepth == 0) emit("\n");
+                            }
+                            default -> {}
+                        }
+                    }
+                    default -> {}
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw OoxmlParts.toIOException(e, "Malformed document part in DOCX");
+        } finally {
+            OoxmlParts.close(reader);
+        }
+    }
+
+    private void endParagraph() {
+        String text = paragraph.toString();
+        paragraph.setLength(0);
+
+        // Inside a table every paragraph (including those of nested tables) joins the outer cell
+        if (tableDepth > 0) {
+            if (cell != null && !text.isBlank()) {
+                if (!cell.isEmpty()) cell.append(' ');
+                cell.append(text.strip());
+            }
+            return;
+        }
+
+        if (text.isBlank()) {
+            emit("\n");
+        } else if (headingLevel > 0) {
+            emit("#".repeat(headingLevel) + " " + text.strip() + "\n");
+        } else if (listItem) {
+            emit("- " + text + "\n");
+        } else {
+            emit(text + "\n");
+        }
+    }
+
+    private void emit(String text) {
+        if (truncated) return;
+        int room = maxChars - out.length();
+        if (text.length() > room) {
+            out.append(text, 0, Math.max(0, room));
+            truncated = true;
+        } else {
+            out.append(text);
+        }
+    }
+
+    private String result() {
+        return truncated ? out + DocumentTextExtractor.TRUNCATED_MARKER : out.toString();
+    }
+}
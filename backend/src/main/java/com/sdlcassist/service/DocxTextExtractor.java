@@ -0,0 +1,58 @@
+package com.sdlcassist.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.zip.ZipFile;
+
+/**
+ * DOCX files are read with the streaming {@link DocxStreamReader} rather than a full
+ * XWPF document, with each XML part limited to {@code app.extraction.docx.max-xml-mb}
+ * inflated bytes (a guard against zip bombs). POI is only used when the main part
+ * isn't at its conventional location.
+ */
+@Component
+@Slf4j
+public class DocxTextExtractor implements TextExtractor {
+
+    public static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    @Value("${app.extraction.max-text-chars:2000000}")
+    private int maxTextChars;
+
+    @Value("${app.extraction.docx.max-xml-mb:256}")
+    private long maxXmlMb;
+
+    @Override
+    public Set<String> mimeTypes() {
+        return Set.of(DOCX);
+    }
+
+    @Override
+    public String extract(Path file) throws IOException {
+        try (ZipFile docx = new ZipFile(file.toFile())) {
+            String text = DocxStreamReader.extract(docx, maxTextChars, maxXmlMb * 1024 * 1024);
+            if (text != null) {
+                return text;
+            }
+        }
+
+        // Main part isn't at the conventional location; let POI resolve it from the package rels
+        log.info("DOCX has no {}; falling back to POI", DocxStreamReader.DOCUMENT_PART);
+        try (InputStream in = Files.newInputStream(file);
+             XWPFDocument document = new XWPFDocument(in);
+             XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+            CappedText text = new CappedText(maxTextChars);
+            text.append(extractor.getText());
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.dto.FileResponse;
+import com.sdlcassist.model.ProjectFile;
+import com.sdlcassist.model.ProjectFile.ExtractionStatus;
+import com.sdlcassist.repository.ProjectFileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Extracts text from uploaded files in the background.
+ *
+ * Uploads only persist the raw bytes (status PENDING) and hand the file ids over once
+ * the upload transaction commits; the files of one upload are extracted concurrently.
+ * A fixed pool of {@code app.extraction.workers} threads (sized from cores and heap
+ * when unset) with a queue of {@code app.extraction.queue-capacity} does the PDFBox/POI
+ * work outside any transaction, so neither the request thread nor a pooled connection
+ * is held while a large document is parsed. Every status change is pushed to
+ * {@link FileStatusBroadcaster}.
+ *
+ * Each extraction has {@code app.extraction.timeout} to finish. When it runs over, the
+ * file is failed at once and the worker is interrupted, which the extractors honour
+ * cooperatively. A stack overflow inside an extractor fails the file, not the node; an
+ * OutOfMemoryError is not caught. Attempts are counted, so a file that keeps killing the
+ * process is failed on startup after {@code app.extraction.max-attempts} instead of
+ * being retried forever.
+ *
+ * Extracted text is stored on the shared blob, so a file whose content was already
+ * extracted for another upload goes straight to READY. Content is only extracted (and
+ * chunked) by one worker at a time: a file whose content is already being extracted
+ * waits for that run and settles the same way.
+ *
+ * Files left PENDING or EXTRACTING by a restart are picked up again on startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractionService {
+
+    private final ProjectFileRepository fileRepository;
+    private final DocumentTextExtractor textExtractor;
+    private final FileStatusBroadcaster statusBroadcaster;
+    private final BlobStore blobStore;
+    private final ChunkService chunkService;
+
+    @Value("${app.extraction.workers:0}")
+    private int workers;
+
+    @Value("${app.extraction.heap-per-document-mb:96}")
+    private long heapPerDocumentMb;
+
+    @Value("${app.extraction.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.extraction.timeout:120s}")
+    private Duration timeout;
+
+    @Value("${app.extraction.max-attempts:2}")
+    private int maxAttempts;
+
+    private final Map<UUID, CompletableFuture<Void>> inProgress = new ConcurrentHashMap<>();
+    // Content hash -> the extraction of that content running now
+    private final Map<String, CompletableFuture<Void>> extractions = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService watchdog;
+
+    @PostConstruct
+    void init() {
+        if (workers <= 0) {
+            workers = autoSizeWorkers();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "extraction-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "extraction-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Document extraction pool started with {} workers, {}s timeout", workers, timeout.toSeconds());
+    }
+
+    /**
+     * One worker per core, but never more than the heap can hold documents in flight at
+     * {@code app.extraction.heap-per-document-mb} each (half the heap is left for the rest
+     * of the app). Small containers end up with a single worker rather than OOMing.
+     */
+    private int autoSizeWorkers() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long heapBudgetMb = Runtime.getRuntime().maxMemory() / (1024 * 1024) / 2;
+        int byHeap = (int) Math.max(1, heapBudgetMb / Math.max(1, heapPerDocumentMb));
+        return Math.max(1, Math.min(cores, byHeap));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted files stay EXTRACTING and are resubmitted on the next startup
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        List<Object[]> unfinished = fileRepository.findIdsByExtractionStatusIn(ExtractionStatus.UNSETTLED);
+        if (unfinished.isEmpty()) return;
+
+        log.info("Resuming extraction for {} files", unfinished.size());
+        for (Object[] row : unfinished) {
+            UUID fileId = (UUID) row[0];
+            UUID projectId = (UUID) row[1];
+            if ((Integer) row[2] >= maxAttempts) {
+                // Every earlier attempt died with the process; don't let it take this one down too
+                log.warn("File {} was interrupted {} times during extraction; marking it failed", fileId, row[2]);
+                fail(projectId, fileId, "This file could not be processed safely. Please check it and re-upload.");
+            } else {
+                submit(projectId, fileId);
+            }
+        }
+    }
+
+    /**
+     * Schedules extraction once the current transaction commits, so workers never read
+     * a row that isn't visible yet. Without a transaction the files are submitted now.
+     */
+    public void enqueueAfterCommit(UUID projectId, Collection<UUID> fileIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fileIds.forEach(id -> submit(projectId, id));
+            return;
+        }
+
+        // Register the futures up front so an analysis arriving right after the
+        // upload response waits for these files instead of seeing them unqueued
+        fileIds.forEach(id -> inProgress.computeIfAbsent(id, k -> new CompletableFuture<>()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    fileIds.forEach(id -> submit(projectId, id));
+                } else {
+                    fileIds.forEach(id -> finish(id));
+                }
+            }
+        });
+    }
+
+    /**
+     * Blocks until every given file has settled or the timeout elapses.
+     * Returns false if any file was still being extracted when time ran out.
+     */
+    public boolean awaitExtraction(Collection<UUID> fileIds, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (UUID fileId : fileIds) {
+            CompletableFuture<Void> future = inProgress.get(fileId);
+            if (future == null) continue;
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                // Failures are recorded on the file itself
+            }
+        }
+        return true;
+    }
+
+    private void submit(UUID projectId, UUID fileId) {
+        inProgress.computeIfAbsent(fileId, k -> new CompletableFuture<>());
+        try {
+            executor.execute(() -> extract(projectId, fileId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Extraction queue full; failing file {}", fileId);
+            fail(projectId, fileId, "Too many documents are being processed. Please delete and re-upload this file.");
+        }
+    }
+
+    private void fail(UUID projectId, UUID fileId, String error) {
+        if (fileRepository.completeExtraction(fileId, ExtractionStatus.FAILED, error) > 0) {
+            fileRepository.findById(fileId).ifPresent(file -> publish(projectId, file, ExtractionStatus.FAILED, error));
+        }
+        finish(fileId);
+    }
+
+    private void extract(UUID projectId, UUID fileId) {
+        CompletableFuture<Void> extraction = null;
+        try {
+            ProjectFile file = fileRepository.findById(fileId).orElse(null);
+            if (file == null) return; // deleted before we got to it
+
+            // Same content may have been extracted for another file since this one was queued
+            if (blobStore.hasExtractedText(file.getContentHash())) {
+                if (fileRepository.completeExtraction(fileId, ExtractionStatus.READY, null) > 0) {
+                    publish(projectId, file, ExtractionStatus.READY, null);
+                }
+                return;
+            }
+
+            if (fileRepository.startExtraction(fileId) == 0) return;
+            publish(projectId, file, ExtractionStatus.EXTRACTING, null);
+
+            // Another worker may be extracting the same content for another upload
+            String hash = file.getContentHash();
+            CompletableFuture<Void> claim = new CompletableFuture<>();
+            CompletableFuture<Void> running = extractions.putIfAbsent(hash, claim);
+            if (running != null) {
+                follow(projectId, file, running);
+                return;
+            }
+            extraction = claim;
+            extraction.whenComplete((ok, e) -> extractions.remove(hash, claim));
+            // The run we just missed saves the text before it lets go of the hash
+            if (blobStore.hasExtractedText(hash)) {
+                if (fileRepository.completeExtraction(fileId, ExtractionStatus.READY, null) > 0) {
+                    publish(projectId, file, ExtractionStatus.READY, null);
+                }
+                extraction.complete(null);
+                return;
+            }
+
+            // Past the deadline the file is failed right away and the worker is interrupted;
+            // the extractors check for that between pages and XML events and give up.
+            // Whoever moves the attempt out of RUNNING first decides how it ends, and the
+            // interrupt is only sent under the attempt's lock, so the worker can wait it out
+            // before clearing it; otherwise it could land on the next file on this thread.
+            Thread worker = Thread.currentThread();
+            AtomicReference<Attempt> attempt = new AtomicReference<>(Attempt.RUNNING);
+            ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+                synchronized (attempt) {
+                    if (!attempt.compareAndSet(Attempt.RUNNING, Attempt.TIMED_OUT)) return;
+                    // Before the interrupt, so files waiting on this content see the timeout
+                    claim.completeExceptionally(new TimeoutException());
+                    worker.interrupt();
+                }
+                log.warn("Extraction of {} exceeded {}s; cancelling", file.getOriginalFilename(), timeout.toSeconds());
+                String error = "Timed out processing file: " + file.getOriginalFilename();
+                if (fileRepository.completeExtraction(fileId, ExtractionStatus.FAILED, error) > 0) {
+                    publish(projectId, file, ExtractionStatus.FAILED, error);
+                }
+                // Release waiting analyses now rather than when the worker finally stops
+                finish(fileId);
+            }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+            long start = System.currentTimeMillis();
+            try {
+                String text;
+                try (InputStream content = blobStore.openStream(file.getContentHash())) {
+                    text = textExtractor.extract(content, file.getMimeType());
+                }
+                if (!attempt.compareAndSet(Attempt.RUNNING, Attempt.DONE)) return;
+
+                blobStore.saveExtractedText(file.getContentHash(), text);
+                chunkService.storeChunks(file.getContentHash(), text);
+                if (fileRepository.completeExtraction(fileId, ExtractionStatus.READY, null) > 0) {
+                    publish(projectId, file, ExtractionStatus.READY, null);
+                }
+                claim.complete(null);
+                log.info("Extracted {} chars from {} in {}ms",
+                        text.length(), file.getOriginalFilename(), System.currentTimeMillis() - start);
+            } catch (Exception | StackOverflowError e) {
+                // A hostile document may overflow the stack, which unwinds cleanly; fail the
+                // file and keep the worker. OutOfMemoryError is left to propagate: the heap
+                // may be shared with half-finished work elsewhere, so it isn't safe to go on
+                if (!attempt.compareAndSet(Attempt.RUNNING, Attempt.DONE) && attempt.get() == Attempt.TIMED_OUT) return;
+                log.warn("Failed to extract text from {}: {}", file.getOriginalFilename(), e.toString());
+                String error = "Failed to process file: " + file.getOriginalFilename();
+                if (fileRepository.completeExtraction(fileId, ExtractionStatus.FAILED, error) > 0) {
+                    publish(projectId, file, ExtractionStatus.FAILED, error);
+                }
+                claim.completeExceptionally(e);
+            } finally {
+                deadline.cancel(false);
+                if (!attempt.compareAndSet(Attempt.RUNNING, Attempt.DONE) && attempt.get() == Attempt.TIMED_OUT) {
+                    // The watchdog won; once its lock is free the interrupt has been sent,
+                    // and it must not outlive this file on a pooled thread
+                    synchronized (attempt) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Extraction of file {} failed", fileId, e);
+        } finally {
+            // Never leave followers waiting on a run that ended some other way
+            if (extraction != null) {
+                extraction.completeExceptionally(new IllegalStateException("Extraction ended without a result"));
+            }
+            finish(fileId);
+        }
+    }
+
+    /**
+     * Waits for another worker's extraction of the same content and settles this file
+     * the same way. That run is bounded by its own watchdog, so the wait is too.
+     */
+    private void follow(UUID projectId, ProjectFile file, CompletableFuture<Void> running) {
+        log.info("Content of {} is already being extracted; waiting for it", file.getOriginalFilename());
+        String error = null;
+        try {
+            running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // Shutting down; the file stays EXTRACTING and is resumed on the next startup
+            Thread.currentThread().interrupt();
+            return;
+        } catch (TimeoutException e) {
+            error = "Timed out processing file: " + file.getOriginalFilename();
+        } catch (ExecutionException e) {
+            error = (e.getCause() instanceof TimeoutException ? "Timed out processing file: " : "Failed to process file: ")
+                    + file.getOriginalFilename();
+        }
+        ExtractionStatus status = error == null ? ExtractionStatus.READY : ExtractionStatus.FAILED;
+        if (fileRepository.completeExtraction(file.getId(), status, error) > 0) {
+            publish(projectId, file, status, error);
+        }
+    }
+
+    private enum Attempt { RUNNING, TIMED_OUT, DONE }
+
+    private void publish(UUID projectId, ProjectFile file, ExtractionStatus status, String error) {
+        file.setExtractionStatus(status);
+        file.setExtractionError(error);
+        statusBroadcaster.publish(projectId, FileResponse.from(file));
+    }
+
+    private void finish(UUID fileId) {
+        CompletableFuture<Void> future = inProgress.remove(fileId);
+        if (future != null) {
+            future.complete(null);
+        }
+    }
+}
@@ -1,26 +1,26 @@
 package com.sdlcassist.service;
 
+import com.sdlcassist.dto.ChangeStamp;
+import com.sdlcassist.dto.ProjectFileSummary;
+import com.sdlcassist.dto.ProjectFileText;
 import com.sdlcassist.model.Project;
 import com.sdlcassist.model.ProjectFile;
+import com.sdlcassist.model.ProjectFile.ExtractionStatus;
 import com.sdlcassist.model.User;
 import com.sdlcassist.repository.ProjectFileRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -31,13 +31,12 @@ public class FileService {
     private final ProjectFileRepository fileRepository;
     private final ProjectService projectService;
     private final UserService userService;
+    private final ExtractionService extractionService;
+    private final BlobStore blobStore;
+    private final DocumentTextExtractor textExtractor;
 
-    private static final Set<String> ALLOWED_TYPES = Set.of(
-            "application/pdf",
-            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
-            "text/plain",
-            "text/markdown"
-    );
+    @Value("${app.extraction.await-timeout:120s}")
+    private Duration extractionAwaitTimeout;
 
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
     private static final int MAX_FILES_PER_PROJECT = 3;
@@ -45,37 +44,104 @@ public class FileService {
     @Transactional
     public List<ProjectFile> uploadFiles(UUID projectId, MultipartFile[] files, String username) {
         Project project = projectService.findById(projectId);
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + username));
+        User user = findUser(username);
 
-        long existingCount = fileRepository.countByProjectId(projectId);
-        if (existingCount + files.length > MAX_FILES_PER_PROJECT) {
-            throw new IllegalArgumentException(
-                    "Maximum " + MAX_FILES_PER_PROJECT + " files per project. Currently have " + existingCount);
-        }
+        ensureCapacity(projectId, files.length);
+
+        // Validate the whole batch before storing anything so an upload is all-or-nothing
+        java.util.Arrays.stream(files).forEach(file -> validateUpload(
+                file.getOriginalFilename(), file.getContentType(), file.getSize(), MAX_FILE_SIZE));
 
-        return java.util.Arrays.stream(files).map(file -> {
-            validateFile(file);
-            try {
-                String extractedText = extractText(file);
-                ProjectFile projectFile = ProjectFile.builder()
-                        .project(project)
-                        .uploadedBy(user)
-                        .originalFilename(file.getOriginalFilename())
-                        .mimeType(file.getContentType())
-                        .fileSize(file.getSize())
-                        .fileData(file.getBytes())
-                        .extractedText(extractedText)
-                        .build();
-                return fileRepository.save(projectFile);
+        // Only the raw bytes are stored here; text extraction runs on the extraction pool
+        // after this transaction commits, unless the same content was extracted before
+        List<ProjectFile> saved = fileRepository.saveAll(java.util.Arrays.stream(files).map(file -> {
+            try (InputStream content = file.getInputStream()) {
+                return newFile(project, user, file.getOriginalFilename(), file.getContentType(),
+                        file.getSize(), blobStore.put(content));
             } catch (IOException e) {
                 throw new RuntimeException("Failed to process file: " + file.getOriginalFilename(), e);
             }
-        }).toList();
+        }).toList());
+
+        enqueueExtraction(projectId, saved);
+        return saved;
     }
 
-    public List<ProjectFile> getFilesByProject(UUID projectId) {
-        return fileRepository.findByProjectIdOrderByCreatedAtDesc(projectId);
+    /**
+     * Stores a file whose bytes were staged on disk by a resumable upload. The content
+     * is streamed into the blob store rather than read into memory.
+     */
+    @Transactional
+    public ProjectFile storeUpload(UUID projectId, String username, String filename, String mimeType,
+                                   long size, Path content) {
+        Project project = projectService.findById(projectId);
+        User user = findUser(username);
+        ensureCapacity(projectId, 1);
+
+        try {
+            ProjectFile saved = fileRepository.save(newFile(project, user, filename, mimeType, size, blobStore.put(content)));
+            enqueueExtraction(projectId, List.of(saved));
+            return saved;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to process file: " + filename, e);
+        }
+    }
+
+    private ProjectFile newFile(Project project, User user, String filename, String mimeType,
+                                long size, BlobStore.StoredBlob blob) {
+        return ProjectFile.builder()
+                .project(project)
+                .uploadedBy(user)
+                .originalFilename(filename)
+                .mimeType(mimeType)
+                .fileSize(size)
+                .contentHash(blob.hash())
+                .extractionStatus(blob.hasExtractedText() ? ExtractionStatus.READY : ExtractionStatus.PENDING)
+                .build();
+    }
+
+    private void enqueueExtraction(UUID projectId, List<ProjectFile> saved) {
+        List<UUID> toExtract = saved.stream()
+                .filter(f -> f.getExtractionStatus() == ExtractionStatus.PENDING)
+                .map(ProjectFile::getId)
+                .toList();
+        if (!toExtract.isEmpty()) {
+            extractionService.enqueueAfterCommit(projectId, toExtract);
+        }
+    }
+
+    private User findUser(String username) {
+        return userService.findByUsername(username)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + username));
+    }
+
+    public List<ProjectFileSummary> getFilesByProject(UUID projectId) {
+        return fileRepository.findSummariesByProjectId(projectId);
+    }
+
+    /** Version of the project's file list; upload, delete and extraction progress all move it. */
+    public ChangeStamp getFilesChangeStamp(UUID projectId) {
+        return fileRepository.findChangeStampByProjectId(projectId);
+    }
+
+    /**
+     * Name and text of files ready for analysis. Waits up to {@code app.extraction.await-timeout}
+     * for files still being extracted; files that failed extraction are left out.
+     */
+    public List<ProjectFileText> getFilesForAnalysis(UUID projectId) {
+        List<UUID> unsettled = getFilesByProject(projectId).stream()
+                .filter(f -> !f.getExtractionStatus().isSettled())
+                .map(ProjectFileSummary::getId)
+                .toList();
+
+        if (!unsettled.isEmpty()) {
+            log.info("Waiting for extraction of {} files in project {}", unsettled.size(), projectId);
+            if (!extractionService.awaitExtraction(unsettled, extractionAwaitTimeout)) {
+                throw new IllegalStateException("Documents are still being processed. Please try again shortly.");
+            }
+        }
+
+        return fileRepository.findTextsByProjectIdAndExtractionStatus(projectId, ExtractionStatus.READY);
     }
 
     public ProjectFile getFile(UUID fileId) {
@@ -83,61 +149,45 @@ public class FileService {
                 .orElseThrow(() -> new EntityNotFoundException("File not found: " + fileId));
     }
 
+    public ProjectFileSummary getFileSummary(UUID fileId) {
+        return fileRepository.findSummaryById(fileId)
+                .orElseThrow(() -> new EntityNotFoundException("File not found: " + fileId));
+    }
+
+    /** Streams {@code length} bytes of the file's content starting at {@code offset}. */
+    public InputStream openContent(ProjectFileSummary file, long offset, long length) {
+        return blobStore.openStream(file.getContentHash(), offset, length);
+    }
+
     @Transactional
     public void deleteFile(UUID fileId) {
-        if (!fileRepository.existsById(fileId)) {
-            throw new EntityNotFoundException("File not found: " + fileId);
+        ProjectFile file = getFile(fileId);
+        fileRepository.delete(file);
+        blobStore.release(file.getContentHash());
+    }
+
+    public void ensureCapacity(UUID projectId, int additional) {
+        long existingCount = fileRepository.countByProjectId(projectId);
+        if (existingCount + additional > MAX_FILES_PER_PROJECT) {
+            throw new IllegalArgumentException(
+                    "Maximum " + MAX_FILES_PER_PROJECT + " files per project. Currently have " + existingCount);
         }
-        fileRepository.deleteById(fileId);
     }
 
-    private void validateFile(MultipartFile file) {
-        if (file.isEmpty()) {
+    public void validateUpload(String filename, String contentType, long size, long maxSize) {
+        if (size <= 0) {
             throw new IllegalArgumentException("File is empty");
         }
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException("File exceeds maximum size of 10MB: " + file.getOriginalFilename());
+        if (size > maxSize) {
+            throw new IllegalArgumentException(
+                    "File exceeds maximum size of " + maxSize / (1024 * 1024) + "MB: " + filename);
         }
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_TYPES.contains(contentType)) {
+        if (!textExtractor.supports(contentType)) {
             // Also check by extension for markdown files (browsers may send different MIME types)
-            String filename = file.getOriginalFilename();
             if (filename != null && filename.toLowerCase().endsWith(".md")) {
                 return;
             }
             throw new IllegalArgumentException("Unsupported file type: " + contentType);
         }
     }
-
-    private String extractText(MultipartFile file) throws IOException {
-        String contentType = file.getContentType();
-        String filename = file.getOriginalFilename();
-
-        if ("application/pdf".equals(contentType)) {
-            return extractFromPdf(file.getInputStream());
-        } else if ("application/vnd.openxmlformats-officedocument.wordprocessingml.document".equals(contentType)) {
-            return extractFromDocx(file.getInputStream());
-        } else {
-            // TXT, MD, or any text-based file
-            return extractFromText(file.getInputStream());
-        }
-    }
-
-    private String extractFromPdf(InputStream inputStream) throws IOException {
-        try (PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
-    }
-
-    private String extractFromDocx(InputStream inputStream) throws IOException {
-        try (XWPFDocument document = new XWPFDocument(inputStream);
-             XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
-            return extractor.getText();
-        }
-    }
-
-    private String extractFromText(InputStream inputStream) throws IOException {
-        return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-    }
 }
@@ -0,0 +1,63 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.dto.FileResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans out file extraction status changes to the SSE subscribers of each project.
+ */
+@Component
+@Slf4j
+public class FileStatusBroadcaster {
+
+    private static final long SUBSCRIPTION_TIMEOUT_MS = 600_000L;
+
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(UUID projectId, List<FileResponse> currentFiles) {
+        SseEmitter emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT_MS);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet());
+        emitters.add(emitter);
+
+        Runnable remove = () -> {
+            emitters.remove(emitter);
+            subscribers.computeIfPresent(projectId, (id, set) -> set.isEmpty() ? null : set);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(ex -> remove.run());
+
+        // Replay current state so late subscribers don't miss a transition
+        currentFiles.forEach(file -> send(emitter, file));
+        return emitter;
+    }
+
+    public void publish(UUID projectId, FileResponse file) {
+        Set<SseEmitter> emitters = subscribers.get(projectId);
+        if (emitters == null) return;
+        emitters.forEach(emitter -> {
+            if (!send(emitter, file)) {
+                emitters.remove(emitter);
+            }
+        });
+    }
+
+    private boolean send(SseEmitter emitter, FileResponse file) {
+        try {
+            emitter.send(SseEmitter.event().name("file-status").data(file, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (Exception e) {
+            log.debug("Dropping file status subscriber: {}", e.getMessage());
+            return false;
+        }
+    }
+}
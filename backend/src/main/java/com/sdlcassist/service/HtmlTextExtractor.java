@@ -0,0 +1,258 @@
+package com.sdlcassist.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Converts HTML to text in a single streaming pass, without building a DOM.
+ *
+ * Block elements become line breaks, {@code h1}-{@code h6} become markdown headings,
+ * list items get a {@code - } bullet and table cells are separated by {@code |}.
+ * Script, style and similar elements are skipped along with comments, whitespace is
+ * collapsed outside {@code pre}, and entities are decoded. Only the current tag and
+ * text run are buffered (each bounded), so memory stays flat for any page size.
+ * Input is read as UTF-8.
+ */
+@Component
+public class HtmlTextExtractor implements TextExtractor {
+
+    private static final int MAX_TAG_CHARS = 4096;
+    private static final int MAX_RUN_CHARS = 8192;
+
+    // Not "head": its end tag is optional, so skipping to it could swallow the whole page
+    private static final Set<String> SKIPPED = Set.of("script", "style", "noscript", "template", "svg");
+    private static final Set<String> BLOCKS = Set.of(
+            "p", "div", "section", "article", "header", "footer", "main", "nav", "aside", "blockquote",
+            "pre", "table", "thead", "tbody", "tfoot", "ul", "ol", "dl", "dt", "dd", "figure", "figcaption",
+            "form", "fieldset", "address", "details", "summary", "hr", "br", "title", "caption");
+
+    @Value("${app.extraction.max-text-chars:2000000}")
+    private int maxTextChars;
+
+    @Override
+    public Set<String> mimeTypes() {
+        return Set.of("text/html", "application/xhtml+xml");
+    }
+
+    @Override
+    public String extract(Path file) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            return new Converter(reader, new CappedText(maxTextChars)).run();
+        }
+    }
+
+    private static final class Converter {
+
+        private final Reader in;
+        private final CappedText out;
+        private final StringBuilder run = new StringBuilder();
+        private final StringBuilder tag = new StringBuilder();
+        private int preDepth;
+        private int cellsInRow;
+        private char last = '\n';
+        private int newlines = 2;
+        private long reads;
+
+        private Converter(Reader in, CappedText out) {
+            this.in = in;
+            this.out = out;
+        }
+
+        String run() throws IOException {
+            int c;
+            while ((c = read()) != -1 && !out.isFull()) {
+                if (c == '<') {
+                    flushRun();
+                    readTag();
+                } else {
+                    run.append((char) c);
+                    if (run.length() >= MAX_RUN_CHARS && Character.isWhitespace(c)) {
+                        flushRun();
+                    }
+                }
+            }
+            flushRun();
+            return out.toString();
+        }
+
+        private int read() throws IOException {
+            if ((++reads & 0xFFFF) == 0) DocumentTextExtractor.checkCancelled();
+            return in.read();
+        }
+
+        // ---------------------------------------------------------------------
+        // Tags
+        // ---------------------------------------------------------------------
+        private void readTag() throws IOException {
+            tag.setLength(0);
+            int c = read();
+            if (c == '!') {
+                readDeclarationOrComment();
+                return;
+            }
+            char quote = 0;
+            while (c != -1) {
+                if (quote != 0) {
+                    if (c == quote) quote = 0;
+                } else if (c == '"' || c == '\'') {
+                    quote = (char) c;
+                } else if (c == '>') {
+                    break;
+                }
+                if (tag.length() < MAX_TAG_CHARS) tag.append((char) c);
+                c = read();
+            }
+            handleTag();
+        }
+
+        private void readDeclarationOrComment() throws IOException {
+            int first = read();
+            int second = first == '-' ? read() : -1;
+            if (first == '-' && second == '-') {
+                // Comment: skip to "-->"
+                int dashes = 0;
+                int c;
+                while ((c = read()) != -1) {
+                    if (c == '>' && dashes >= 2) return;
+                    dashes = c == '-' ? dashes + 1 : 0;
+                }
+                return;
+            }
+            // DOCTYPE, CDATA or other declaration: skip to '>'
+            int c = second != -1 ? second : first;
+            while (c != -1 && c != '>') {
+                c = read();
+            }
+        }
+
+        private void handleTag() throws IOException {
+            boolean closing = tag.length() > 0 && tag.charAt(0) == '/';
+            int start = closing ? 1 : 0;
+            int end = start;
+            while (end < tag.length() && (Character.isLetterOrDigit(tag.charAt(end)) || tag.charAt(end) == '-')) {
+                end++;
+            }
+            if (end == start) return; // "<" that isn't a tag, or a processing instruction
+            String name = tag.substring(start, end).toLowerCase(Locale.ROOT);
+            boolean selfClosing = tag.length() > 0 && tag.charAt(tag.length() - 1) == '/';
+
+            if (!closing && !selfClosing && SKIPPED.contains(name)) {
+                skipElement(name);
+                return;
+            }
+
+            if (name.length() == 2 && name.charAt(0) == 'h' && name.charAt(1) >= '1' && name.charAt(1) <= '6') {
+                paragraphBreak();
+                if (!closing) emit("#".repeat(name.charAt(1) - '0') + " ");
+                return;
+            }
+
+            switch (name) {
+                case "li" -> {
+                    if (!closing) {
+                        lineBreak();
+                        emit("- ");
+                    }
+                }
+                case "tr" -> {
+                    endRow();
+                    lineBreak();
+                }
+                case "td", "th" -> {
+                    if (!closing) emit(cellsInRow++ == 0 ? "| " : " | ");
+                }
+                case "pre" -> {
+                    paragraphBreak();
+                    preDepth = Math.max(0, preDepth + (closing ? -1 : 1));
+                }
+                case "table" -> {
+                    endRow();
+                    paragraphBreak();
+                }
+                case "p", "blockquote", "ul", "ol" -> paragraphBreak();
+                default -> {
+                    if (BLOCKS.contains(name)) lineBreak();
+                }
+            }
+        }
+
+        /** Closes a row left open by an omitted {@code </tr>}, or the one just ended. */
+        private void endRow() {
+            if (cellsInRow > 0) emit(" |");
+            cellsInRow = 0;
+        }
+
+        /** Skips everything up to the matching close tag, e.g. the body of a script. */
+        private void skipElement(String name) throws IOException {
+            String close = "</" + name;
+            int matched = 0;
+            int c;
+            while ((c = read()) != -1) {
+                if (matched == close.length()) {
+                    if (c == '>') return;
+                    if (!Character.isWhitespace(c)) matched = 0;
+                    continue;
+                }
+                matched = Character.toLowerCase(c) == close.charAt(matched) ? matched + 1 : (c == '<' ? 1 : 0);
+            }
+        }
+
+        // ---------------------------------------------------------------------
+        // Text
+        // ---------------------------------------------------------------------
+        private void flushRun() {
+            if (run.isEmpty()) return;
+            String text = HtmlUtils.htmlUnescape(run.toString());
+            run.setLength(0);
+
+            if (preDepth > 0) {
+                emit(text);
+                return;
+            }
+            StringBuilder collapsed = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (Character.isWhitespace(ch) || ch == '\u00A0') {
+                    boolean afterSpace = collapsed.isEmpty()
+                            ? last == ' ' || last == '\n'
+                            : collapsed.charAt(collapsed.length() - 1) == ' ';
+                    if (!afterSpace) collapsed.append(' ');
+                } else {
+                    collapsed.append(ch);
+                }
+            }
+            emit(collapsed);
+        }
+
+        private void emit(CharSequence text) {
+            if (text.isEmpty()) return;
+            out.append(text);
+            last = text.charAt(text.length() - 1);
+            int trailing = 0;
+            for (int i = text.length() - 1; i >= 0 && text.charAt(i) == '\n'; i--) {
+                trailing++;
+            }
+            newlines = trailing == text.length() ? newlines + trailing : trailing;
+        }
+
+        private void lineBreak() {
+            if (newlines == 0) emit("\n");
+        }
+
+        private void paragraphBreak() {
+            if (newlines == 0) emit("\n\n");
+            else if (newlines == 1) emit("\n");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Request bodies written by a {@link JsonGenerator} straight into fixed-size chunks, which
+ * are then handed to the HTTP client as they are.
+ *
+ * {@code BodyPublishers.ofString(mapper.writeValueAsString(body))} holds the body as a
+ * rendered String, Jackson's copy of it, and the encoded byte[] that the publisher copies
+ * once more into its own buffers. Here the UTF-8 bytes are produced once, in
+ * {@value #CHUNK_SIZE}-byte chunks that are never merged or copied, and the exact length is
+ * still known up front so the request is not sent chunked. The chunks are read-only, so the
+ * client can resubscribe (on a redirect or retry) and get the same body.
+ */
+final class JsonBodyPublisher {
+
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    @FunctionalInterface
+    interface BodyWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private JsonBodyPublisher() {}
+
+    static HttpRequest.BodyPublisher of(ObjectMapper objectMapper, BodyWriter writer) throws IOException {
+        ChunkedOutputStream out = new ChunkedOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writer.write(generator);
+        }
+        return HttpRequest.BodyPublishers.fromPublisher(new Chunks(out.chunks, out.size), out.size);
+    }
+
+    /** Body of a {@code :streamQuery} call, with the message streamed from its segments. */
+    static HttpRequest.BodyPublisher streamQuery(ObjectMapper objectMapper, String sessionId, String userId,
+                                                 PromptMessage message) throws IOException {
+        return of(objectMapper, generator -> {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("input");
+            generator.writeStringField("session_id", sessionId);
+            generator.writeStringField("user_id", userId);
+            generator.writeFieldName("message");
+            message.writeTo(generator);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // Chunk buffer
+    // -------------------------------------------------------------------------
+    private static final class ChunkedOutputStream extends OutputStream {
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current;
+        private int position = CHUNK_SIZE;
+        private long size;
+
+        @Override
+        public void write(int b) {
+            if (position == CHUNK_SIZE) nextChunk();
+            current[position++] = (byte) b;
+            size++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (position == CHUNK_SIZE) nextChunk();
+                int count = Math.min(length, CHUNK_SIZE - position);
+                System.arraycopy(bytes, offset, current, position, count);
+                position += count;
+                offset += count;
+                length -= count;
+                size += count;
+            }
+        }
+
+        private void nextChunk() {
+            current = new byte[CHUNK_SIZE];
+            chunks.add(current);
+            position = 0;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Flow.Publisher over the chunks
+    // -------------------------------------------------------------------------
+    private record Chunks(List<byte[]> chunks, long size) implements Flow.Publisher<ByteBuffer> {
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription(subscriber));
+        }
+
+        ByteBuffer chunk(int index) {
+            int length = index < chunks.size() - 1
+                    ? CHUNK_SIZE
+                    : (int) (size - (long) CHUNK_SIZE * index);
+            return ByteBuffer.wrap(chunks.get(index), 0, length).asReadOnlyBuffer();
+        }
+
+        private final class Subscription implements Flow.Subscription {
+            private final Flow.Subscriber<? super ByteBuffer> subscriber;
+            private long demand;
+            private int next;
+            private boolean draining;
+            private boolean done;
+
+            private Subscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            @Override
+            public void request(long n) {
+                synchronized (this) {
+                    if (done) return;
+                    if (n <= 0) {
+                        done = true;
+                    } else {
+                        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                        // A subscriber requesting more from inside onNext is served by the loop below
+                        if (draining) return;
+                        draining = true;
+                    }
+                }
+                if (n <= 0) {
+                    subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                    return;
+                }
+                while (true) {
+                    ByteBuffer item;
+                    synchronized (this) {
+                        if (done) return;
+                        if (next == chunks.size()) {
+                            done = true;
+                            break;
+                        }
+                        if (demand == 0) {
+                            draining = false;
+                            return;
+                        }
+                        demand--;
+                        item = chunk(next++);
+                    }
+                    subscriber.onNext(item);
+                }
+                subscriber.onComplete();
+            }
+
+            @Override
+            public synchronized void cancel() {
+                done = true;
+            }
+        }
+    }
+}
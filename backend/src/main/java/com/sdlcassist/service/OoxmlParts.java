@@ -0,0 +1,134 @@
+package com.sdlcassist.service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Shared plumbing for the readers of OOXML packages (DOCX, PPTX, XLSX): a hardened input
+ * factory (no DTDs or external entities), part streams that refuse to inflate past
+ * a size limit, so a decompression bomb fails instead of filling the disk or heap, and
+ * relationship lookup over those streams.
+ */
+final class OoxmlParts {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private OoxmlParts() {}
+
+    /** Opens a part, failing once more than {@code maxBytes} inflated bytes have been read. */
+    static InputStream open(ZipFile zip, ZipEntry part, long maxBytes) throws IOException {
+        return new LimitedInputStream(zip.getInputStream(part), maxBytes, part.getName());
+    }
+
+    static XMLStreamReader newReader(InputStream in) throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLStreamReader(in);
+    }
+
+    /** Element and attribute names are matched on their local part, ignoring namespaces. */
+    static String attribute(XMLStreamReader reader, String localName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (localName.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    static void close(XMLStreamReader reader) {
+        if (reader == null) return;
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {}
+    }
+
+    /** Surfaces an I/O failure (e.g. the size limit) wrapped by the parser as itself. */
+    static IOException toIOException(XMLStreamException e, String message) {
+        if (e.getNestedException() instanceof IOException io) return io;
+        return new IOException(message, e);
+    }
+
+    record Relationship(String id, String type, String target) {}
+
+    /** Internal relationships of {@code partName}, with targets resolved to part names. */
+    static List<Relationship> relationships(ZipFile zip, String partName, long maxBytes) throws IOException {
+        int slash = partName.lastIndexOf('/');
+        String relsName = partName.substring(0, slash + 1) + "_rels/" + partName.substring(slash + 1) + ".rels";
+        ZipEntry rels = zip.getEntry(relsName);
+        List<Relationship> relationships = new ArrayList<>();
+        if (rels == null) return relationships;
+
+        XMLStreamReader reader = null;
+        try (InputStream in = open(zip, rels, maxBytes)) {
+            reader = newReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(reader.getLocalName())) {
+                    String target = attribute(reader, "Target");
+                    if (target == null || "External".equals(attribute(reader, "TargetMode"))) continue;
+                    relationships.add(new Relationship(attribute(reader, "Id"), attribute(reader, "Type"),
+                            resolve(partName, target)));
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw toIOException(e, "Malformed relationships part " + relsName);
+        } finally {
+            close(reader);
+        }
+        return relationships;
+    }
+
+    private static String resolve(String sourcePart, String target) {
+        String resolved = URI.create("/" + sourcePart).resolve(target).normalize().getPath();
+        return resolved.startsWith("/") ? resolved.substring(1) : resolved;
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final String name;
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit, String name) {
+            super(in);
+            this.remaining = limit;
+            this.name = name;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) consume(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) consume(n);
+            return n;
+        }
+
+        private void consume(long n) throws IOException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new IOException("Package part " + name + " exceeds the size limit; refusing to inflate further");
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,88 @@
+package com.sdlcassist.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * PDFs are read through {@link RandomAccessReadBufferedFile}, with PDFBox's stream cache
+ * limited to {@code app.extraction.pdf.max-main-memory-mb} of heap before it spills to
+ * scratch files. Text is stripped in page ranges and stops once
+ * {@code app.extraction.max-text-chars} have been produced or
+ * {@code app.extraction.max-pages} pages have been read. Each page ends with a form feed
+ * ({@link DocumentTextExtractor#PAGE_BREAK}) so {@link TextChunker} can record page ranges.
+ */
+@Component
+@Slf4j
+public class PdfTextExtractor implements TextExtractor {
+
+    public static final String PDF = "application/pdf";
+
+    @Value("${app.extraction.pdf.max-main-memory-mb:16}")
+    private long pdfMaxMainMemoryMb;
+
+    @Value("${app.extraction.pdf.pages-per-batch:20}")
+    private int pdfPagesPerBatch;
+
+    @Value("${app.extraction.max-text-chars:2000000}")
+    private int maxTextChars;
+
+    @Value("${app.extraction.max-pages:2000}")
+    private int maxPages;
+
+    @Override
+    public Set<String> mimeTypes() {
+        return Set.of(PDF);
+    }
+
+    @Override
+    public String extract(Path file) throws IOException {
+        MemoryUsageSetting memory = MemoryUsageSetting.setupMixed(pdfMaxMainMemoryMb * 1024 * 1024);
+
+        try (RandomAccessReadBufferedFile source = new RandomAccessReadBufferedFile(file.toFile());
+             PDDocument document = Loader.loadPDF(source, memory.streamCache)) {
+            int totalPages = document.getNumberOfPages();
+            int pageCount = Math.min(totalPages, maxPages);
+            int batch = Math.max(1, pdfPagesPerBatch);
+            StringWriter output = new StringWriter();
+            PDFTextStripper stripper = new PDFTextStripper() {
+                @Override
+                protected void startPage(PDPage page) throws IOException {
+                    DocumentTextExtractor.checkCancelled();
+                    super.startPage(page);
+                }
+            };
+            stripper.setPageEnd(System.lineSeparator() + DocumentTextExtractor.PAGE_BREAK);
+
+            for (int start = 1; start <= pageCount; start += batch) {
+                stripper.setStartPage(start);
+                stripper.setEndPage(Math.min(pageCount, start + batch - 1));
+                stripper.writeText(document, output);
+
+                if (output.getBuffer().length() >= maxTextChars) {
+                    log.info("PDF text capped at {} chars after page {} of {}",
+                            maxTextChars, stripper.getEndPage(), pageCount);
+                    StringBuffer text = output.getBuffer();
+                    text.setLength(maxTextChars);
+                    return text.append(DocumentTextExtractor.TRUNCATED_MARKER).toString();
+                }
+            }
+            if (pageCount < totalPages) {
+                log.info("PDF text limited to the first {} of {} pages", pageCount, totalPages);
+                return output.append(DocumentTextExtractor.TRUNCATED_MARKER).toString();
+            }
+            return output.toString();
+        }
+    }
+}
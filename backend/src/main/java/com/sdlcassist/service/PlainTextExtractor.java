@@ -0,0 +1,44 @@
+package com.sdlcassist.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Plain text and markdown, decoded as UTF-8 a buffer at a time. Also the fallback for
+ * any type without a registered extractor.
+ */
+@Component
+public class PlainTextExtractor implements TextExtractor {
+
+    @Value("${app.extraction.max-text-chars:2000000}")
+    private int maxTextChars;
+
+    @Override
+    public Set<String> mimeTypes() {
+        return Set.of("text/plain", "text/markdown");
+    }
+
+    @Override
+    public String extract(Path file) throws IOException {
+        CappedText text = new CappedText(maxTextChars);
+        // InputStreamReader replaces malformed bytes instead of failing the whole file
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                DocumentTextExtractor.checkCancelled();
+                if (!text.append(CharBuffer.wrap(buffer, 0, read))) break;
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,215 @@
+package com.sdlcassist.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams slide text out of a .pptx without building POI's XSLF object model.
+ *
+ * Slide order comes from {@code ppt/presentation.xml} and its relationships; each slide
+ * (and its speaker notes, if any) is then walked with StAX one part at a time, so memory
+ * stays flat however many slides the deck has. Every slide becomes a
+ * {@code # Slide N: <title>} heading followed by its text paragraphs and a
+ * {@code Notes:} block, which gives {@link TextChunker} one section per slide.
+ */
+@Component
+public class PptxTextExtractor implements TextExtractor {
+
+    public static final String PPTX = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+
+    private static final String PRESENTATION_PART = "ppt/presentation.xml";
+    private static final String NOTES_RELATIONSHIP = "/notesSlide";
+
+    @Value("${app.extraction.max-text-chars:2000000}")
+    private int maxTextChars;
+
+    @Value("${app.extraction.docx.max-xml-mb:256}")
+    private long maxXmlMb;
+
+    @Override
+    public Set<String> mimeTypes() {
+        return Set.of(PPTX);
+    }
+
+    @Override
+    public String extract(Path file) throws IOException {
+        long maxPartBytes = maxXmlMb * 1024 * 1024;
+        CappedText text = new CappedText(maxTextChars);
+
+        try (ZipFile pptx = new ZipFile(file.toFile())) {
+            List<String> slides = slideParts(pptx, maxPartBytes);
+            for (int i = 0; i < slides.size() && !text.isFull(); i++) {
+                String slidePart = slides.get(i);
+                SlideText slide = readSlide(pptx, slidePart, maxPartBytes, false);
+                if (slide == null) continue;
+
+                text.append("# Slide " + (i + 1) + (slide.title.isEmpty() ? "" : ": " + slide.title) + "\n\n");
+                for (String paragraph : slide.body) {
+                    text.append(paragraph + "\n");
+                }
+
+                String notesPart = relationshipTargets(pptx, slidePart, maxPartBytes).entrySet().stream()
+                        .filter(rel -> rel.getKey().endsWith(NOTES_RELATIONSHIP))
+                        .map(Map.Entry::getValue)
+                        .findFirst()
+                        .orElse(null);
+                SlideText notes = notesPart != null ? readSlide(pptx, notesPart, maxPartBytes, true) : null;
+                if (notes != null && !notes.body.isEmpty()) {
+                    text.append("\nNotes:\n");
+                    for (String paragraph : notes.body) {
+                        text.append(paragraph + "\n");
+                    }
+                }
+                text.append("\n");
+            }
+        }
+        return text.toString();
+    }
+
+    // -------------------------------------------------------------------------
+    // Slide order: presentation.xml sldIdLst -> relationship ids -> part names
+    // -------------------------------------------------------------------------
+    private List<String> slideParts(ZipFile pptx, long maxPartBytes) throws IOException {
+        ZipEntry presentation = pptx.getEntry(PRESENTATION_PART);
+        if (presentation == null) {
+            throw new IOException("Not a presentation: missing " + PRESENTATION_PART);
+        }
+
+        List<String> relationshipIds = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try (InputStream in = OoxmlParts.open(pptx, presentation, maxPartBytes)) {
+            reader = OoxmlParts.newReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "sldId".equals(reader.getLocalName())) {
+                    // sldId has its own numeric "id"; the relationship id is the namespaced r:id
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        String namespace = reader.getAttributeNamespace(i);
+                        if ("id".equals(reader.getAttributeLocalName(i)) && namespace != null && !namespace.isEmpty()) {
+                            relationshipIds.add(reader.getAttributeValue(i));
+                        }
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw OoxmlParts.toIOException(e, "Malformed presentation part in PPTX");
+        } finally {
+            OoxmlParts.close(reader);
+        }
+
+        Map<String, String> targetsById = relationshipTargetsById(pptx, PRESENTATION_PART, maxPartBytes);
+        List<String> slides = new ArrayList<>();
+        for (String id : relationshipIds) {
+            String target = targetsById.get(id);
+            if (target != null) slides.add(target);
+        }
+        return slides;
+    }
+
+    /** Relationship type -> resolved part name for the given part. */
+    private Map<String, String> relationshipTargets(ZipFile pptx, String partName, long maxPartBytes) throws IOException {
+        Map<String, String> byType = new HashMap<>();
+        for (OoxmlParts.Relationship rel : OoxmlParts.relationships(pptx, partName, maxPartBytes)) {
+            if (rel.type() != null) byType.putIfAbsent(rel.type(), rel.target());
+        }
+        return byType;
+    }
+
+    private Map<String, String> relationshipTargetsById(ZipFile pptx, String partName, long maxPartBytes) throws IOException {
+        Map<String, String> byId = new HashMap<>();
+        for (OoxmlParts.Relationship rel : OoxmlParts.relationships(pptx, partName, maxPartBytes)) {
+            byId.put(rel.id(), rel.target());
+        }
+        return byId;
+    }
+
+    // -------------------------------------------------------------------------
+    // Slide and notes parts
+    // -------------------------------------------------------------------------
+    private record SlideText(String title, List<String> body) {}
+
+    /** Placeholders whose text is slide furniture rather than content. */
+    private static final Set<String> SKIPPED_PLACEHOLDERS = Set.of("sldNum", "dt", "ftr", "hdr", "sldImg");
+
+    /**
+     * Reads the paragraphs of a slide, or of a notes page when {@code notes} is set (where
+     * only the body placeholder holds the speaker's notes).
+     */
+    private SlideText readSlide(ZipFile pptx, String partName, long maxPartBytes, boolean notes) throws IOException {
+        ZipEntry part = pptx.getEntry(partName);
+        if (part == null) return null;
+
+        StringBuilder title = new StringBuilder();
+        List<String> body = new ArrayList<>();
+        StringBuilder paragraph = new StringBuilder();
+        boolean inText = false;
+        String placeholder = null;
+        int events = 0;
+
+        XMLStreamReader reader = null;
+        try (InputStream in = OoxmlParts.open(pptx, part, maxPartBytes)) {
+            reader = OoxmlParts.newReader(in);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if ((++events & 0xFFF) == 0) DocumentTextExtractor.checkCancelled();
+
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "sp", "graphicFrame" -> placeholder = null;
+                            case "ph" -> {
+                                String type = OoxmlParts.attribute(reader, "type");
+                                placeholder = type != null ? type : "obj";
+                            }
+                            case "p" -> paragraph.setLength(0);
+                            case "t" -> inText = true;
+                            case "br" -> paragraph.append(' ');
+                            default -> {}
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (inText) paragraph.append(reader.getText());
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "t" -> inText = false;
+                            case "sp", "graphicFrame" -> placeholder = null;
+                            case "p" -> {
+                                String line = paragraph.toString().strip();
+                                if (line.isEmpty() || SKIPPED_PLACEHOLDERS.contains(placeholder)) break;
+                                if (notes) {
+                                    if ("body".equals(placeholder)) body.add(line);
+                                } else if ("title".equals(placeholder) || "ctrTitle".equals(placeholder)) {
+                                    if (!title.isEmpty()) title.append(' ');
+                                    title.append(line);
+                                } else {
+                                    body.add(line);
+                                }
+                            }
+                            default -> {}
+                        }
+                    }
+                    default -> {}
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw OoxmlParts.toIOException(e, "Malformed slide part in PPTX");
+        } finally {
+            OoxmlParts.close(reader);
+        }
+        return new SlideText(title.toString(), body);
+    }
+}
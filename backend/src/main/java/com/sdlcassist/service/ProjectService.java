@@ -1,17 +1,30 @@
 package com.sdlcassist.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdlcassist.config.CacheConfig;
+import com.sdlcassist.dto.ArtifactVersion;
+import com.sdlcassist.dto.ChangeStamp;
 import com.sdlcassist.dto.ProjectRequest;
+import com.sdlcassist.dto.ProjectSummary;
+import com.sdlcassist.dto.ProjectSummaryPage;
 import com.sdlcassist.dto.TechPreferencesRequest;
 import com.sdlcassist.model.Project;
+import com.sdlcassist.model.ProjectArtifact;
 import com.sdlcassist.model.User;
+import com.sdlcassist.repository.ProjectArtifactRepository;
+import com.sdlcassist.repository.ProjectFileRepository;
 import com.sdlcassist.repository.ProjectRepository;
 import com.sdlcassist.repository.ProjectScreenRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
@@ -19,34 +32,161 @@ import org.springframework.web.server.ResponseStatusException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProjectService {
 
+    static final int DEFAULT_SUMMARY_LIMIT = 25;
+    static final int MAX_SUMMARY_LIMIT = 100;
+
+    private enum SummarySort { UPDATED, CREATED, NAME }
+
     private final ProjectRepository projectRepository;
+    private final ProjectArtifactRepository artifactRepository;
     private final ProjectScreenRepository screenRepository;
+    private final ProjectFileRepository fileRepository;
     private final ObjectMapper objectMapper;
+    private final BlobStore blobStore;
+    private final ArtifactHistoryService historyService;
 
     @Transactional(readOnly = true)
     public List<Project> findAll() {
         return projectRepository.findAllByOrderByUpdatedAtDesc();
     }
 
+    // -------------------------------------------------------------------------
+    // Dashboard summaries with keyset pagination
+    // -------------------------------------------------------------------------
+    /**
+     * One page of project summaries. {@code cursor} is the {@code nextCursor} of the
+     * previous page; it encodes the last row's sort key and id, so paging stays stable
+     * while projects are created or edited and never scans skipped rows.
+     */
+    @Transactional(readOnly = true)
+    public ProjectSummaryPage findSummaries(String sort, Integer limit, String cursor) {
+        SummarySort order = parseSort(sort);
+        int pageSize = limit == null ? DEFAULT_SUMMARY_LIMIT : Math.max(1, Math.min(MAX_SUMMARY_LIMIT, limit));
+        String[] after = decodeCursor(cursor);
+        String afterKey = after != null ? after[0] : null;
+        UUID afterId = after != null ? UUID.fromString(after[1]) : null;
+
+        // One extra row tells us whether there is a next page
+        List<ProjectSummary> rows;
+        try {
+            rows = switch (order) {
+                case UPDATED -> projectRepository.findSummariesByUpdatedAt(
+                        afterKey != null ? Instant.parse(afterKey) : null, afterId, pageSize + 1);
+                case CREATED -> projectRepository.findSummariesByCreatedAt(
+                        afterKey != null ? Instant.parse(afterKey) : null, afterId, pageSize + 1);
+                case NAME -> projectRepository.findSummariesByName(afterKey, afterId, pageSize + 1);
+            };
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor for sort " + order.name().toLowerCase(Locale.ROOT));
+        }
+
+        boolean more = rows.size() > pageSize;
+        List<ProjectSummary> page = more ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (more) {
+            ProjectSummary last = page.get(page.size() - 1);
+            String key = switch (order) {
+                case UPDATED -> last.getUpdatedAt().toString();
+                case CREATED -> last.getCreatedAt().toString();
+                case NAME -> last.getName();
+            };
+            nextCursor = encodeCursor(key, last.getId());
+        }
+
+        return ProjectSummaryPage.builder()
+                .sort(order.name().toLowerCase(Locale.ROOT))
+                .limit(pageSize)
+                .items(page.stream().map(ProjectSummaryPage.Item::from).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static SummarySort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) return SummarySort.UPDATED;
+        try {
+            return SummarySort.valueOf(sort.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort '" + sort + "'; expected updated, created or name");
+        }
+    }
+
+    /** The cursor is base64url("sortKey|id"); the id is a UUID, so the last '|' splits it. */
+    static String encodeCursor(String key, UUID id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8);
+            int split = decoded.lastIndexOf('|');
+            if (split < 0) throw new IllegalArgumentException("missing separator");
+            String id = decoded.substring(split + 1);
+            UUID.fromString(id);
+            return new String[] { decoded.substring(0, split), id };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<Project> findByOwner(UUID ownerId) {
         return projectRepository.findByOwnerIdOrderByUpdatedAtDesc(ownerId);
     }
 
+    /**
+     * Project metadata only, with the owner loaded. Served from the {@code projects} cache,
+     * so the instance may be detached and shared: use it to read or reference the project,
+     * never to touch its artifacts or to modify and save it.
+     */
+    @Cacheable(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional(readOnly = true)
     public Project findById(UUID id) {
         return projectRepository.findByIdWithOwner(id)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found: " + id));
     }
 
+    /** Project with all its artifacts, for full responses and for callers outside a transaction. */
+    @Transactional(readOnly = true)
+    public Project findByIdWithArtifacts(UUID id) {
+        return projectRepository.findByIdWithArtifacts(id)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + id));
+    }
+
+    /** When the project or any of its artifacts last changed. */
+    @Transactional(readOnly = true)
+    public Instant findUpdatedAt(UUID id) {
+        return projectRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + id));
+    }
+
+    /** An artifact's version and hash without its content, or null if it doesn't exist. */
+    @Transactional(readOnly = true)
+    public ArtifactVersion findArtifactVersion(UUID projectId, ProjectArtifact.Type type) {
+        return artifactRepository.findVersionByProjectIdAndType(projectId, type).orElse(null);
+    }
+
+    /** A single artifact's content, without loading the project or its other artifacts. */
+    @Transactional(readOnly = true)
+    public String findArtifactContent(UUID projectId, ProjectArtifact.Type type) {
+        return artifactRepository.findByProjectIdAndType(projectId, type)
+                .map(ProjectArtifact::getContent)
+                .orElse(null);
+    }
+
     @Transactional
     public Project create(ProjectRequest request, User owner) {
         Project project = Project.builder()
@@ -58,39 +198,48 @@ public class ProjectService {
         return projectRepository.save(project);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional
-    public Project update(UUID id, ProjectRequest request) {
-        Project project = findById(id);
+    public Project update(UUID id, ProjectRequest request, List<Instant> ifMatch) {
+        checkIfMatch(id, ifMatch);
+        Project project = findForMetadataWrite(id);
         project.setName(request.getName());
         project.setDescription(request.getDescription());
-        return projectRepository.save(project);
+        projectRepository.save(project);
+        return findByIdWithArtifacts(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional
-    public Project savePrd(UUID id, String content) {
-        Project project = findById(id);
-        project.setPrdContent(content);
-        return projectRepository.save(project);
+    public Project savePrd(UUID id, String content, Long expectedVersion, List<Instant> ifMatch) {
+        checkIfMatch(id, ifMatch);
+        writeArtifact(id, ProjectArtifact.Type.PRD, content, expectedVersion);
+        return findByIdWithArtifacts(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional
-    public Project saveDesignSystem(UUID id, String content) {
-        Project project = findById(id);
-        project.setDesignSystemContent(content);
-        project.setDesignSystemUpdatedAt(Instant.now());
-        return projectRepository.save(project);
+    public Project saveDesignSystem(UUID id, String content, Long expectedVersion, List<Instant> ifMatch) {
+        checkIfMatch(id, ifMatch);
+        writeArtifact(id, ProjectArtifact.Type.DESIGN_SYSTEM, content, expectedVersion);
+        return findByIdWithArtifacts(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional
-    public Project selectTemplate(UUID id, String templateId) {
-        Project project = findById(id);
+    public Project selectTemplate(UUID id, String templateId, List<Instant> ifMatch) {
+        checkIfMatch(id, ifMatch);
+        Project project = findForMetadataWrite(id);
         project.setSelectedTemplateId(templateId);
-        return projectRepository.save(project);
+        projectRepository.save(project);
+        return findByIdWithArtifacts(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project completePhase(UUID projectId, String phase) {
-        Project project = findById(projectId);
+    public Project completePhase(UUID projectId, String phase, List<Instant> ifMatch) {
+        checkIfMatch(projectId, ifMatch);
+        Project project = findForMetadataWrite(projectId);
         if ("UX_DESIGN".equals(phase)) {
             long generatedCount = screenRepository.countByProjectIdAndPrototypeContentIsNotNull(projectId);
             if (generatedCount == 0) {
@@ -101,34 +250,82 @@ public class ProjectService {
             project.setUxDesignCompletedAt(Instant.now());
             project.setTechnicalDesignStatus("UNLOCKED");
         } else if ("TECHNICAL_DESIGN".equals(phase)) {
-            if (project.getArchOverviewContent() == null ||
-                project.getDataModelContent() == null ||
-                project.getApiContractContent() == null ||
-                project.getSequenceDiagramsContent() == null) {
+            long generated = artifactRepository.countByProjectIdAndTypeIn(projectId, ProjectArtifact.Type.TECH_DESIGN);
+            if (generated < ProjectArtifact.Type.TECH_DESIGN.size()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "All four technical design artifacts must be generated before completing Technical Design.");
             }
             project.setTechDesignStatus("COMPLETE");
             project.setTechDesignCompletedAt(Instant.now());
         }
-        return projectRepository.save(project);
+        projectRepository.save(project);
+        return findByIdWithArtifacts(projectId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project saveTechPreferences(UUID projectId, TechPreferencesRequest request) {
-        Project project = findById(projectId);
+    public Project saveTechPreferences(UUID projectId, TechPreferencesRequest request,
+                                       List<Instant> ifMatch) {
+        checkIfMatch(projectId, ifMatch);
+        Project project = findForMetadataWrite(projectId);
         try {
             project.setTechPreferences(objectMapper.writeValueAsString(request));
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to serialize tech preferences");
         }
         project.setTechPreferencesSavedAt(Instant.now());
-        return projectRepository.save(project);
+        projectRepository.save(project);
+        return findByIdWithArtifacts(projectId);
     }
 
+    /**
+     * Makes the rest of a write conditional on If-Match: {@code ifMatch} lists the
+     * updated_at values the caller's tags stand for, and the project row stays locked from
+     * this check to the commit, so no other write can land in between. Null means the
+     * request had no precondition. Runs first, before anything is loaded, since the lock
+     * statement clears the persistence context.
+     */
+    private void checkIfMatch(UUID id, List<Instant> ifMatch) {
+        if (ifMatch == null) return;
+        if (projectRepository.lockIfUpdatedAtIn(id, ifMatch) == 0) {
+            if (!projectRepository.existsById(id)) {
+                throw new EntityNotFoundException("Project not found: " + id);
+            }
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "The project was changed by someone else; reload and try again");
+        }
+    }
+
+    /**
+     * If-Match for the screen list, whose tag is its {@link ChangeStamp}. Screen writes
+     * made with a precondition are serialised on the project row, and the stamp is tested
+     * once that lock is held, so it can't change before the caller's write commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checkScreensIfMatch(UUID projectId, Predicate<ChangeStamp> ifMatch) {
+        if (ifMatch == null) return;
+        projectRepository.findByIdForUpdate(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + projectId));
+        if (!ifMatch.test(screenRepository.findChangeStampByProjectId(projectId))) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "The screens were changed by someone else; reload and try again");
+        }
+    }
+
+    /**
+     * The managed project row alone, for writes to its own columns. Neither the cached
+     * {@link #findById} copy (detached) nor the artifacts are involved; the full project is
+     * read back only for the response, after the update has been flushed.
+     */
+    private Project findForMetadataWrite(UUID id) {
+        return projectRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found: " + id));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project saveCorporateGuidelines(UUID projectId, MultipartFile file) {
-        Project project = findById(projectId);
+    public Project saveCorporateGuidelines(UUID projectId, MultipartFile file, List<Instant> ifMatch) {
+        checkIfMatch(projectId, ifMatch);
         String filename = file.getOriginalFilename();
         if (filename == null || !filename.toLowerCase().endsWith(".md")) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only .md files are accepted.");
@@ -136,59 +333,146 @@ public class ProjectService {
         if (file.getSize() > 512_000) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Maximum file size is 500KB.");
         }
+        String content;
         try {
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-            project.setCorporateGuidelinesContent(content);
-            project.setCorporateGuidelinesFilename(filename);
-            project.setCorporateGuidelinesUploadedAt(Instant.now());
+            content = new String(file.getBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read file.");
         }
-        return projectRepository.save(project);
+        writeArtifact(projectId, ProjectArtifact.Type.CORPORATE_GUIDELINES, content, null);
+        projectRepository.updateCorporateGuidelinesFilename(projectId, filename, Instant.now());
+        return findByIdWithArtifacts(projectId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project deleteCorporateGuidelines(UUID projectId) {
-        Project project = findById(projectId);
-        project.setCorporateGuidelinesContent(null);
-        project.setCorporateGuidelinesFilename(null);
-        project.setCorporateGuidelinesUploadedAt(null);
-        return projectRepository.save(project);
+    public Project deleteCorporateGuidelines(UUID projectId, List<Instant> ifMatch) {
+        checkIfMatch(projectId, ifMatch);
+        writeArtifact(projectId, ProjectArtifact.Type.CORPORATE_GUIDELINES, null, null);
+        projectRepository.updateCorporateGuidelinesFilename(projectId, null, Instant.now());
+        return findByIdWithArtifacts(projectId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project saveArtifact(UUID projectId, String artifactType, String content) {
-        Project project = findById(projectId);
-        Instant now = Instant.now();
-        switch (artifactType) {
-            case "architecture" -> { project.setArchOverviewContent(content); project.setArchOverviewGeneratedAt(now); }
-            case "data-model"   -> { project.setDataModelContent(content);    project.setDataModelGeneratedAt(now); }
-            case "api-contract" -> { project.setApiContractContent(content);  project.setApiContractGeneratedAt(now); }
-            case "sequence-diagrams" -> { project.setSequenceDiagramsContent(content); project.setSequenceDiagramsGeneratedAt(now); }
-            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown artifact type: " + artifactType);
-        }
-        if ("NOT_STARTED".equals(project.getTechDesignStatus())) {
-            project.setTechDesignStatus("IN_PROGRESS");
+    public Project saveArtifact(UUID projectId, String artifactType, String content, Long expectedVersion,
+                                List<Instant> ifMatch) {
+        checkIfMatch(projectId, ifMatch);
+        ProjectArtifact.Type type = techDesignArtifact(artifactType);
+        if (writeArtifact(projectId, type, content, expectedVersion)) {
+            projectRepository.startTechDesign(projectId);
         }
-        return projectRepository.save(project);
+        return findByIdWithArtifacts(projectId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project clearArtifact(UUID projectId, String artifactType) {
-        Project project = findById(projectId);
-        switch (artifactType) {
-            case "architecture"      -> { project.setArchOverviewContent(null);      project.setArchOverviewGeneratedAt(null); }
-            case "data-model"        -> { project.setDataModelContent(null);         project.setDataModelGeneratedAt(null); }
-            case "api-contract"      -> { project.setApiContractContent(null);       project.setApiContractGeneratedAt(null); }
-            case "sequence-diagrams" -> { project.setSequenceDiagramsContent(null);  project.setSequenceDiagramsGeneratedAt(null); }
-            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown artifact type: " + artifactType);
+    public Project clearArtifact(UUID projectId, String artifactType, Long expectedVersion,
+                                 List<Instant> ifMatch) {
+        checkIfMatch(projectId, ifMatch);
+        writeArtifact(projectId, techDesignArtifact(artifactType), null, expectedVersion);
+        return findByIdWithArtifacts(projectId);
+    }
+
+    /**
+     * Writes an earlier revision back as the artifact's current content. The restored text
+     * is recorded as a new revision, so the restore itself can be undone the same way.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
+    @Transactional
+    public Project restoreArtifact(UUID projectId, ProjectArtifact.Type type, int revision,
+                                   List<Instant> ifMatch) {
+        checkIfMatch(projectId, ifMatch);
+        String content = historyService.content(projectId, type.name(), null, revision);
+        if (writeArtifact(projectId, type, content, null) && ProjectArtifact.Type.TECH_DESIGN.contains(type)) {
+            projectRepository.startTechDesign(projectId);
         }
-        return projectRepository.save(project);
+        return findByIdWithArtifacts(projectId);
+    }
+
+    private static ProjectArtifact.Type techDesignArtifact(String artifactType) {
+        ProjectArtifact.Type type = ProjectArtifact.Type.fromSlug(artifactType);
+        if (type == null || !ProjectArtifact.Type.TECH_DESIGN.contains(type)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown artifact type: " + artifactType);
+        }
+        return type;
+    }
+
+    /**
+     * Writes one artifact (or deletes it for null content) with single-row statements,
+     * so no other artifact and no other projects column is rewritten; the projects row
+     * only gets updated_at bumped so the project still sorts as recently changed.
+     * Content identical to what is stored is not written at all.
+     *
+     * When {@code expectedVersion} is set the write only happens if the artifact is still
+     * at that version, otherwise it fails with {@link OptimisticLockingFailureException}.
+     * Without it the last write wins, but the update is still a compare-and-set on the
+     * version just read, so two concurrent saves can't interleave.
+     *
+     * @return whether anything was written
+     */
+    private boolean writeArtifact(UUID projectId, ProjectArtifact.Type type, String content, Long expectedVersion) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new EntityNotFoundException("Project not found: " + projectId);
+        }
+        ArtifactVersion current = artifactRepository.findVersionByProjectIdAndType(projectId, type).orElse(null);
+        if (expectedVersion != null && (current == null || !expectedVersion.equals(current.getVersion()))) {
+            throw versionConflict(type);
+        }
+
+        Instant now = Instant.now();
+        if (content == null) {
+            if (current == null) return false;
+            if (artifactRepository.deleteVersion(projectId, type, current.getVersion()) == 0) {
+                throw versionConflict(type);
+            }
+        } else if (current == null) {
+            try {
+                recordRevision(projectId, type, content, false);
+                artifactRepository.saveAndFlush(ProjectArtifact.builder()
+                        .project(projectRepository.getReferenceById(projectId))
+                        .type(type)
+                        .content(content)
+                        .hash(ProjectArtifact.sha256(content))
+                        .generatedAt(now)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // Another request created it between our read and insert
+                throw versionConflict(type);
+            }
+        } else {
+            String hash = ProjectArtifact.sha256(content);
+            if (hash.equals(current.getHash())) return false;
+            // Before the update, while the text being replaced can still be read as the baseline
+            recordRevision(projectId, type, content, true);
+            int updated = artifactRepository.updateContent(projectId, type, content, hash, now, current.getVersion());
+            if (updated == 0) {
+                throw versionConflict(type);
+            }
+        }
+        projectRepository.touch(projectId, now);
+        return true;
+    }
+
+    private void recordRevision(UUID projectId, ProjectArtifact.Type type, String content, boolean replacing) {
+        if (!ProjectArtifact.Type.VERSIONED.contains(type)) return;
+        historyService.record(projectId, type.name(), null, content,
+                () -> replacing ? findArtifactContent(projectId, type) : null);
+    }
+
+    private static OptimisticLockingFailureException versionConflict(ProjectArtifact.Type type) {
+        return new OptimisticLockingFailureException(
+                "Artifact " + type + " was changed by someone else; reload and try again");
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional
     public void delete(UUID id) {
         Project project = findById(id);
+        // project_files rows go with the project via ON DELETE CASCADE; release their content first
+        List<String> contentHashes = fileRepository.findContentHashesByProjectId(id);
         projectRepository.delete(project);
+        projectRepository.flush();
+        contentHashes.forEach(blobStore::release);
     }
 }
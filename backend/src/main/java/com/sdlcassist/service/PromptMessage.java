@@ -0,0 +1,81 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A prompt filled in as an ordered list of segments instead of one concatenated string:
+ * the literal template text between placeholders, and a supplier for each substituted
+ * value that is only called when the message is written.
+ *
+ * A PRD or design system is therefore never copied into a rendered prompt — {@link #writeTo}
+ * reads each segment in turn and lets the {@link JsonGenerator} escape it straight into the
+ * request body. Build one with {@link PromptService.Prompt#message}.
+ */
+public final class PromptMessage {
+
+    private final List<Supplier<? extends CharSequence>> segments;
+
+    PromptMessage(List<Supplier<? extends CharSequence>> segments) {
+        this.segments = List.copyOf(segments);
+    }
+
+    /** A message that is already a single string, e.g. a short instruction. */
+    static PromptMessage of(String text) {
+        return new PromptMessage(List.of(() -> text));
+    }
+
+    /** Writes the whole message as one JSON string value, escaping it chunk by chunk. */
+    public void writeTo(JsonGenerator generator) throws IOException {
+        generator.writeString(new SegmentReader(), -1);
+    }
+
+    /** Concatenates every segment; this is the copy the message exists to avoid, so keep it to logs and checks. */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Supplier<? extends CharSequence> segment : segments) {
+            CharSequence value = segment.get();
+            if (value != null) text.append(value);
+        }
+        return text.toString();
+    }
+
+    /** Reads the segments back to back, resolving each one only when the previous is exhausted. */
+    private final class SegmentReader extends Reader {
+        private int next;
+        private CharSequence current = "";
+        private int position;
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (length == 0) return 0;
+            while (position == current.length()) {
+                if (next == segments.size()) return -1;
+                CharSequence value = segments.get(next++).get();
+                current = value != null ? value : "";
+                position = 0;
+            }
+            int count = Math.min(length, current.length() - position);
+            if (current instanceof String text) {
+                text.getChars(position, position + count, buffer, offset);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    buffer[offset + i] = current.charAt(position + i);
+                }
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            current = "";
+            next = segments.size();
+        }
+    }
+}
@@ -1,54 +1,210 @@
 package com.sdlcassist.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Holds every agent prompt as an immutable, versioned snapshot.
+ *
+ * Prompts are read from {@code classpath:prompts/*.txt}, then overridden by any
+ * {@code *.txt} in {@code app.prompts.directory}. When that directory is set, it is
+ * watched and a changed file swaps in a fresh snapshot atomically — in-flight
+ * generations keep the {@link Prompt} they already resolved.
+ *
+ * Each prompt's version is a hash of its text, so it is stable across restarts
+ * and can be used as a cache key or stamped onto generated output.
+ */
 @Service
 @Slf4j
 public class PromptService {
 
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([A-Z0-9_]+)}}");
+    private static final long RELOAD_DEBOUNCE_MS = 250;
+
     @Value("${app.prompts.directory:}")
     private String promptsDirectory;
 
-    private final ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, Map.of(), Instant.EPOCH));
+    private WatchService watchService;
 
-    public String getPrompt(String name) {
-        return cache.computeIfAbsent(name, this::loadPrompt);
+    @PostConstruct
+    void init() throws IOException {
+        reload();
+        Path directory = configuredDirectory();
+        if (directory != null && Files.isDirectory(directory)) {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            Thread.ofVirtual().name("prompt-watcher").start(this::watch);
+            log.info("Watching prompts directory for changes: {}", directory.toAbsolutePath());
+        }
     }
 
-    public void clearCache() {
-        cache.clear();
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
     }
 
-    private String loadPrompt(String name) {
-        // Try filesystem first if directory is configured
-        if (promptsDirectory != null && !promptsDirectory.isBlank()) {
-            Path filePath = Path.of(promptsDirectory, name + ".txt");
-            if (Files.exists(filePath)) {
-                try {
-                    log.info("Loading prompt '{}' from filesystem: {}", name, filePath);
-                    return Files.readString(filePath, StandardCharsets.UTF_8);
-                } catch (IOException e) {
-                    log.warn("Failed to read prompt from filesystem: {}", filePath, e);
+    public Prompt get(String name) {
+        Prompt prompt = snapshot.get().prompts().get(name);
+        if (prompt == null) {
+            throw new IllegalStateException("Prompt not found: " + name);
+        }
+        return prompt;
+    }
+
+    public long getSnapshotVersion() {
+        return snapshot.get().version();
+    }
+
+    /**
+     * Re-reads all prompts and swaps in a new snapshot. A failed read keeps the current one.
+     */
+    public synchronized void reload() {
+        Map<String, Prompt> prompts = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath*:prompts/*.txt")) {
+                String filename = resource.getFilename();
+                if (filename == null) continue;
+                String name = filename.substring(0, filename.length() - ".txt".length());
+                prompts.put(name, Prompt.of(name, resource.getContentAsString(StandardCharsets.UTF_8)));
+            }
+
+            Path directory = configuredDirectory();
+            if (directory != null && Files.isDirectory(directory)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.txt")) {
+                    for (Path file : files) {
+                        String filename = file.getFileName().toString();
+                        String name = filename.substring(0, filename.length() - ".txt".length());
+                        prompts.put(name, Prompt.of(name, Files.readString(file, StandardCharsets.UTF_8)));
+                    }
                 }
             }
+        } catch (IOException e) {
+            log.warn("Failed to reload prompts; keeping snapshot v{}", snapshot.get().version(), e);
+            return;
         }
 
-        // Fall back to classpath
+        Snapshot previous = snapshot.get();
+        Snapshot next = new Snapshot(previous.version() + 1, Map.copyOf(prompts), Instant.now());
+        snapshot.set(next);
+
+        next.prompts().values().forEach(prompt -> {
+            Prompt old = previous.prompts().get(prompt.name());
+            if (old == null || !old.version().equals(prompt.version())) {
+                log.info("Loaded prompt {}", prompt.stamp());
+            }
+        });
+    }
+
+    private void watch() {
         try {
-            var resource = new ClassPathResource("prompts/" + name + ".txt");
-            log.info("Loading prompt '{}' from classpath", name);
-            return resource.getContentAsString(StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            throw new IllegalStateException("Prompt not found: " + name, e);
+            while (true) {
+                WatchKey key = watchService.take();
+                // Editors often write a file in several steps; let them settle before reloading
+                Thread.sleep(RELOAD_DEBOUNCE_MS);
+                WatchKey next;
+                do {
+                    key.pollEvents();
+                    key.reset();
+                    next = watchService.poll(RELOAD_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                    if (next != null) key = next;
+                } while (next != null);
+
+                reload();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            log.debug("Prompt watcher stopped");
+        }
+    }
+
+    private Path configuredDirectory() {
+        if (promptsDirectory == null || promptsDirectory.isBlank()) return null;
+        return Path.of(promptsDirectory);
+    }
+
+    private record Snapshot(long version, Map<String, Prompt> prompts, Instant loadedAt) {}
+
+    /**
+     * An immutable prompt. {@code version} is a short content hash, so identical text always
+     * has the same version.
+     */
+    public record Prompt(String name, String text, String version) {
+
+        static Prompt of(String name, String text) {
+            String hash = DigestUtils.md5DigestAsHex(text.getBytes(StandardCharsets.UTF_8));
+            return new Prompt(name, text, hash.substring(0, 12));
+        }
+
+        /**
+         * Replaces {@code {{NAME}}} placeholders in a single pass; substituted values are
+         * never re-scanned, so document content containing braces is inserted verbatim.
+         */
+        public String render(Map<String, String> variables) {
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            StringBuilder result = new StringBuilder(text.length() + 1024);
+            while (matcher.find()) {
+                String value = variables.get(matcher.group(1));
+                matcher.appendReplacement(result, Matcher.quoteReplacement(value != null ? value : matcher.group()));
+            }
+            matcher.appendTail(result);
+            return result.toString();
+        }
+
+        /**
+         * Same substitution as {@link #render}, but the values stay separate segments that are
+         * read only when the message is written, so large documents are not concatenated.
+         */
+        public PromptMessage message(Map<String, Supplier<? extends CharSequence>> variables) {
+            List<Supplier<? extends CharSequence>> segments = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            int literalStart = 0;
+            while (matcher.find()) {
+                Supplier<? extends CharSequence> value = variables.get(matcher.group(1));
+                if (value == null) continue;
+                String literal = text.substring(literalStart, matcher.start());
+                segments.add(() -> literal);
+                segments.add(value);
+                literalStart = matcher.end();
+            }
+            String tail = text.substring(literalStart);
+            segments.add(() -> tail);
+            return new PromptMessage(segments);
+        }
+
+        /** Identifier recorded alongside generated output, e.g. {@code design-system@1a2b3c4d5e6f}. */
+        public String stamp() {
+            return name + "@" + version;
         }
     }
 }
@@ -3,14 +3,19 @@ package com.sdlcassist.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.sdlcassist.dto.ChangeStamp;
 import com.sdlcassist.dto.ScreenDefinitionDto;
+import com.sdlcassist.model.ArtifactRevision;
 import com.sdlcassist.model.Project;
+import com.sdlcassist.model.ProjectArtifact;
 import com.sdlcassist.model.ProjectScreen;
 import com.sdlcassist.repository.ProjectScreenRepository;
+import com.sdlcassist.service.PromptService.Prompt;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.BufferedReader;
@@ -23,9 +28,11 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +43,8 @@ public class ScreenExtractionService {
 
     private final ProjectService projectService;
     private final ProjectScreenRepository screenRepository;
+    private final ArtifactHistoryService historyService;
+    private final PromptService promptService;
     private final ObjectMapper objectMapper;
 
     @Value("${app.vertexai.project-id}")
@@ -54,8 +63,9 @@ public class ScreenExtractionService {
         try {
             sendProgress(emitter, "INITIALIZING", 5, "Connecting to screen extraction agent...");
 
-            Project project = projectService.findById(projectId);
-            if (project.getPrdContent() == null || project.getPrdContent().isBlank()) {
+            Project project = projectService.findByIdWithArtifacts(projectId);
+            String prdContent = project.getArtifactContent(ProjectArtifact.Type.PRD);
+            if (prdContent == null || prdContent.isBlank()) {
                 sendError(emitter, "No PRD found. Generate a PRD in the Planning phase first.");
                 return;
             }
@@ -68,7 +78,9 @@ public class ScreenExtractionService {
             Thread.sleep(600);
             sendProgress(emitter, "ANALYZING_EPICS", 30, "Analyzing epics and user flows...");
 
-            String userMessage = buildMessage(project.getPrdContent());
+            Prompt prompt = promptService.get("screen-extraction");
+            log.info("Extracting screens for project {} with prompt {}", projectId, prompt.stamp());
+            String userMessage = prompt.render(Map.of("PRD_CONTENT", prdContent));
             // Long-running call — agent reads and processes the full PRD
             sendProgress(emitter, "EXTRACTING_FLOWS", 50, "Extracting user interaction flows...");
 
@@ -92,8 +104,8 @@ public class ScreenExtractionService {
             // Emit COMPLETE with screens array
             String screensJson = objectMapper.writeValueAsString(screens);
             String completePayload = String.format(
-                    "{\"event\":\"COMPLETE\",\"progress\":100,\"message\":\"Found %d screens.\",\"screens\":%s}",
-                    screens.size(), screensJson
+                    "{\"event\":\"COMPLETE\",\"progress\":100,\"message\":\"Found %d screens.\",\"promptVersion\":\"%s\",\"screens\":%s}",
+                    screens.size(), prompt.stamp(), screensJson
             );
             emitter.send(SseEmitter.event().name("progress").data(completePayload));
             emitter.complete();
@@ -109,6 +121,11 @@ public class ScreenExtractionService {
         }
     }
 
+    /** Version of the project's screen list; any save, extraction or prototype change moves it. */
+    public ChangeStamp getScreensChangeStamp(UUID projectId) {
+        return screenRepository.findChangeStampByProjectId(projectId);
+    }
+
     public List<ScreenDefinitionDto> getScreens(UUID projectId) {
         return screenRepository.findByProjectIdOrderByDisplayOrderAsc(projectId)
                 .stream()
@@ -116,25 +133,42 @@ public class ScreenExtractionService {
                 .toList();
     }
 
-    public List<ScreenDefinitionDto> saveScreens(UUID projectId, List<ScreenDefinitionDto> dtos) {
-        screenRepository.deleteByProjectId(projectId);
+    /**
+     * Replaces the screen list. Entries are matched to the project's screens by id and
+     * updated in place, so a screen that stays on the list keeps its id, prototype and
+     * prototype history. Entries without a known id become new screens; screens left off
+     * the list are deleted together with their history.
+     */
+    @Transactional
+    public List<ScreenDefinitionDto> saveScreens(UUID projectId, List<ScreenDefinitionDto> dtos,
+                                                 Predicate<ChangeStamp> ifMatch) {
+        projectService.checkScreensIfMatch(projectId, ifMatch);
+        Map<UUID, ProjectScreen> existing = new HashMap<>();
+        for (ProjectScreen screen : screenRepository.findByProjectIdOrderByDisplayOrderAsc(projectId)) {
+            existing.put(screen.getId(), screen);
+        }
 
         List<ProjectScreen> toSave = new ArrayList<>();
         for (int i = 0; i < dtos.size(); i++) {
             ScreenDefinitionDto dto = dtos.get(i);
-            ProjectScreen screen = ProjectScreen.builder()
-                    .projectId(projectId)
-                    .name(dto.getName())
-                    .description(dto.getDescription())
-                    .screenType(dto.getScreenType())
-                    .epicName(dto.getEpicName())
-                    .complexity(dto.getComplexity())
-                    .userRole(dto.getUserRole())
-                    .notes(dto.getNotes())
-                    .displayOrder(i)
-                    .build();
+            ProjectScreen screen = existing.remove(screenId(dto));
+            if (screen == null) {
+                screen = ProjectScreen.builder().projectId(projectId).build();
+            }
+            screen.setName(dto.getName());
+            screen.setDescription(dto.getDescription());
+            screen.setScreenType(dto.getScreenType());
+            screen.setEpicName(dto.getEpicName());
+            screen.setComplexity(dto.getComplexity());
+            screen.setUserRole(dto.getUserRole());
+            screen.setNotes(dto.getNotes());
+            screen.setDisplayOrder(i);
             toSave.add(screen);
         }
+        if (!existing.isEmpty()) {
+            screenRepository.deleteAllInBatch(existing.values());
+            historyService.deleteScreens(projectId, ArtifactRevision.PROTOTYPE, existing.keySet());
+        }
 
         return screenRepository.saveAll(toSave)
                 .stream()
@@ -142,6 +176,16 @@ public class ScreenExtractionService {
                 .toList();
     }
 
+    // Ids the client doesn't have yet (extracted screens) or can't have made up are new screens
+    private static UUID screenId(ScreenDefinitionDto dto) {
+        if (dto.getId() == null) return null;
+        try {
+            return UUID.fromString(dto.getId());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Step 1: Create session via POST :query with class_method=create_session
     // -------------------------------------------------------------------------
@@ -371,28 +415,6 @@ public class ScreenExtractionService {
         };
     }
 
-    // -------------------------------------------------------------------------
-    // Build the message sent to the screen_extraction_agent
-    // -------------------------------------------------------------------------
-    private String buildMessage(String prdContent) {
-        return """
-                PRD Content:
-                %s
-
-                Instructions: Analyze the PRD above and identify every distinct UI screen that needs to be designed and prototyped. \
-                Return ONLY a valid JSON array where each element has these exact fields:
-                - name: short screen name (e.g., "User Dashboard")
-                - description: what this screen does (1-2 sentences)
-                - screenType: one of: dashboard, list, detail, form, modal, settings, auth, report, wizard, empty
-                - epicName: which PRD epic this screen belongs to
-                - complexity: low, medium, or high
-                - userRole: primary user role that uses this screen
-                - notes: any special implementation notes (may be empty string)
-
-                Return ONLY the JSON array with no additional text, no markdown, no explanations.
-                """.formatted(prdContent);
-    }
-
     // -------------------------------------------------------------------------
     // Auth helpers
     // -------------------------------------------------------------------------
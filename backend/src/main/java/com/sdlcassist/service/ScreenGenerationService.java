@@ -3,14 +3,19 @@ package com.sdlcassist.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.sdlcassist.dto.ChangeStamp;
 import com.sdlcassist.dto.ScreenDefinitionDto;
+import com.sdlcassist.model.ArtifactRevision;
 import com.sdlcassist.model.Project;
+import com.sdlcassist.model.ProjectArtifact;
 import com.sdlcassist.model.ProjectScreen;
 import com.sdlcassist.repository.ProjectScreenRepository;
+import com.sdlcassist.service.PromptService.Prompt;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.BufferedReader;
@@ -25,6 +30,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,7 +41,9 @@ public class ScreenGenerationService {
 
     private final ProjectService projectService;
     private final ProjectScreenRepository screenRepository;
+    private final PromptService promptService;
     private final ObjectMapper objectMapper;
+    private final ArtifactHistoryService historyService;
 
     @Value("${app.vertexai.project-id}")
     private String gcpProjectId;
@@ -56,12 +64,14 @@ public class ScreenGenerationService {
         try {
             sendProgress(emitter, "INITIALIZING", 5, "Connecting to screen generation agent...");
 
-            Project project = projectService.findById(projectId);
-            if (project.getPrdContent() == null || project.getPrdContent().isBlank()) {
+            Project project = projectService.findByIdWithArtifacts(projectId);
+            String prdContent = project.getArtifactContent(ProjectArtifact.Type.PRD);
+            if (prdContent == null || prdContent.isBlank()) {
                 sendError(emitter, "No PRD found. Generate a PRD in the Planning phase first.");
                 return;
             }
-            if (project.getDesignSystemContent() == null || project.getDesignSystemContent().isBlank()) {
+            String designSystemContent = project.getArtifactContent(ProjectArtifact.Type.DESIGN_SYSTEM);
+            if (designSystemContent == null || designSystemContent.isBlank()) {
                 sendError(emitter, "No design system found. Complete the Design System step first.");
                 return;
             }
@@ -81,7 +91,9 @@ public class ScreenGenerationService {
             screen.setVertexSessionId(sessionId);
             screenRepository.save(screen);
 
-            String userMessage = buildMessage(screen, project);
+            Prompt prompt = promptService.get("screen-generation");
+            log.info("Generating prototype for screen {} with prompt {}", screenId, prompt.stamp());
+            PromptMessage userMessage = buildMessage(prompt, screen, project);
 
             sendProgress(emitter, "GENERATING", 50, "Generating HTML prototype...");
 
@@ -106,7 +118,8 @@ public class ScreenGenerationService {
                     "progress", 100,
                     "message", "Prototype generated successfully.",
                     "htmlContent", parsed.htmlContent(),
-                    "designNotes", parsed.designNotes()
+                    "designNotes", parsed.designNotes(),
+                    "promptVersion", prompt.stamp()
             ));
             emitter.send(SseEmitter.event().name("progress").data(completePayload));
             emitter.complete();
@@ -123,9 +136,12 @@ public class ScreenGenerationService {
     }
 
     // -------------------------------------------------------------------------
-    // Save prototype HTML to the screen record
+    // Save prototype HTML to the screen record; each change is kept as a revision
     // -------------------------------------------------------------------------
-    public ScreenDefinitionDto savePrototype(UUID projectId, UUID screenId, String htmlContent) {
+    @Transactional
+    public ScreenDefinitionDto savePrototype(UUID projectId, UUID screenId, String htmlContent,
+                                             Predicate<ChangeStamp> ifMatch) {
+        projectService.checkScreensIfMatch(projectId, ifMatch);
         ProjectScreen screen = screenRepository.findById(screenId)
                 .orElseThrow(() -> new RuntimeException("Screen not found: " + screenId));
 
@@ -133,12 +149,24 @@ public class ScreenGenerationService {
             throw new RuntimeException("Screen does not belong to this project");
         }
 
+        String previous = screen.getPrototypeContent();
         screen.setPrototypeContent(htmlContent);
         screen.setPrototypeGeneratedAt(Instant.now());
         ProjectScreen saved = screenRepository.save(screen);
+        if (htmlContent != null) {
+            historyService.record(projectId, ArtifactRevision.PROTOTYPE, screenId, htmlContent, () -> previous);
+        }
         return toDto(saved);
     }
 
+    /** Saves an earlier prototype revision as the current one, recorded as a new revision. */
+    @Transactional
+    public ScreenDefinitionDto restorePrototype(UUID projectId, UUID screenId, int revision,
+                                                Predicate<ChangeStamp> ifMatch) {
+        String content = historyService.content(projectId, ArtifactRevision.PROTOTYPE, screenId, revision);
+        return savePrototype(projectId, screenId, content, ifMatch);
+    }
+
     // -------------------------------------------------------------------------
     // SSE stream — refine an existing prototype via chat message
     // -------------------------------------------------------------------------
@@ -165,9 +193,11 @@ public class ScreenGenerationService {
             String sessionId = screen.getVertexSessionId();
 
             // Build the refinement message with explicit instructions
-            String refinementMessage = userMessage.trim() +
-                    "\n\nReturn ONLY the complete updated HTML document. No explanation. No markdown code fences. " +
-                    "Start with <!DOCTYPE html> and end with </html>.";
+            Prompt refinePrompt = promptService.get("screen-refinement");
+            Prompt replayPrompt = promptService.get("screen-refinement-replay");
+            log.info("Refining screen {} with prompts {}, {}", screenId, refinePrompt.stamp(), replayPrompt.stamp());
+            String instruction = refinePrompt.render(Map.of("USER_MESSAGE", userMessage.trim()));
+            PromptMessage refinementMessage = PromptMessage.of(instruction);
 
             // If no session exists, create one and replay context
             if (sessionId == null || sessionId.isBlank()) {
@@ -177,10 +207,10 @@ public class ScreenGenerationService {
                 screenRepository.save(screen);
 
                 // Replay context: send current prototype as initial context
-                String contextMessage = "Here is the current prototype HTML you previously generated:\n\n" +
-                        screen.getPrototypeContent() +
-                        "\n\nNow apply the following change: " + refinementMessage;
-                refinementMessage = contextMessage;
+                refinementMessage = replayPrompt.message(Map.of(
+                        "PROTOTYPE_HTML", screen::getPrototypeContent,
+                        "REFINEMENT", () -> instruction
+                ));
             }
 
             String agentResponse;
@@ -195,11 +225,10 @@ public class ScreenGenerationService {
                 screen.setVertexSessionId(newSessionId);
                 screenRepository.save(screen);
 
-                String contextMessage = "Here is the current prototype HTML you previously generated:\n\n" +
-                        screen.getPrototypeContent() +
-                        "\n\nNow apply the following change: " + userMessage.trim() +
-                        "\n\nReturn ONLY the complete updated HTML document. No explanation. No markdown code fences. " +
-                        "Start with <!DOCTYPE html> and end with </html>.";
+                PromptMessage contextMessage = replayPrompt.message(Map.of(
+                        "PROTOTYPE_HTML", screen::getPrototypeContent,
+                        "REFINEMENT", () -> instruction
+                ));
 
                 agentResponse = streamQuery(accessToken, newSessionId, projectId.toString(), contextMessage);
             }
@@ -213,7 +242,8 @@ public class ScreenGenerationService {
 
             String completePayload = objectMapper.writeValueAsString(Map.of(
                     "event", "COMPLETE",
-                    "refinedHtml", refinedHtml
+                    "refinedHtml", refinedHtml,
+                    "promptVersion", refinePrompt.stamp()
             ));
             emitter.send(SseEmitter.event().name("refine").data(completePayload));
             emitter.complete();
@@ -321,15 +351,8 @@ public class ScreenGenerationService {
     // -------------------------------------------------------------------------
     // Step 2: POST :streamQuery, read response line-by-line
     // -------------------------------------------------------------------------
-    private String streamQuery(String accessToken, String sessionId, String userId, String message) throws Exception {
+    private String streamQuery(String accessToken, String sessionId, String userId, PromptMessage message) throws Exception {
         String endpoint = baseUrl() + ":streamQuery";
-        Map<String, Object> body = Map.of(
-                "input", Map.of(
-                        "session_id", sessionId,
-                        "user_id", userId,
-                        "message", message
-                )
-        );
 
         HttpClient client = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(30))
@@ -340,7 +363,7 @@ public class ScreenGenerationService {
                 .header("Content-Type", "application/json")
                 .header("Authorization", "Bearer " + accessToken)
                 .timeout(Duration.ofMinutes(5))
-                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .POST(JsonBodyPublisher.streamQuery(objectMapper, sessionId, userId, message))
                 .build();
 
         log.info("Sending screen_generation streamQuery for session: {}", sessionId);
@@ -509,12 +532,21 @@ public class ScreenGenerationService {
     }
 
     // -------------------------------------------------------------------------
-    // Build the message sent to the screen_generation_agent
+    // Build the message sent to the screen_generation_agent; the PRD and design
+    // system are streamed into the request body rather than copied into it
     // -------------------------------------------------------------------------
-    private String buildMessage(ProjectScreen screen, Project project) {
-        String screenJson;
+    private PromptMessage buildMessage(Prompt prompt, ProjectScreen screen, Project project) {
+        return prompt.message(Map.of(
+                "SCREEN_DEFINITION", () -> screenJson(screen),
+                "PRD_CONTENT", () -> project.getArtifactContent(ProjectArtifact.Type.PRD),
+                "DESIGN_SYSTEM", () -> project.getArtifactContent(ProjectArtifact.Type.DESIGN_SYSTEM),
+                "TEMPLATE_ID", () -> project.getSelectedTemplateId() != null ? project.getSelectedTemplateId() : "default"
+        ));
+    }
+
+    private String screenJson(ProjectScreen screen) {
         try {
-            screenJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(Map.of(
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(Map.of(
                     "id", screen.getId().toString(),
                     "name", screen.getName(),
                     "description", screen.getDescription() != null ? screen.getDescription() : "",
@@ -525,32 +557,8 @@ public class ScreenGenerationService {
                     "notes", screen.getNotes() != null ? screen.getNotes() : ""
             ));
         } catch (Exception e) {
-            screenJson = "{\"name\": \"" + screen.getName() + "\"}";
+            return "{\"name\": \"" + screen.getName() + "\"}";
         }
-
-        return """
-                SCREEN DEFINITION:
-                %s
-
-                PRD CONTENT:
-                %s
-
-                DESIGN SYSTEM:
-                %s
-
-                TEMPLATE ID: %s
-
-                Generate the HTML prototype for the screen definition above. \
-                Return ONLY a JSON object (no markdown, no preamble) with these exact fields:
-                - htmlContent: complete standalone HTML page with inline CSS
-                - cssContent: the full CSS (also embedded in htmlContent)
-                - designNotes: 2-3 sentence explanation of key design decisions
-                """.formatted(
-                screenJson,
-                project.getPrdContent(),
-                project.getDesignSystemContent(),
-                project.getSelectedTemplateId() != null ? project.getSelectedTemplateId() : "default"
-        );
     }
 
     // -------------------------------------------------------------------------
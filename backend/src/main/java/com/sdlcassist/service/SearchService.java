@@ -0,0 +1,77 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.dto.SearchHit;
+import com.sdlcassist.dto.SearchResponse;
+import com.sdlcassist.repository.SearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.UUID;
+
+/**
+ * Ranked full-text search across project metadata, PRDs, design systems, tech-design
+ * artifacts and uploaded document chunks. The tsvector columns behind it are generated
+ * by Postgres, so every save keeps the index current without application code.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchRepository searchRepository;
+
+    @Transactional(readOnly = true)
+    public SearchResponse search(String query, UUID projectId, Integer limit, Integer offset) {
+        String q = query == null ? "" : query.strip();
+        if (q.length() < 2) {
+            throw new IllegalArgumentException("Search query must be at least 2 characters");
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            q = q.substring(0, MAX_QUERY_LENGTH);
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+        int start = offset == null ? 0 : Math.max(0, offset);
+
+        long began = System.currentTimeMillis();
+        var hits = projectId == null
+                ? searchRepository.search(q, pageSize, start)
+                : searchRepository.searchProject(q, projectId, pageSize, start);
+        var results = hits.stream()
+                .map(this::toResult)
+                .toList();
+        log.debug("Search '{}' returned {} results in {}ms", q, results.size(), System.currentTimeMillis() - began);
+
+        return SearchResponse.builder()
+                .query(q)
+                .limit(pageSize)
+                .offset(start)
+                .results(results)
+                .build();
+    }
+
+    private SearchResponse.Result toResult(SearchHit hit) {
+        return SearchResponse.Result.builder()
+                .projectId(hit.getProjectId())
+                .projectName(hit.getProjectName())
+                .source(hit.getSource())
+                .label(hit.getLabel())
+                .rank(hit.getRank() != null ? hit.getRank() : 0)
+                .snippet(highlight(hit.getSnippet()))
+                .build();
+    }
+
+    /** Escapes the excerpt, then turns ts_headline's control-character delimiters into marks. */
+    static String highlight(String snippet) {
+        if (snippet == null) return null;
+        return HtmlUtils.htmlEscape(snippet)
+                .replace("\u0001", "<mark>")
+                .replace("\u0002", "</mark>");
+    }
+}
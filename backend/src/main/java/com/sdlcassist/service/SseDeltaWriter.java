@@ -0,0 +1,135 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces streamed text deltas into fewer, larger SSE "delta" frames.
+ *
+ * Deltas are buffered until either {@code maxChars} characters are pending or
+ * {@code maxDelayMillis} have passed since the oldest pending delta arrived. The
+ * buffered text is then written as one pre-escaped {@code {"text":"..."}} frame,
+ * which the emitter sends as a plain string instead of running it through Jackson.
+ *
+ * The delay is enforced by a timer armed when the first delta of a frame arrives, so
+ * text is not held back when the model stalls mid-answer; a size-triggered flush
+ * disarms it. Callers still {@link #flush()} before sending any terminal event. One
+ * producer per stream; {@link #append} and {@link #flush} are safe against the timer.
+ */
+public class SseDeltaWriter {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+
+    // Shared by every stream; it only hands due flushes to a virtual thread, so a slow
+    // client blocked in send never holds up another stream's timer
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "sse-delta-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SseEmitter emitter;
+    private final int maxChars;
+    private final long maxDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StringBuilder pending;
+    private final StringBuilder frame;
+    private ScheduledFuture<?> scheduledFlush;
+    private long batch;
+    private IOException timerFailure;
+    private int framesSent;
+
+    public SseDeltaWriter(SseEmitter emitter, int maxChars, long maxDelayMillis) {
+        this.emitter = emitter;
+        this.maxChars = Math.max(1, maxChars);
+        this.maxDelayNanos = Math.max(0, maxDelayMillis) * 1_000_000L;
+        this.pending = new StringBuilder(this.maxChars + 64);
+        this.frame = new StringBuilder(this.maxChars + 96);
+    }
+
+    public void append(String text) throws IOException {
+        if (text == null || text.isEmpty()) return;
+
+        lock.lock();
+        try {
+            rethrowTimerFailure();
+            boolean first = pending.isEmpty();
+            pending.append(text);
+
+            if (pending.length() >= maxChars || maxDelayNanos == 0) {
+                flush();
+            } else if (first) {
+                long due = batch;
+                scheduledFlush = TIMER.schedule(() -> Thread.startVirtualThread(() -> flushOnTimer(due)),
+                        maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            rethrowTimerFailure();
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty()) return;
+
+            frame.setLength(0);
+            frame.append("{\"text\":\"");
+            ENCODER.quoteAsString(pending, frame);
+            frame.append("\"}");
+            pending.setLength(0);
+            batch++;
+
+            emitter.send(SseEmitter.event().name("delta").data(frame.toString()));
+            framesSent++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getFramesSent() {
+        lock.lock();
+        try {
+            return framesSent;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A timer that lost the race to a size-triggered flush finds the batch moved on
+    private void flushOnTimer(long due) {
+        lock.lock();
+        try {
+            if (batch != due) return;
+            flush();
+        } catch (IOException e) {
+            // The client went away; the producer hears about it on its next call
+            timerFailure = e;
+        } catch (RuntimeException e) {
+            // Emitter already completed after an error; nothing left to deliver to
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rethrowTimerFailure() throws IOException {
+        if (timerFailure != null) {
+            IOException failure = timerFailure;
+            timerFailure = null;
+            throw failure;
+        }
+    }
+}
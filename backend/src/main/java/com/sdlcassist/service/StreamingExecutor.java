@@ -0,0 +1,361 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Application-wide executor for long-running SSE work (agent calls, streamed analysis),
+ * for both {@link SseEmitter} tasks and reactive {@link Flux} streams.
+ *
+ * Every task runs on a virtual thread but must first take a permit for its operation,
+ * so each operation is capped at {@code app.streaming.limits.<operation>} concurrent
+ * runs (falling back to {@code app.streaming.default-limit}). Tasks waiting for a
+ * permit count as queued; once {@code app.streaming.max-queued} are waiting, new
+ * submissions are rejected instead of piling up.
+ *
+ * On shutdown the executor stops accepting work, rejects anything still queued,
+ * waits up to {@code app.streaming.shutdown-timeout} for running tasks to finish,
+ * then tells the remaining clients the server is restarting and interrupts them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StreamingExecutor implements SmartLifecycle {
+
+    public static final String RESTARTING_MESSAGE = "Server restarting. Please retry in a moment.";
+    public static final String BUSY_MESSAGE = "Too many generations in progress. Please retry in a moment.";
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Value("${app.streaming.default-limit:8}")
+    private int defaultLimit;
+
+    @Value("${app.streaming.max-queued:50}")
+    private int maxQueued;
+
+    @Value("${app.streaming.shutdown-timeout:25s}")
+    private Duration shutdownTimeout;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final Set<StreamTask> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    /**
+     * Runs {@code task} for the given operation. If the task cannot be accepted, or is
+     * cut short by shutdown, {@code onAbort} receives a user-facing message and the
+     * emitter is completed.
+     */
+    public void submit(String operation, SseEmitter emitter, Consumer<String> onAbort, Runnable task) {
+        Operation op = operations.computeIfAbsent(operation, this::createOperation);
+        StreamTask streamTask = new StreamTask(operation, message -> abort(emitter, onAbort, message));
+        String rejection = admit(op, streamTask,
+                () -> streamTask.future = executor.submit(() -> run(op, streamTask, task)));
+        if (rejection != null) {
+            streamTask.abort.accept(rejection);
+        }
+    }
+
+    /**
+     * Reactive counterpart of {@link #submit}, under the same permits, queue limit, metrics
+     * and shutdown handling. {@code source} is subscribed once a permit for the operation is
+     * free; only the wait for it parks a virtual thread, the stream itself holds none. A
+     * rejection or the shutdown abort is emitted as {@code abortEvent(message)}, after which
+     * the stream completes.
+     */
+    public <T> Flux<T> stream(String operation, Function<String, T> abortEvent, Flux<T> source) {
+        return Flux.defer(() -> {
+            Operation op = operations.computeIfAbsent(operation, this::createOperation);
+            Sinks.One<String> aborted = Sinks.one();
+            StreamTask streamTask = new StreamTask(operation, aborted::tryEmitValue);
+            String rejection = admit(op, streamTask, () -> {});
+            if (rejection != null) {
+                return Flux.just(abortEvent.apply(rejection));
+            }
+
+            ReactiveRun reactiveRun = new ReactiveRun(op, streamTask);
+            return Mono.fromCallable(reactiveRun::acquire)
+                    .subscribeOn(Schedulers.fromExecutorService(executor))
+                    .flatMapMany(acquired -> source)
+                    .takeUntilOther(aborted.asMono())
+                    .concatWith(Mono.defer(() -> {
+                        // Completes empty unless the stream was cut short by an abort
+                        aborted.tryEmitEmpty();
+                        return aborted.asMono().map(abortEvent);
+                    }))
+                    .doFinally(signal -> reactiveRun.finish());
+        });
+    }
+
+    /**
+     * Reserves a queue slot and registers the task, returning null, or returns the message
+     * to abort it with when the operation's queue is full or the executor is stopping.
+     */
+    private String admit(Operation op, StreamTask streamTask, Runnable start) {
+        // Reserve the queue slot first, so concurrent submissions can't all pass the check
+        int queued = op.queued.incrementAndGet();
+        if (queued > maxQueued) {
+            op.queued.decrementAndGet();
+            log.warn("Rejecting {} task: {} already queued", streamTask.operation, queued - 1);
+            return BUSY_MESSAGE;
+        }
+
+        // Same lock as stop(), so a task is either registered before stop() collects
+        // inFlight (and gets the restarting event) or rejected here
+        synchronized (inFlight) {
+            if (running) {
+                inFlight.add(streamTask);
+                start.run();
+                return null;
+            }
+        }
+        op.queued.decrementAndGet();
+        return RESTARTING_MESSAGE;
+    }
+
+    /**
+     * Abort handler for agent endpoints: a named event carrying {"event":"ERROR","message":...}.
+     */
+    public static Consumer<String> agentError(SseEmitter emitter, String eventName) {
+        return message -> send(emitter, eventName,
+                "{\"event\":\"ERROR\",\"message\":\"" + escape(message) + "\"}");
+    }
+
+    /**
+     * Abort handler for the streamed analysis endpoint: an "error" event with plain text.
+     */
+    public static Consumer<String> plainError(SseEmitter emitter) {
+        return message -> send(emitter, "error", message);
+    }
+
+    /** The same "error" event for the reactive analysis stream. */
+    public static ServerSentEvent<String> errorEvent(String message) {
+        return ServerSentEvent.<String>builder().event("error").data(message).build();
+    }
+
+    private static void send(SseEmitter emitter, String eventName, String data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (Exception ignored) {}
+    }
+
+    private static String escape(String message) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(message));
+    }
+
+    private void run(Operation op, StreamTask streamTask, Runnable task) {
+        try {
+            try {
+                op.permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                op.queued.decrementAndGet();
+            }
+
+            streamTask.started = true;
+            op.active.incrementAndGet();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Streaming task {} failed", streamTask.operation, e);
+            } finally {
+                sample.stop(op.duration);
+                op.active.decrementAndGet();
+                op.permits.release();
+            }
+        } finally {
+            finished(streamTask);
+        }
+    }
+
+    private void finished(StreamTask streamTask) {
+        inFlight.remove(streamTask);
+        synchronized (inFlight) {
+            inFlight.notifyAll();
+        }
+    }
+
+    private Operation createOperation(String name) {
+        int limit = environment.getProperty("app.streaming.limits." + name, Integer.class, defaultLimit);
+        Operation op = new Operation(new Semaphore(limit), Timer.builder("sdlc.streaming.task.duration")
+                .description("Duration of streaming tasks, excluding time spent queued")
+                .tag("operation", name)
+                .register(meterRegistry));
+        Gauge.builder("sdlc.streaming.tasks.queued", op.queued, AtomicInteger::get)
+                .description("Streaming tasks waiting for a concurrency permit")
+                .tag("operation", name)
+                .register(meterRegistry);
+        Gauge.builder("sdlc.streaming.tasks.active", op.active, AtomicInteger::get)
+                .description("Streaming tasks currently running")
+                .tag("operation", name)
+                .register(meterRegistry);
+        log.info("Streaming operation '{}' limited to {} concurrent tasks", name, limit);
+        return op;
+    }
+
+    private void abort(SseEmitter emitter, Consumer<String> onAbort, String message) {
+        try {
+            onAbort.accept(message);
+        } catch (Exception ignored) {}
+        try {
+            emitter.complete();
+        } catch (Exception ignored) {}
+    }
+
+    // -------------------------------------------------------------------------
+    // Lifecycle — stops before the web server's graceful shutdown phase
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        List<StreamTask> accepted;
+        synchronized (inFlight) {
+            running = false;
+            accepted = List.copyOf(inFlight);
+        }
+        log.info("Streaming executor stopping: {} tasks in flight", accepted.size());
+
+        for (StreamTask task : accepted) {
+            if (!task.started) {
+                cancel(task);
+            }
+        }
+
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        synchronized (inFlight) {
+            while (!inFlight.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+                try {
+                    inFlight.wait(Math.max(1, remaining / 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        if (!inFlight.isEmpty()) {
+            log.warn("Streaming executor drain timed out; aborting {} tasks", inFlight.size());
+            inFlight.forEach(this::cancel);
+        }
+        executor.shutdownNow();
+    }
+
+    private void cancel(StreamTask task) {
+        try {
+            task.abort.accept(RESTARTING_MESSAGE);
+        } catch (Exception ignored) {}
+        Future<?> future = task.future;
+        if (future != null) {
+            future.cancel(true);
+        }
+        inFlight.remove(task);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record Operation(Semaphore permits, Timer duration, AtomicInteger queued, AtomicInteger active) {
+        Operation(Semaphore permits, Timer duration) {
+            this(permits, duration, new AtomicInteger(), new AtomicInteger());
+        }
+    }
+
+    private static final class StreamTask {
+        private final String operation;
+        private final Consumer<String> abort;
+        private volatile Future<?> future;
+        private volatile boolean started;
+
+        private StreamTask(String operation, Consumer<String> abort) {
+            this.operation = operation;
+            this.abort = abort;
+        }
+    }
+
+    /**
+     * Permit and metric bookkeeping for one reactive stream. The permit wait and the end of
+     * the stream can race (a client may leave while queued), so whichever moves the state
+     * first decides what has to be undone: a late permit is handed straight back.
+     */
+    private final class ReactiveRun {
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+
+        private final Operation op;
+        private final StreamTask streamTask;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private volatile Timer.Sample sample;
+
+        private ReactiveRun(Operation op, StreamTask streamTask) {
+            this.op = op;
+            this.streamTask = streamTask;
+        }
+
+        private boolean acquire() throws InterruptedException {
+            op.permits.acquire();
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                op.permits.release();
+                return false;
+            }
+            op.queued.decrementAndGet();
+            streamTask.started = true;
+            op.active.incrementAndGet();
+            sample = Timer.start(meterRegistry);
+            return true;
+        }
+
+        private void finish() {
+            int previous = state.getAndSet(DONE);
+            if (previous == DONE) return;
+            if (previous == QUEUED) {
+                op.queued.decrementAndGet();
+            } else {
+                sample.stop(op.duration);
+                op.active.decrementAndGet();
+                op.permits.release();
+            }
+            finished(streamTask);
+        }
+    }
+}
@@ -107,7 +107,7 @@ public class TechDesignService {
                 Thread.sleep(1200);
             }
             // Persist content to DB before emitting COMPLETE
-            projectService.saveArtifact(projectId, artifactType, staticContent);
+            projectService.saveArtifact(projectId, artifactType, staticContent, null, null);
 
             String completePayload = objectMapper.writeValueAsString(Map.of(
                 "event",    "COMPLETE",
@@ -0,0 +1,202 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Loads every {@code templates/{id}/metadata.json} on the classpath once at startup,
+ * validates it, and keeps the parsed metadata, its design-system prompt fragment and
+ * the serialized API responses in memory.
+ *
+ * A malformed template fails startup rather than surfacing mid-generation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateRegistry {
+
+    private static final String METADATA_PATTERN = "classpath*:templates/*/metadata.json";
+
+    private final ObjectMapper objectMapper;
+
+    private Map<String, TemplateDefinition> templates = Map.of();
+    private String indexJson;
+    private String indexEtag;
+
+    @PostConstruct
+    void load() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(METADATA_PATTERN);
+
+        Map<String, TemplateDefinition> loaded = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            String directory = directoryName(resource);
+            JsonNode metadata;
+            try (InputStream in = resource.getInputStream()) {
+                metadata = objectMapper.readTree(in);
+            }
+            validate(directory, metadata);
+
+            String metadataJson = objectMapper.writeValueAsString(metadata);
+            loaded.put(directory, new TemplateDefinition(
+                    directory,
+                    metadata.get("name").asText(),
+                    metadata,
+                    buildPromptFragment(metadata),
+                    metadataJson,
+                    etag(metadataJson)));
+        }
+
+        templates = Map.copyOf(loaded);
+        indexJson = buildIndexJson();
+        indexEtag = etag(indexJson);
+        log.info("Loaded {} design templates: {}", templates.size(), templates.keySet());
+    }
+
+    public Optional<TemplateDefinition> find(String templateId) {
+        if (templateId == null || templateId.isBlank()) return Optional.empty();
+        return Optional.ofNullable(templates.get(templateId));
+    }
+
+    public Collection<TemplateDefinition> getAll() {
+        return templates.values();
+    }
+
+    public String getIndexJson() {
+        return indexJson;
+    }
+
+    public String getIndexEtag() {
+        return indexEtag;
+    }
+
+    // -------------------------------------------------------------------------
+    // Validation
+    // -------------------------------------------------------------------------
+    private void validate(String directory, JsonNode metadata) {
+        if (metadata == null || !metadata.isObject()) {
+            throw invalid(directory, "metadata must be a JSON object");
+        }
+        if (!directory.equals(metadata.path("id").asText())) {
+            throw invalid(directory, "id must match the template directory name");
+        }
+        if (metadata.path("name").asText().isBlank()) {
+            throw invalid(directory, "name is required");
+        }
+        JsonNode tokens = metadata.path("designTokens");
+        if (!tokens.isObject() || tokens.isEmpty()) {
+            throw invalid(directory, "designTokens must be a non-empty object");
+        }
+        tokens.fields().forEachRemaining(e -> {
+            if (!e.getValue().isValueNode()) {
+                throw invalid(directory, "designTokens." + e.getKey() + " must be a scalar value");
+            }
+        });
+        JsonNode components = metadata.path("components");
+        if (!components.isMissingNode() && !components.isArray()) {
+            throw invalid(directory, "components must be an array");
+        }
+    }
+
+    private IllegalStateException invalid(String directory, String reason) {
+        return new IllegalStateException("Invalid template metadata for '" + directory + "': " + reason);
+    }
+
+    // -------------------------------------------------------------------------
+    // Precomputed prompt fragment (the template section of the design system message)
+    // -------------------------------------------------------------------------
+    private String buildPromptFragment(JsonNode metadata) {
+        StringBuilder msg = new StringBuilder();
+        String name = metadata.get("name").asText();
+        String tag = metadata.path("tag").asText("");
+        String promptHint = metadata.path("promptHint").asText("");
+        String description = metadata.path("description").asText("");
+
+        msg.append("SELECTED TEMPLATE: ").append(name);
+        if (!tag.isBlank()) msg.append(" (").append(tag).append(")");
+        msg.append("\n");
+        if (!description.isBlank()) msg.append(description).append("\n");
+        msg.append("\n");
+
+        if (!promptHint.isBlank()) {
+            msg.append("DESIGN GUIDANCE:\n").append(promptHint).append("\n\n");
+        }
+
+        msg.append("DESIGN TOKENS:\n");
+        metadata.get("designTokens").fields().forEachRemaining(e ->
+                msg.append("  ").append(e.getKey()).append(": ").append(e.getValue().asText()).append("\n")
+        );
+        msg.append("\n");
+
+        JsonNode components = metadata.path("components");
+        if (components.isArray() && !components.isEmpty()) {
+            msg.append("COMPONENT LIBRARY: ");
+            components.forEach(c -> msg.append(c.asText()).append(", "));
+            msg.append("\n\n");
+        }
+        return msg.toString();
+    }
+
+    // -------------------------------------------------------------------------
+    // Serialized GET /api/templates body — same shape as the old frontend index.json
+    // -------------------------------------------------------------------------
+    private String buildIndexJson() throws IOException {
+        ObjectNode index = objectMapper.createObjectNode();
+        index.put("version", "1.0");
+        ArrayNode entries = index.putArray("templates");
+
+        List<TemplateDefinition> ordered = templates.values().stream()
+                .sorted(Comparator.comparingInt((TemplateDefinition t) -> t.metadata().path("order").asInt(100))
+                        .thenComparing(TemplateDefinition::id))
+                .toList();
+        for (TemplateDefinition template : ordered) {
+            JsonNode metadata = template.metadata();
+            ObjectNode entry = entries.addObject();
+            entry.put("id", template.id());
+            entry.put("name", template.name());
+            entry.put("tag", metadata.path("tag").asText(""));
+            entry.put("description", metadata.path("description").asText(""));
+            entry.put("thumbnail", "assets/templates/" + template.id() + "/thumbnail.png");
+            entry.put("preview", "assets/templates/" + template.id() + "/preview.png");
+            entry.put("metadata", "templates/" + template.id());
+        }
+        return objectMapper.writeValueAsString(index);
+    }
+
+    private static String directoryName(Resource resource) throws IOException {
+        String path = resource.getURL().getPath();
+        String parent = path.substring(0, path.lastIndexOf('/'));
+        return parent.substring(parent.lastIndexOf('/') + 1);
+    }
+
+    private static String etag(String body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public record TemplateDefinition(
+            String id,
+            String name,
+            JsonNode metadata,
+            String promptFragment,
+            String metadataJson,
+            String etag
+    ) {}
+}
@@ -0,0 +1,118 @@
+package com.sdlcassist.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits extracted document text into stable, content-hashed chunks.
+ *
+ * A chunk always starts at a markdown heading and otherwise closes at the first blank
+ * line after {@value #TARGET_CHARS} characters (or hard at {@value #MAX_CHARS}), so
+ * boundaries depend only on nearby text: editing one section changes that section's
+ * chunk hashes and leaves the rest untouched. Form feeds
+ * ({@link DocumentTextExtractor#PAGE_BREAK}) mark PDF page ends and become page ranges.
+ */
+public final class TextChunker {
+
+    static final int TARGET_CHARS = 1600;
+    static final int MAX_CHARS = 4000;
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final Pattern HEADING = Pattern.compile("^(#{1,6})\\s+(.+?)\\s*$");
+
+    private TextChunker() {}
+
+    public record Chunk(
+            int index,
+            String hash,
+            String headingPath,
+            Integer pageStart,
+            Integer pageEnd,
+            int tokenEstimate,
+            String text
+    ) {}
+
+    public static List<Chunk> chunk(String text) {
+        List<Chunk> chunks = new ArrayList<>();
+        if (text == null || text.isBlank()) return chunks;
+
+        boolean paged = text.indexOf(DocumentTextExtractor.PAGE_BREAK) >= 0;
+        List<String> headings = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int page = 1;
+        int chunkStartPage = 1;
+        int lastContentPage = 1;
+
+        for (String rawLine : text.split("\n", -1)) {
+            int pageBreaks = countPageBreaks(rawLine);
+            String line = pageBreaks > 0 ? rawLine.replace(String.valueOf(DocumentTextExtractor.PAGE_BREAK), "") : rawLine;
+
+            Matcher heading = HEADING.matcher(line);
+            if (heading.matches()) {
+                flush(chunks, current, headings, paged, chunkStartPage, lastContentPage);
+                int level = heading.group(1).length();
+                while (headings.size() >= level) headings.remove(headings.size() - 1);
+                headings.add(heading.group(2));
+            }
+
+            if (current.isEmpty()) {
+                if (line.isBlank()) {
+                    page += pageBreaks;
+                    continue;
+                }
+                chunkStartPage = page;
+            }
+
+            if (line.isBlank() && current.length() >= TARGET_CHARS) {
+                flush(chunks, current, headings, paged, chunkStartPage, lastContentPage);
+            } else {
+                current.append(line).append('\n');
+                if (!line.isBlank()) lastContentPage = page;
+                if (current.length() >= MAX_CHARS) {
+                    flush(chunks, current, headings, paged, chunkStartPage, lastContentPage);
+                }
+            }
+            page += pageBreaks;
+        }
+        flush(chunks, current, headings, paged, chunkStartPage, lastContentPage);
+        return chunks;
+    }
+
+    private static void flush(List<Chunk> chunks, StringBuilder current, List<String> headings,
+                              boolean paged, int pageStart, int pageEnd) {
+        String text = current.toString().strip();
+        current.setLength(0);
+        if (text.isEmpty()) return;
+
+        chunks.add(new Chunk(
+                chunks.size(),
+                sha256(text),
+                headings.isEmpty() ? null : String.join(" > ", headings),
+                paged ? pageStart : null,
+                paged ? pageEnd : null,
+                Math.max(1, text.length() / CHARS_PER_TOKEN),
+                text));
+    }
+
+    private static int countPageBreaks(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == DocumentTextExtractor.PAGE_BREAK) count++;
+        }
+        return count;
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
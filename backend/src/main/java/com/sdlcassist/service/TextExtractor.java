@@ -0,0 +1,24 @@
+package com.sdlcassist.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Turns one document format into plain text. Implementations are Spring beans picked up
+ * by {@link DocumentTextExtractor}, which routes each upload by its MIME type; adding a
+ * format is a matter of adding a bean.
+ *
+ * Implementations must read the file incrementally, cap their output at
+ * {@code app.extraction.max-text-chars} (ending it with
+ * {@link DocumentTextExtractor#TRUNCATED_MARKER}), and call
+ * {@link DocumentTextExtractor#checkCancelled()} regularly.
+ */
+public interface TextExtractor {
+
+    /** MIME types this extractor handles. */
+    Set<String> mimeTypes();
+
+    /** Extracts the text of {@code file}, a spooled copy of the upload owned by the caller. */
+    String extract(Path file) throws IOException;
+}
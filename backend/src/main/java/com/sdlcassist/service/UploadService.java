@@ -0,0 +1,292 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.dto.UploadInitRequest;
+import com.sdlcassist.dto.UploadSessionResponse;
+import com.sdlcassist.model.ProjectFile;
+import com.sdlcassist.model.UploadSession;
+import com.sdlcassist.model.User;
+import com.sdlcassist.repository.UploadSessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable uploads for documents too large for a single multipart request.
+ *
+ * A client initiates an upload with the file's name, type and size, PUTs the bytes in
+ * chunks at explicit offsets, then completes it. Chunks are streamed straight to a
+ * staging file under {@code app.uploads.staging-directory}; the staged file's length is
+ * the upload offset, so after a dropped connection the client asks for the offset and
+ * continues from there instead of starting over. Completing the upload streams the
+ * staged file into the blob store and hands it to extraction like any other upload.
+ *
+ * Sessions expire {@code app.uploads.session-ttl} after their last chunk. Expired
+ * sessions and orphaned staging files are purged on startup and whenever an upload
+ * is initiated.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository sessionRepository;
+    private final FileService fileService;
+    private final ProjectService projectService;
+    private final UserService userService;
+
+    @Value("${app.uploads.staging-directory:}")
+    private String stagingDirectory;
+
+    @Value("${app.uploads.max-file-size:100MB}")
+    private DataSize maxFileSize;
+
+    @Value("${app.uploads.max-chunk-size:16MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${app.uploads.session-ttl:24h}")
+    private Duration sessionTtl;
+
+    private final Map<UUID, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private Path stagingRoot;
+
+    @PostConstruct
+    void init() throws IOException {
+        stagingRoot = stagingDirectory == null || stagingDirectory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "sdlc-uploads")
+                : Path.of(stagingDirectory);
+        Files.createDirectories(stagingRoot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeOnStartup() {
+        purgeExpired();
+
+        Set<String> live = new HashSet<>();
+        sessionRepository.findAllIds().forEach(id -> live.add(stagingFileName(id)));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(stagingRoot, "*.part")) {
+            for (Path file : files) {
+                if (!live.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean upload staging directory {}", stagingRoot, e);
+        }
+    }
+
+    @Transactional
+    public UploadSessionResponse initiate(UUID projectId, UploadInitRequest request, String username) {
+        purgeExpired();
+
+        var project = projectService.findById(projectId);
+        User user = userService.findByUsername(username)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + username));
+
+        String mimeType = request.getMimeType() == null || request.getMimeType().isBlank()
+                ? "application/octet-stream"
+                : request.getMimeType();
+        fileService.validateUpload(request.getFilename(), mimeType, request.getSize(), maxFileSize.toBytes());
+        fileService.ensureCapacity(projectId, 1);
+
+        UploadSession session = sessionRepository.save(UploadSession.builder()
+                .project(project)
+                .createdBy(user)
+                .originalFilename(request.getFilename())
+                .mimeType(mimeType)
+                .totalSize(request.getSize())
+                .expiresAt(Instant.now().plus(sessionTtl))
+                .build());
+        log.info("Started resumable upload {} of {} ({} bytes)", session.getId(), session.getOriginalFilename(), session.getTotalSize());
+        return toResponse(session, projectId, 0);
+    }
+
+    public UploadSessionResponse getStatus(UUID projectId, UUID uploadId, String username) {
+        UploadSession session = findSession(projectId, uploadId, username);
+        return toResponse(session, projectId, receivedBytes(uploadId));
+    }
+
+    /**
+     * Appends one chunk read from {@code body}. {@code offset} must equal the bytes
+     * received so far, otherwise an {@link IllegalStateException} is thrown and nothing
+     * is written. Bytes are written as they arrive, so a chunk cut short by a dropped
+     * connection still advances the offset by what was received.
+     *
+     * Runs outside any transaction: no database connection is held while the body streams.
+     */
+    public UploadSessionResponse appendChunk(UUID projectId, UUID uploadId, long offset,
+                                             InputStream body, String username) throws IOException {
+        UploadSession session = findSession(projectId, uploadId, username);
+
+        ReentrantLock lock = locks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new IllegalStateException("Another chunk of this upload is still being written");
+        }
+        try {
+            long received = receivedBytes(uploadId);
+            if (offset != received) {
+                throw new IllegalStateException("Chunk offset " + offset + " does not match upload offset " + received);
+            }
+
+            long limit = Math.min(maxChunkSize.toBytes(), session.getTotalSize() - received);
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(stagingFile(uploadId),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.position(received);
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (written + read > limit) {
+                        throw new IllegalArgumentException("Chunk exceeds the remaining upload size or the "
+                                + maxChunkSize.toMegabytes() + "MB chunk limit");
+                    }
+                    ByteBuffer slice = ByteBuffer.wrap(buffer, 0, read);
+                    while (slice.hasRemaining()) {
+                        channel.write(slice);
+                    }
+                    written += read;
+                }
+                channel.force(false);
+            }
+
+            Instant expiresAt = Instant.now().plus(sessionTtl);
+            sessionRepository.extend(uploadId, expiresAt);
+            session.setExpiresAt(expiresAt);
+            return toResponse(session, projectId, received + written);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Turns a fully received upload into a project file. The staged bytes are removed
+     * once the new file is committed; if completion fails they stay, so it can be retried.
+     */
+    @Transactional
+    public ProjectFile complete(UUID projectId, UUID uploadId, String username) {
+        UploadSession session = findSession(projectId, uploadId, username);
+
+        ReentrantLock lock = locks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new IllegalStateException("A chunk of this upload is still being written");
+        }
+        try {
+            long received = receivedBytes(uploadId);
+            if (received != session.getTotalSize()) {
+                throw new IllegalStateException("Upload is incomplete: received " + received
+                        + " of " + session.getTotalSize() + " bytes");
+            }
+
+            ProjectFile file = fileService.storeUpload(projectId, username, session.getOriginalFilename(),
+                    session.getMimeType(), session.getTotalSize(), stagingFile(uploadId));
+            sessionRepository.delete(session);
+            deleteStagingAfterCommit(uploadId);
+            log.info("Completed resumable upload {} as file {}", uploadId, file.getId());
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Transactional
+    public void abort(UUID projectId, UUID uploadId, String username) {
+        sessionRepository.delete(findSession(projectId, uploadId, username));
+        deleteStagingAfterCommit(uploadId);
+    }
+
+    private void purgeExpired() {
+        List<UUID> expired = sessionRepository.findExpiredIds(Instant.now());
+        if (expired.isEmpty()) return;
+
+        sessionRepository.deleteAllByIdInBatch(expired);
+        expired.forEach(this::deleteStaging);
+        log.info("Purged {} expired upload sessions", expired.size());
+    }
+
+    private UploadSession findSession(UUID projectId, UUID uploadId, String username) {
+        return sessionRepository.findByIdAndProjectIdAndCreatedByUsername(uploadId, projectId, username)
+                .filter(session -> session.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new EntityNotFoundException("Upload not found: " + uploadId));
+    }
+
+    private long receivedBytes(UUID uploadId) {
+        try {
+            Path file = stagingFile(uploadId);
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteStagingAfterCommit(UUID uploadId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteStaging(uploadId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteStaging(uploadId);
+            }
+        });
+    }
+
+    private void deleteStaging(UUID uploadId) {
+        locks.remove(uploadId);
+        try {
+            Files.deleteIfExists(stagingFile(uploadId));
+        } catch (IOException e) {
+            log.warn("Failed to delete staged upload {}", uploadId, e);
+        }
+    }
+
+    private Path stagingFile(UUID uploadId) {
+        return stagingRoot.resolve(stagingFileName(uploadId));
+    }
+
+    private static String stagingFileName(UUID uploadId) {
+        return uploadId + ".part";
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session, UUID projectId, long offset) {
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .projectId(projectId)
+                .originalFilename(session.getOriginalFilename())
+                .mimeType(session.getMimeType())
+                .size(session.getTotalSize())
+                .offset(offset)
+                .maxChunkSize(maxChunkSize.toBytes())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
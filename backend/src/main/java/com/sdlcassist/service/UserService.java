@@ -1,8 +1,10 @@
 package com.sdlcassist.service;
 
+import com.sdlcassist.config.CacheConfig;
 import com.sdlcassist.model.User;
 import com.sdlcassist.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -62,6 +64,7 @@ public class UserService implements UserDetailsService {
         return userRepository.existsByUsername(username);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)
     public void resetPassword(UUID id, String newPassword) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -69,6 +72,7 @@ public class UserService implements UserDetailsService {
         userRepository.save(user);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)
     public void deleteUser(UUID id) {
         if (!userRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
@@ -76,6 +80,7 @@ public class UserService implements UserDetailsService {
         userRepository.deleteById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)
     public User updateUser(UUID id, String displayName, User.Role role, String password) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
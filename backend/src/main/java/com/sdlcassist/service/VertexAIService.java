@@ -3,7 +3,9 @@ package com.sdlcassist.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.auth.oauth2.GoogleCredentials;
-import com.sdlcassist.model.ProjectFile;
+import com.sdlcassist.dto.AiAnalysisResponse;
+import com.sdlcassist.dto.ProjectFileText;
+import com.sdlcassist.service.PromptService.Prompt;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +30,8 @@ import java.util.stream.Collectors;
 public class VertexAIService {
 
     private final FileService fileService;
+    private final ChunkService chunkService;
+    private final PromptService promptService;
     private final ObjectMapper objectMapper;
 
     @Value("${app.vertexai.project-id}")
@@ -41,12 +46,14 @@ public class VertexAIService {
     @Value("${app.vertexai.service-account-json:}")
     private String serviceAccountJson;
 
-    public String analyzeRequirements(UUID projectId) {
+    public AiAnalysisResponse analyzeRequirements(UUID projectId) {
         String combinedText = collectExtractedText(projectId);
-        String userMessage = buildUserMessage(combinedText);
+        Set<String> chunkHashes = chunkService.currentChunkHashes(projectId);
+        Prompt prompt = promptService.get("vertex-planning-analysis");
+        String userMessage = prompt.render(Map.of("DOCUMENTS", combinedText));
 
-        log.info("Calling Vertex AI agent for project {}, message length: {} chars",
-                projectId, userMessage.length());
+        log.info("Calling Vertex AI agent for project {} with prompt {}, message length: {} chars",
+                projectId, prompt.stamp(), userMessage.length());
 
         try {
             String accessToken = getAccessToken();
@@ -58,7 +65,8 @@ public class VertexAIService {
             // Step 2: Send message via :streamQuery and collect the full response
             String result = streamQuery(accessToken, sessionId, projectId.toString(), userMessage);
             log.info("Vertex AI agent response collected ({} chars)", result.length());
-            return result;
+            chunkService.recordAnalysis(projectId, chunkHashes);
+            return AiAnalysisResponse.builder().content(result).promptVersion(prompt.stamp()).build();
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -306,15 +314,10 @@ public class VertexAIService {
         return client.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
-    private String buildUserMessage(String documentsContent) {
-        return "Generate a comprehensive Product Requirements Document (PRD) based on the following uploaded project documents. " +
-                "Format the output as clean Markdown.\n\n" + documentsContent;
-    }
-
     private String collectExtractedText(UUID projectId) {
-        List<ProjectFile> files = fileService.getFilesByProject(projectId);
+        List<ProjectFileText> files = fileService.getFilesForAnalysis(projectId);
         if (files.isEmpty()) {
-            throw new IllegalArgumentException("No files uploaded for this project. Upload documents first.");
+            throw new IllegalArgumentException("No processed documents for this project. Upload documents first.");
         }
 
         String combinedText = files.stream()
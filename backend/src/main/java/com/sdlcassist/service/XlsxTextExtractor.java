@@ -0,0 +1,292 @@
+package com.sdlcassist.service;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads .xlsx workbooks without building an XSSFWorkbook or opening an OPCPackage.
+ *
+ * Like the DOCX and PPTX readers, every part is read through {@link OoxmlParts#open}, so
+ * none can inflate past {@code app.extraction.docx.max-xml-mb}. Sheet order and names come
+ * from {@code xl/workbook.xml}; each worksheet is parsed with SAX through POI's
+ * {@link XSSFSheetXMLHandler}, which hands over one formatted cell at a time, so memory
+ * doesn't grow with the number of rows or sheets. The shared-strings part is the one thing
+ * held, and only up to the output cap in characters: no more text than that can ever be
+ * written out. Every sheet becomes a {@code # <sheet name>} heading followed by its rows as
+ * {@code | a | b |} lines, and parsing stops as soon as the output cap is reached.
+ */
+@Component
+public class XlsxTextExtractor implements TextExtractor {
+
+    public static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private static final String WORKBOOK_PART = "xl/workbook.xml";
+    private static final String SHARED_STRINGS_RELATIONSHIP = "/sharedStrings";
+    private static final String STYLES_RELATIONSHIP = "/styles";
+
+    @Value("${app.extraction.max-text-chars:2000000}")
+    private int maxTextChars;
+
+    @Value("${app.extraction.docx.max-xml-mb:256}")
+    private long maxXmlMb;
+
+    @Override
+    public Set<String> mimeTypes() {
+        return Set.of(XLSX);
+    }
+
+    @Override
+    public String extract(Path file) throws IOException {
+        long maxPartBytes = maxXmlMb * 1024 * 1024;
+        CappedText text = new CappedText(maxTextChars);
+
+        try (ZipFile xlsx = new ZipFile(file.toFile())) {
+            List<Sheet> sheets = sheets(xlsx, maxPartBytes);
+
+            Map<String, String> targetsById = new HashMap<>();
+            String sharedStringsPart = null;
+            String stylesPart = null;
+            for (OoxmlParts.Relationship rel : OoxmlParts.relationships(xlsx, WORKBOOK_PART, maxPartBytes)) {
+                targetsById.put(rel.id(), rel.target());
+                if (rel.type() == null) continue;
+                if (rel.type().endsWith(SHARED_STRINGS_RELATIONSHIP)) sharedStringsPart = rel.target();
+                if (rel.type().endsWith(STYLES_RELATIONSHIP)) stylesPart = rel.target();
+            }
+
+            SharedStrings strings = readSharedStrings(xlsx, sharedStringsPart, maxPartBytes, maxTextChars);
+            StylesTable styles = readStyles(xlsx, stylesPart, maxPartBytes);
+            DataFormatter formatter = new DataFormatter();
+
+            for (Sheet sheet : sheets) {
+                if (text.isFull()) break;
+                String target = targetsById.get(sheet.relationshipId());
+                ZipEntry part = target != null ? xlsx.getEntry(target) : null;
+                if (part == null) continue;
+
+                try (InputStream in = OoxmlParts.open(xlsx, part, maxPartBytes)) {
+                    text.append("# " + sheet.name() + "\n\n");
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            styles, null, strings, new RowWriter(text), formatter, false));
+                    parser.parse(new InputSource(in));
+                    text.append("\n");
+                } catch (OutputFull e) {
+                    break;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("Malformed XLSX workbook", e);
+        }
+        return text.toString();
+    }
+
+    // -------------------------------------------------------------------------
+    // Sheet order: workbook.xml sheets -> relationship ids -> part names
+    // -------------------------------------------------------------------------
+    private record Sheet(String name, String relationshipId) {}
+
+    private List<Sheet> sheets(ZipFile xlsx, long maxPartBytes) throws IOException {
+        ZipEntry workbook = xlsx.getEntry(WORKBOOK_PART);
+        if (workbook == null) {
+            throw new IOException("Not a workbook: missing " + WORKBOOK_PART);
+        }
+
+        List<Sheet> sheets = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try (InputStream in = OoxmlParts.open(xlsx, workbook, maxPartBytes)) {
+            reader = OoxmlParts.newReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(reader.getLocalName())) {
+                    // sheet has its own numeric "sheetId"; the relationship id is the namespaced r:id
+                    String relationshipId = null;
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        String namespace = reader.getAttributeNamespace(i);
+                        if ("id".equals(reader.getAttributeLocalName(i)) && namespace != null && !namespace.isEmpty()) {
+                            relationshipId = reader.getAttributeValue(i);
+                        }
+                    }
+                    String name = OoxmlParts.attribute(reader, "name");
+                    if (relationshipId == null) continue;
+                    sheets.add(new Sheet(name != null ? name : "Sheet" + (sheets.size() + 1), relationshipId));
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw OoxmlParts.toIOException(e, "Malformed workbook part in XLSX");
+        } finally {
+            OoxmlParts.close(reader);
+        }
+        return sheets;
+    }
+
+    // -------------------------------------------------------------------------
+    // Shared strings and styles
+    // -------------------------------------------------------------------------
+    private static StylesTable readStyles(ZipFile xlsx, String partName, long maxPartBytes) throws IOException {
+        ZipEntry part = partName != null ? xlsx.getEntry(partName) : null;
+        if (part == null) return new StylesTable();
+        try (InputStream in = OoxmlParts.open(xlsx, part, maxPartBytes)) {
+            return new StylesTable(in);
+        }
+    }
+
+    /**
+     * Reads the shared-strings part with StAX, keeping plain text only (no rich runs, and
+     * phonetic {@code rPh} hints skipped). Once {@code maxChars} characters are held, later
+     * strings are kept as empty: a cell could not have added them to the capped output
+     * anyway, and their indexes still line up.
+     */
+    private static SharedStrings readSharedStrings(ZipFile xlsx, String partName, long maxPartBytes,
+                                                   int maxChars) throws IOException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry part = partName != null ? xlsx.getEntry(partName) : null;
+        if (part == null) return new StringList(strings);
+
+        StringBuilder item = new StringBuilder();
+        long held = 0;
+        boolean inText = false;
+        int phonetic = 0;
+        int events = 0;
+
+        XMLStreamReader reader = null;
+        try (InputStream in = OoxmlParts.open(xlsx, part, maxPartBytes)) {
+            reader = OoxmlParts.newReader(in);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if ((++events & 0xFFF) == 0) DocumentTextExtractor.checkCancelled();
+
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "si" -> item.setLength(0);
+                            case "rPh" -> phonetic++;
+                            case "t" -> inText = phonetic == 0;
+                            default -> {}
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (inText && held + item.length() < maxChars) item.append(reader.getText());
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "t" -> inText = false;
+                            case "rPh" -> phonetic--;
+                            case "si" -> {
+                                int keep = (int) Math.max(0, Math.min(item.length(), maxChars - held));
+                                strings.add(item.substring(0, keep));
+                                held += keep;
+                            }
+                            default -> {}
+                        }
+                    }
+                    default -> {}
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw OoxmlParts.toIOException(e, "Malformed shared strings part in XLSX");
+        } finally {
+            OoxmlParts.close(reader);
+        }
+        return new StringList(strings);
+    }
+
+    private record StringList(List<String> strings) implements SharedStrings {
+
+        @Override
+        public RichTextString getItemAt(int idx) {
+            return new XSSFRichTextString(idx >= 0 && idx < strings.size() ? strings.get(idx) : "");
+        }
+
+        @Override
+        public int getCount() {
+            return strings.size();
+        }
+
+        @Override
+        public int getUniqueCount() {
+            return strings.size();
+        }
+    }
+
+    /** Thrown out of the SAX callbacks to stop parsing once the output cap is reached. */
+    private static final class OutputFull extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private OutputFull() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** Writes each row as a markdown table line, padding skipped columns with blanks. */
+    private static final class RowWriter implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final CappedText text;
+        private final List<String> cells = new ArrayList<>();
+
+        private RowWriter(CappedText text) {
+            this.text = text;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new UncheckedIOException(new InterruptedIOException("Extraction cancelled"));
+            }
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.stream().allMatch(String::isBlank)) return;
+            if (!text.append("| " + String.join(" | ", cells) + " |\n")) {
+                throw new OutputFull();
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            String value = formattedValue == null ? "" : formattedValue.strip().replace("\n", " ").replace("|", "\\|");
+            if (column < cells.size()) {
+                cells.set(column, value);
+            } else {
+                cells.add(value);
+            }
+        }
+    }
+}
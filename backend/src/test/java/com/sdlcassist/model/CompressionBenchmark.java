@@ -0,0 +1,129 @@
+package com.sdlcassist.model;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.IntSupplier;
+
+/**
+ * Stored size and read/write cost of {@link CompressedTextConverter} against plain UTF-8
+ * for prototype-sized HTML.
+ *
+ * Given a JDBC URL it also reports what is actually in {@code project_screens}: the
+ * on-disk size of compressed and legacy plain rows, and the shared-buffer hit rate of the
+ * table and its TOAST relation. Run the DB part before and after the backfill
+ * ({@code pg_stat_reset()} in between) to compare.
+ *
+ * Not a test; run it by hand from {@code backend/}:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.sdlcassist.model.CompressionBenchmark \
+ *     [jdbc:postgresql://host:5432/db user password]
+ * </pre>
+ */
+public class CompressionBenchmark {
+
+    private static final int[] SIZES_KB = {4, 16, 64, 256};
+    private static final int ITERATIONS = 2_000;
+
+    /** Keeps the JIT from discarding the measured work. */
+    private static volatile int sink;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%8s %10s %10s %7s %12s %12s %12s %12s%n",
+                "size", "plain B", "stored B", "ratio", "write plain", "write comp", "read plain", "read comp");
+        for (int kb : SIZES_KB) {
+            String html = prototype(kb * 1024);
+            byte[] plain = html.getBytes(StandardCharsets.UTF_8);
+            byte[] stored = CompressedTextConverter.compress(html);
+
+            double writePlain = nanosPerOp(() -> html.getBytes(StandardCharsets.UTF_8).length);
+            double writeCompressed = nanosPerOp(() -> CompressedTextConverter.compress(html).length);
+            double readPlain = nanosPerOp(() -> new String(plain, StandardCharsets.UTF_8).length());
+            double readCompressed = nanosPerOp(() -> CompressedTextConverter.decompress(stored).length());
+            if (!CompressedTextConverter.decompress(stored).equals(html)) {
+                throw new IllegalStateException("Round trip failed at " + kb + " KB");
+            }
+
+            System.out.printf("%6dKB %,10d %,10d %6.1f%% %10.1fus %10.1fus %10.1fus %10.1fus%n",
+                    kb, plain.length, stored.length, 100.0 * stored.length / plain.length,
+                    writePlain / 1000, writeCompressed / 1000, readPlain / 1000, readCompressed / 1000);
+        }
+
+        if (args.length >= 3) {
+            try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+                reportDatabase(connection);
+            }
+        }
+    }
+
+    private static void reportDatabase(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            System.out.println();
+            try (ResultSet rows = statement.executeQuery("""
+                    SELECT get_byte(prototype_content, 0) = 255 AS compressed,
+                           count(*) AS rows,
+                           coalesce(sum(octet_length(prototype_content)), 0) AS logical_bytes,
+                           coalesce(sum(pg_column_size(prototype_content)), 0) AS stored_bytes
+                    FROM project_screens
+                    WHERE prototype_content IS NOT NULL AND octet_length(prototype_content) > 0
+                    GROUP BY 1 ORDER BY 1""")) {
+                while (rows.next()) {
+                    System.out.printf("%-10s rows=%,d value bytes=%,d on disk=%,d%n",
+                            rows.getBoolean("compressed") ? "compressed" : "plain",
+                            rows.getLong("rows"), rows.getLong("logical_bytes"), rows.getLong("stored_bytes"));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("""
+                    SELECT heap_blks_hit, heap_blks_read, toast_blks_hit, toast_blks_read,
+                           pg_total_relation_size('project_screens') AS total_bytes
+                    FROM pg_statio_user_tables WHERE relname = 'project_screens'""")) {
+                if (rows.next()) {
+                    System.out.printf("project_screens total size=%,d bytes, heap hit rate=%s, toast hit rate=%s%n",
+                            rows.getLong("total_bytes"),
+                            hitRate(rows.getLong("heap_blks_hit"), rows.getLong("heap_blks_read")),
+                            hitRate(rows.getLong("toast_blks_hit"), rows.getLong("toast_blks_read")));
+                }
+            }
+        }
+    }
+
+    private static String hitRate(long hit, long read) {
+        return hit + read == 0 ? "n/a" : String.format("%.2f%%", 100.0 * hit / (hit + read));
+    }
+
+    private static double nanosPerOp(IntSupplier op) {
+        int total = 0;
+        for (int i = 0; i < ITERATIONS / 4; i++) total += op.getAsInt();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) total += op.getAsInt();
+        long elapsed = System.nanoTime() - start;
+        sink = total;
+        return (double) elapsed / ITERATIONS;
+    }
+
+    /** A generated-looking prototype: inline CSS followed by repeated cards and table rows. */
+    private static String prototype(int length) {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html lang="en"><head><meta charset="utf-8"><title>Order history</title>
+                <style>
+                  :root { --color-primary: #1f6feb; --color-surface: #ffffff; --space-md: 16px; }
+                  .card { border-radius: 8px; padding: var(--space-md); box-shadow: 0 1px 3px rgba(0,0,0,.12); }
+                  table { width: 100%; border-collapse: collapse; } td, th { padding: 8px 12px; }
+                </style></head><body><main class="container">
+                """);
+        for (int row = 1; html.length() < length; row++) {
+            html.append("  <div class=\"card\"><h3>Order #").append(10_000 + row).append("</h3>")
+                    .append("<table><tr><th>Status</th><td><span class=\"badge badge-")
+                    .append(row % 3 == 0 ? "success" : "pending").append("\">")
+                    .append(row % 3 == 0 ? "Delivered" : "Processing").append("</span></td></tr>")
+                    .append("<tr><th>Total</th><td>$").append(row * 17 % 500).append(".").append(row % 100)
+                    .append("</td></tr></table><button class=\"btn btn-secondary\">View details</button></div>\n");
+        }
+        return html.append("</main></body></html>\n").toString();
+    }
+}
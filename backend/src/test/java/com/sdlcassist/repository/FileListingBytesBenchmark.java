@@ -0,0 +1,256 @@
+package com.sdlcassist.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bytes Postgres sends back per request for a project's file list and for the analysis
+ * input, before and after {@link ProjectFileRepository}'s column projections:
+ * <ul>
+ *   <li>before: full {@code ProjectFile} rows, which still carried {@code extracted_text},
+ *       plus the {@code projects} row that {@code FileResponse.from} pulled in through the
+ *       lazy proxy; analysis loaded the same rows and dropped unfinished files in memory;</li>
+ *   <li>after: {@link ProjectFileRepository#findSummariesByProjectId}'s columns for the
+ *       list, and that plus {@link ProjectFileRepository#findTextsByProjectIdAndExtractionStatus}
+ *       (name and text of READY files) for analysis.</li>
+ * </ul>
+ *
+ * The JDBC connection goes through a local TCP relay that counts the bytes coming back
+ * from the server, so protocol overhead (row descriptions, per-row framing) is included.
+ * Each request is run once to warm the statement cache and then averaged over
+ * {@value #REQUESTS} runs. The tables are created in a scratch schema that is dropped
+ * afterwards.
+ *
+ * Not a test; run it by hand from {@code backend/} against a database you can create a
+ * schema in:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     com.sdlcassist.repository.FileListingBytesBenchmark jdbc:postgresql://localhost:5432/sdlc_assist postgres secret
+ * </pre>
+ */
+public class FileListingBytesBenchmark {
+
+    private static final String SCHEMA = "file_listing_bench";
+    private static final int FILES = 20;
+    private static final int READY_FILES = 15;
+    private static final int TEXT_CHARS = 100 * 1024;
+    private static final int REQUESTS = 20;
+
+    private static final String ENTITY_COLUMNS = "f.id, f.content_hash, f.created_at, f.extraction_attempts, " +
+            "f.extraction_error, f.extraction_status, f.extracted_text, f.file_size, f.mime_type, " +
+            "f.original_filename, f.project_id, f.updated_at, f.uploaded_by";
+    private static final String SUMMARY_COLUMNS = "f.id, f.project_id, f.original_filename, f.mime_type, " +
+            "f.file_size, f.content_hash, f.extraction_status, f.extraction_error, f.created_at";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: FileListingBytesBenchmark <jdbc-url> <user> <password>");
+            System.exit(2);
+        }
+        UUID projectId = UUID.randomUUID();
+        try (Relay relay = new Relay(URI.create(args[0].substring("jdbc:".length())));
+             Connection connection = DriverManager.getConnection(relay.jdbcUrl(args[0]), args[1], args[2])) {
+            connection.setAutoCommit(true);
+            createSchema(connection, projectId, new Random(36));
+            try {
+                long listBefore = measure(relay, "file list, entities + project", () -> {
+                    query(connection, "SELECT " + ENTITY_COLUMNS + " FROM " + SCHEMA + ".project_files f " +
+                            "WHERE f.project_id = ? ORDER BY f.created_at DESC", projectId);
+                    query(connection, "SELECT p.* FROM " + SCHEMA + ".projects p WHERE p.id = ?", projectId);
+                });
+                long listAfter = measure(relay, "file list, summary projection", () ->
+                        query(connection, "SELECT " + SUMMARY_COLUMNS + " FROM " + SCHEMA + ".project_files f " +
+                                "WHERE f.project_id = ? ORDER BY f.created_at DESC", projectId));
+                long analysisBefore = measure(relay, "analysis input, entities", () ->
+                        query(connection, "SELECT " + ENTITY_COLUMNS + " FROM " + SCHEMA + ".project_files f " +
+                                "WHERE f.project_id = ? ORDER BY f.created_at DESC", projectId));
+                long analysisAfter = measure(relay, "analysis input, projections", () -> {
+                    query(connection, "SELECT " + SUMMARY_COLUMNS + " FROM " + SCHEMA + ".project_files f " +
+                            "WHERE f.project_id = ? ORDER BY f.created_at DESC", projectId);
+                    query(connection, "SELECT f.original_filename, b.extracted_text FROM " + SCHEMA + ".project_files f " +
+                            "JOIN " + SCHEMA + ".file_blobs b ON b.hash = f.content_hash " +
+                            "WHERE f.project_id = ? AND f.extraction_status = 'READY' ORDER BY f.created_at DESC", projectId);
+                });
+                System.out.printf("%n%d files, %d READY with %,d chars of text each%n", FILES, READY_FILES, TEXT_CHARS);
+                System.out.printf("file list: %.2f%% of the bytes, analysis input: %.1f%% of the bytes%n",
+                        100.0 * listAfter / listBefore, 100.0 * analysisAfter / analysisBefore);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void run() throws SQLException;
+    }
+
+    private static long measure(Relay relay, String name, Request request) throws SQLException {
+        request.run();
+        long start = relay.received.get();
+        for (int i = 0; i < REQUESTS; i++) request.run();
+        long bytes = (relay.received.get() - start) / REQUESTS;
+        System.out.printf("%-32s %,12d bytes per request%n", name, bytes);
+        return bytes;
+    }
+
+    /** Reads every column of every row, the way Hibernate hydrates a result. */
+    private static void query(Connection connection, String sql, UUID projectId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, projectId);
+            try (ResultSet rows = statement.executeQuery()) {
+                int columns = rows.getMetaData().getColumnCount();
+                while (rows.next()) {
+                    for (int c = 1; c <= columns; c++) rows.getObject(c);
+                }
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Counting relay between the driver and the server
+    // -------------------------------------------------------------------------
+
+    private static final class Relay implements AutoCloseable {
+        private final ServerSocket server;
+        private final AtomicLong received = new AtomicLong();
+
+        private Relay(URI target) throws IOException {
+            server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            int port = target.getPort() > 0 ? target.getPort() : 5432;
+            Thread.ofVirtual().start(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        Socket client = server.accept();
+                        Socket upstream = new Socket(target.getHost(), port);
+                        Thread.ofVirtual().start(() -> pump(client, upstream, null));
+                        Thread.ofVirtual().start(() -> pump(upstream, client, received));
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        /** The same URL with the host and port pointing at the relay. */
+        private String jdbcUrl(String url) {
+            URI target = URI.create(url.substring("jdbc:".length()));
+            return "jdbc:postgresql://127.0.0.1:" + server.getLocalPort() + target.getRawPath()
+                    + (target.getRawQuery() != null ? "?" + target.getRawQuery() : "");
+        }
+
+        private static void pump(Socket from, Socket to, AtomicLong counter) {
+            byte[] buffer = new byte[16384];
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                    if (counter != null) counter.addAndGet(read);
+                }
+            } catch (IOException ignored) {
+                // Either side closed the connection
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Setup
+    // -------------------------------------------------------------------------
+
+    /**
+     * The current tables, plus the {@code extracted_text} column {@code project_files} had
+     * before the text moved to the shared blob; both copies hold the same text.
+     */
+    private static void createSchema(Connection connection, UUID projectId, Random random) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("CREATE TABLE " + SCHEMA + ".projects (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL, " +
+                    "description TEXT, selected_template_id VARCHAR(100), ux_design_status VARCHAR(20), " +
+                    "technical_design_status VARCHAR(20), ux_design_completed_at TIMESTAMPTZ, tech_preferences JSONB, " +
+                    "tech_preferences_saved_at TIMESTAMPTZ, corporate_guidelines_filename VARCHAR(255), " +
+                    "tech_design_status VARCHAR(20), tech_design_completed_at TIMESTAMPTZ, status VARCHAR(50) NOT NULL, " +
+                    "owner_id UUID, created_at TIMESTAMPTZ NOT NULL, updated_at TIMESTAMPTZ NOT NULL)");
+            statement.execute("CREATE TABLE " + SCHEMA + ".file_blobs (hash VARCHAR(64) PRIMARY KEY, data BYTEA NOT NULL, " +
+                    "size BIGINT NOT NULL, ref_count INT NOT NULL, extracted_text TEXT, created_at TIMESTAMPTZ NOT NULL)");
+            statement.execute("CREATE TABLE " + SCHEMA + ".project_files (id UUID PRIMARY KEY, " +
+                    "project_id UUID NOT NULL REFERENCES " + SCHEMA + ".projects(id), uploaded_by UUID NOT NULL, " +
+                    "original_filename VARCHAR(500) NOT NULL, mime_type VARCHAR(100) NOT NULL, file_size BIGINT NOT NULL, " +
+                    "content_hash VARCHAR(64) NOT NULL, extracted_text TEXT, extraction_status VARCHAR(20) NOT NULL, " +
+                    "extraction_error TEXT, extraction_attempts INT NOT NULL, created_at TIMESTAMPTZ NOT NULL, " +
+                    "updated_at TIMESTAMPTZ NOT NULL)");
+            statement.execute("CREATE INDEX ON " + SCHEMA + ".project_files (project_id)");
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + SCHEMA + ".projects " +
+                "VALUES (?, 'Benchmark project', 'An order management system', 'default', 'COMPLETED', 'UNLOCKED', " +
+                "now(), '{\"backend\":\"java\",\"frontend\":\"angular\"}', now(), 'guidelines.pdf', 'IN_PROGRESS', " +
+                "NULL, 'ACTIVE', ?, now(), now())")) {
+            statement.setObject(1, projectId);
+            statement.setObject(2, UUID.randomUUID());
+            statement.executeUpdate();
+        }
+        for (int i = 0; i < FILES; i++) {
+            boolean ready = i < READY_FILES;
+            String hash = String.format("%064x", i);
+            String text = ready ? text(random, TEXT_CHARS) : null;
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + SCHEMA + ".file_blobs " +
+                    "VALUES (?, ?, ?, 1, ?, now())")) {
+                byte[] data = new byte[TEXT_CHARS / 2];
+                random.nextBytes(data);
+                statement.setString(1, hash);
+                statement.setBytes(2, data);
+                statement.setLong(3, data.length);
+                statement.setString(4, text);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + SCHEMA + ".project_files " +
+                    "VALUES (?, ?, ?, ?, 'application/pdf', ?, ?, ?, ?, NULL, 1, now() - ? * interval '1 minute', now())")) {
+                statement.setObject(1, UUID.randomUUID());
+                statement.setObject(2, projectId);
+                statement.setObject(3, UUID.randomUUID());
+                statement.setString(4, "requirements-" + i + ".pdf");
+                statement.setLong(5, TEXT_CHARS / 2);
+                statement.setString(6, hash);
+                statement.setString(7, text);
+                statement.setString(8, ready ? "READY" : "PENDING");
+                statement.setInt(9, i);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    /** Requirement-like prose. */
+    private static String text(Random random, int length) {
+        String[] words = {"the", "user", "shall", "be", "able", "to", "filter", "orders", "by", "status",
+                "system", "must", "return", "within", "two", "seconds", "report", "export", "audit", "record"};
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.length)]).append(random.nextInt(40) == 0 ? ".\n" : " ");
+        }
+        return text.substring(0, length);
+    }
+}
@@ -0,0 +1,145 @@
+package com.sdlcassist.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EXPLAIN ANALYZE timings of {@link SearchRepository}'s queries over 10,000 projects,
+ * across the whole corpus and within one project, against the old single query that
+ * filtered by project outside the UNION ALL with {@code :projectId IS NULL OR ...}.
+ *
+ * The data comes from {@code benchmark/search_seed.sql} (test resources), which builds a
+ * scratch schema of 10,000 projects with 30,000 artifacts and 120,000 document chunks;
+ * the schema is dropped afterwards. Each query is run as a prepared statement, the way
+ * the JDBC driver runs it once a statement is reused, under both a custom plan (planned
+ * for the bound values) and a generic plan (planned once for any values, which Postgres
+ * may switch to after five executions). Times are the median execution time of
+ * {@value #RUNS} runs after one warm-up run, plus planning time.
+ *
+ * Not a test; run it by hand from {@code backend/} against a database you can create a
+ * schema in (seeding takes a minute or two):
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     com.sdlcassist.repository.SearchQueryBenchmark jdbc:postgresql://localhost:5432/sdlc_assist postgres secret
+ * </pre>
+ */
+public class SearchQueryBenchmark {
+
+    private static final String SCHEMA = "search_bench";
+    private static final int RUNS = 5;
+    private static final int LIMIT = 20;
+
+    // From the most to the least common words in the seed's vocabulary, then a component name
+    private static final List<String> QUERIES = List.of("order", "payment status", "\"order status\"",
+            "tracking", "cryogenic hazmat", "component417");
+
+    private static final String BEFORE = SearchRepository.SEARCH_ALL.replace(") r\n",
+            ") r\n    WHERE CAST(:projectId AS UUID) IS NULL OR r.project_id = CAST(:projectId AS UUID)\n");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: SearchQueryBenchmark <jdbc-url> <user> <password>");
+            System.exit(2);
+        }
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            connection.setAutoCommit(true);
+            long start = System.nanoTime();
+            seed(connection);
+            System.out.printf("seeded in %.0f s: %s%n", (System.nanoTime() - start) / 1e9, counts(connection));
+            try {
+                String projectId = single(connection, "SELECT CAST(id AS TEXT) FROM projects ORDER BY id OFFSET 5000 LIMIT 1");
+                prepare(connection, "before_search", BEFORE);
+                prepare(connection, "after_search_all", SearchRepository.SEARCH_ALL);
+                prepare(connection, "after_search_project", SearchRepository.SEARCH_PROJECT);
+
+                System.out.printf("%n%-20s %-14s %-22s %12s %12s%n", "query", "scope", "statement",
+                        "custom plan", "generic plan");
+                for (String query : QUERIES) {
+                    for (String scope : List.of("all projects", "one project")) {
+                        String id = scope.equals("all projects") ? "NULL" : "'" + projectId + "'";
+                        String after = scope.equals("all projects") ? "after_search_all" : "after_search_project";
+                        for (String statement : List.of("before_search", after)) {
+                            System.out.printf("%-20s %-14s %-22s %12s %12s%n", query, scope, statement,
+                                    time(connection, statement, query, id, "force_custom_plan"),
+                                    time(connection, statement, query, id, "force_generic_plan"));
+                        }
+                    }
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+                }
+            }
+        }
+    }
+
+    private static void seed(Connection connection) throws Exception {
+        try (InputStream in = SearchQueryBenchmark.class.getResourceAsStream("/benchmark/search_seed.sql");
+             Statement statement = connection.createStatement()) {
+            if (in == null) throw new IllegalStateException("benchmark/search_seed.sql not on the classpath");
+            // Also leaves search_path on the scratch schema, so the repository SQL runs unchanged
+            statement.execute(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String counts(Connection connection) throws SQLException {
+        return single(connection, "SELECT format('%s projects, %s artifacts, %s files, %s chunks', " +
+                "(SELECT count(*) FROM projects), (SELECT count(*) FROM project_artifacts), " +
+                "(SELECT count(*) FROM project_files), (SELECT count(*) FROM file_chunks))");
+    }
+
+    /** PREPAREs the repository SQL with its named parameters turned into positional ones. */
+    private static void prepare(Connection connection, String name, String sql) throws SQLException {
+        String positional = sql.replace(":query", "$1").replace(":projectId", "$2")
+                .replace(":limit", "$3").replace(":offset", "$4");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PREPARE " + name + " (TEXT, UUID, INT, INT) AS " + positional);
+        }
+    }
+
+    /** Median execution time and planning time in ms, as "exec + plan". */
+    private static String time(Connection connection, String statement, String query, String projectId,
+                               String planCacheMode) throws Exception {
+        try (Statement s = connection.createStatement()) {
+            s.execute("SET plan_cache_mode = " + planCacheMode);
+        }
+        String explain = "EXPLAIN (ANALYZE, FORMAT JSON) EXECUTE " + statement + "('" + query.replace("'", "''") +
+                "', " + projectId + ", " + LIMIT + ", 0)";
+        explain(connection, explain);
+        double[] execution = new double[RUNS];
+        double[] planning = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            JsonNode plan = explain(connection, explain);
+            execution[i] = plan.get("Execution Time").asDouble();
+            planning[i] = plan.path("Planning Time").asDouble();
+        }
+        Arrays.sort(execution);
+        Arrays.sort(planning);
+        return String.format("%.1f + %.1f", execution[RUNS / 2], planning[RUNS / 2]);
+    }
+
+    private static JsonNode explain(Connection connection, String explain) throws Exception {
+        return OBJECT_MAPPER.readTree(single(connection, explain)).get(0);
+    }
+
+    private static String single(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getString(1);
+        }
+    }
+}
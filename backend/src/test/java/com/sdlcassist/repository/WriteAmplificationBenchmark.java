@@ -0,0 +1,237 @@
+package com.sdlcassist.repository;
+
+import com.sdlcassist.model.ProjectArtifact;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * WAL bytes written by saving one 5 KB technical-design artifact of a project that already
+ * holds about 500 KB of other documents, for three write paths:
+ * <ul>
+ *   <li>an entity save of the old wide {@code projects} row, which binds every column;</li>
+ *   <li>the same row with {@code @DynamicUpdate}, which binds only the changed column;</li>
+ *   <li>the current layout: the one {@code project_artifacts} row updated with
+ *       {@link ProjectArtifactRepository#updateContent}'s statement plus
+ *       {@link ProjectRepository#touch}.</li>
+ * </ul>
+ *
+ * WAL volume is what Postgres actually writes (heap, TOAST and index changes), so it shows
+ * unchanged documents being rewritten. The tables are created in a scratch schema that is
+ * dropped afterwards; search-vector columns are left out of every layout alike.
+ *
+ * Not a test; run it by hand from {@code backend/} against a database you can create a
+ * schema in:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     com.sdlcassist.repository.WriteAmplificationBenchmark jdbc:postgresql://localhost:5432/sdlc_assist postgres secret
+ * </pre>
+ */
+public class WriteAmplificationBenchmark {
+
+    private static final String SCHEMA = "write_amplification_bench";
+    private static final int SAVES = 50;
+    private static final int ARTIFACT_CHARS = 5 * 1024;
+    private static final int OTHER_DOCUMENT_CHARS = 85 * 1024;
+
+    private static final List<String> WIDE_COLUMNS = List.of(
+            "prd_content", "design_system_content", "corporate_guidelines_content",
+            "arch_overview_content", "data_model_content", "api_contract_content", "sequence_diagrams_content");
+    private static final List<String> TYPES = List.of(
+            "PRD", "DESIGN_SYSTEM", "CORPORATE_GUIDELINES",
+            "ARCH_OVERVIEW", "DATA_MODEL", "API_CONTRACT", "SEQUENCE_DIAGRAMS");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: WriteAmplificationBenchmark <jdbc-url> <user> <password>");
+            System.exit(2);
+        }
+        Random random = new Random(47);
+        UUID projectId = UUID.randomUUID();
+        String[] documents = new String[TYPES.size()];
+        for (int i = 0; i < documents.length; i++) {
+            documents[i] = text(random, OTHER_DOCUMENT_CHARS);
+        }
+        String[] edits = new String[SAVES];
+        for (int i = 0; i < SAVES; i++) {
+            edits[i] = text(random, ARTIFACT_CHARS);
+        }
+
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            connection.setAutoCommit(true);
+            createSchema(connection, projectId, documents);
+            try {
+                long entitySave = measure(connection, "entity save, every column", () -> {
+                    for (String edit : edits) entitySave(connection, projectId, documents, edit);
+                });
+                long dynamicUpdate = measure(connection, "@DynamicUpdate, changed column", () -> {
+                    for (String edit : edits) dynamicUpdate(connection, projectId, edit);
+                });
+                long artifactRow = measure(connection, "artifact row + updated_at", () -> {
+                    for (int i = 0; i < edits.length; i++) artifactUpdate(connection, projectId, edits[i], i);
+                });
+                System.out.printf("%nother documents: %,d chars, saved artifact: %,d chars, %d saves each%n",
+                        OTHER_DOCUMENT_CHARS * (TYPES.size() - 1), ARTIFACT_CHARS, SAVES);
+                System.out.printf("artifact row writes %.1f%% of the entity save's WAL, %.1f%% of @DynamicUpdate's%n",
+                        100.0 * artifactRow / entitySave, 100.0 * artifactRow / dynamicUpdate);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        void run() throws SQLException;
+    }
+
+    private static long measure(Connection connection, String name, Scenario scenario) throws SQLException {
+        checkpoint(connection);
+        String start = walPosition(connection);
+        scenario.run();
+        long bytes;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), CAST(? AS pg_lsn))")) {
+            statement.setString(1, start);
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                bytes = rows.getLong(1);
+            }
+        }
+        System.out.printf("%-34s %,12d WAL bytes total %,10d per save%n", name, bytes, bytes / SAVES);
+        return bytes;
+    }
+
+    // -------------------------------------------------------------------------
+    // The three write paths
+    // -------------------------------------------------------------------------
+    private static void entitySave(Connection connection, UUID projectId, String[] documents, String edit) throws SQLException {
+        String assignments = String.join(" = ?, ", WIDE_COLUMNS) + " = ?";
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE " + SCHEMA + ".wide_projects SET name = ?, updated_at = ?, " + assignments + " WHERE id = ?")) {
+            statement.setString(1, "Benchmark project");
+            statement.setTimestamp(2, Timestamp.from(Instant.now()));
+            for (int i = 0; i < WIDE_COLUMNS.size(); i++) {
+                statement.setString(3 + i, "ARCH_OVERVIEW".equals(TYPES.get(i)) ? edit : documents[i]);
+            }
+            statement.setObject(3 + WIDE_COLUMNS.size(), projectId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void dynamicUpdate(Connection connection, UUID projectId, String edit) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE " + SCHEMA + ".wide_projects SET arch_overview_content = ?, updated_at = ? WHERE id = ?")) {
+            statement.setString(1, edit);
+            statement.setTimestamp(2, Timestamp.from(Instant.now()));
+            statement.setObject(3, projectId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void artifactUpdate(Connection connection, UUID projectId, String edit, long version) throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE " + SCHEMA + ".project_artifacts SET content = ?, hash = ?, generated_at = ?, version = version + 1 " +
+                "WHERE project_id = ? AND type = 'ARCH_OVERVIEW' AND version = ?")) {
+            statement.setString(1, edit);
+            statement.setString(2, ProjectArtifact.sha256(edit));
+            statement.setTimestamp(3, now);
+            statement.setObject(4, projectId);
+            statement.setLong(5, version);
+            if (statement.executeUpdate() != 1) throw new IllegalStateException("Version check failed");
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE " + SCHEMA + ".projects SET updated_at = ? WHERE id = ?")) {
+            statement.setTimestamp(1, now);
+            statement.setObject(2, projectId);
+            statement.executeUpdate();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Setup
+    // -------------------------------------------------------------------------
+    private static void createSchema(Connection connection, UUID projectId, String[] documents) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("CREATE TABLE " + SCHEMA + ".wide_projects (id UUID PRIMARY KEY, name VARCHAR(255), " +
+                    "updated_at TIMESTAMPTZ, " + String.join(" TEXT, ", WIDE_COLUMNS) + " TEXT)");
+            statement.execute("CREATE TABLE " + SCHEMA + ".projects (id UUID PRIMARY KEY, name VARCHAR(255), updated_at TIMESTAMPTZ)");
+            statement.execute("CREATE TABLE " + SCHEMA + ".project_artifacts (" +
+                    "id UUID PRIMARY KEY DEFAULT gen_random_uuid(), " +
+                    "project_id UUID NOT NULL REFERENCES " + SCHEMA + ".projects(id) ON DELETE CASCADE, " +
+                    "type VARCHAR(30) NOT NULL, content TEXT NOT NULL, hash VARCHAR(64) NOT NULL, " +
+                    "generated_at TIMESTAMPTZ, version BIGINT NOT NULL DEFAULT 0, UNIQUE (project_id, type))");
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + SCHEMA + ".wide_projects VALUES (?, 'Benchmark project', now(), ?, ?, ?, ?, ?, ?, ?)")) {
+            statement.setObject(1, projectId);
+            for (int i = 0; i < documents.length; i++) {
+                statement.setString(2 + i, documents[i]);
+            }
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + SCHEMA + ".projects VALUES (?, 'Benchmark project', now())")) {
+            statement.setObject(1, projectId);
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + SCHEMA + ".project_artifacts (project_id, type, content, hash, generated_at) " +
+                "VALUES (?, ?, ?, ?, now())")) {
+            for (int i = 0; i < documents.length; i++) {
+                statement.setObject(1, projectId);
+                statement.setString(2, TYPES.get(i));
+                statement.setString(3, documents[i]);
+                statement.setString(4, ProjectArtifact.sha256(documents[i]));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /** Full-page images after a checkpoint would otherwise land on whichever scenario runs first. */
+    private static void checkpoint(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CHECKPOINT");
+        } catch (SQLException e) {
+            System.err.println("CHECKPOINT not permitted; expect some noise from full-page writes");
+        }
+    }
+
+    private static String walPosition(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            rows.next();
+            return rows.getString(1);
+        }
+    }
+
+    /** Markdown-like prose that compresses about as well as generated documents do. */
+    private static String text(Random random, int length) {
+        String[] words = {"service", "request", "database", "user", "screen", "endpoint", "schema", "response",
+                "validation", "token", "project", "artifact", "queue", "retry", "index", "cache", "latency"};
+        StringBuilder text = new StringBuilder(length + 64);
+        while (text.length() < length) {
+            if (random.nextInt(12) == 0) text.append("\n## ").append(words[random.nextInt(words.length)]).append('\n');
+            text.append(words[random.nextInt(words.length)]).append(' ')
+                    .append(Integer.toString(random.nextInt(1 << 20), 36)).append(' ');
+        }
+        return text.substring(0, length);
+    }
+}
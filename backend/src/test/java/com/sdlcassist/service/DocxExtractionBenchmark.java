@@ -0,0 +1,181 @@
+package com.sdlcassist.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipFile;
+
+/**
+ * Time, allocation and heap needed to extract one long requirements document: the old
+ * path (an {@code XWPFDocument} read by {@code XWPFWordExtractor}) against
+ * {@link DocxStreamReader}'s StAX pass over {@code word/document.xml}, as
+ * {@link DocxTextExtractor} runs it.
+ *
+ * Time and bytes allocated are averaged over {@value #ITERATIONS} runs after
+ * {@value #WARMUP} warm-up runs on one thread. Heap needed is the smallest {@code -Xmx}
+ * at which a fresh JVM extracts the document without an OutOfMemoryError, found by
+ * bisection to the nearest {@value #STEP_MB} MB, next to what the same JVM needs to start
+ * and do nothing. The generated document has headings,
+ * body paragraphs and a table every tenth section, and stays under
+ * {@code app.extraction.max-text-chars} so neither path truncates.
+ *
+ * Not a test; run it by hand from {@code backend/}:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.sdlcassist.service.DocxExtractionBenchmark
+ * </pre>
+ */
+public class DocxExtractionBenchmark {
+
+    private static final int SECTIONS = 1500;
+    private static final int MAX_CHARS = 2_000_000;
+    private static final long MAX_PART_BYTES = 256L * 1024 * 1024;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 5;
+    private static final int STEP_MB = 4;
+    private static final int MAX_HEAP_MB = 1024;
+    private static final int OUT_OF_MEMORY = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @FunctionalInterface
+    private interface Extraction {
+        String extract(Path docx) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // POI's package reader logs every part at DEBUG under the default logback setup
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        if (args.length > 0 && args[0].equals("run")) {
+            System.exit(run(args[1], Path.of(args[2])));
+        }
+
+        Path docx = Files.createTempFile("docx-benchmark-", ".docx");
+        try {
+            generate(docx);
+            System.out.printf("%,d sections, %.1f MB docx%n", SECTIONS, Files.size(docx) / 1048576.0);
+            System.out.printf("%-7s %,4d MB heap needed to start up and do nothing%n", "floor:", heapNeeded("floor", docx));
+            for (String path : List.of("before", "after")) {
+                Extraction extraction = extraction(path);
+                String text = extraction.extract(docx);
+                for (int i = 0; i < WARMUP; i++) extraction.extract(docx);
+                long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) extraction.extract(docx);
+                long nanos = (System.nanoTime() - start) / ITERATIONS;
+                long allocated = (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+                System.out.printf("%-7s %,7.1f ms, %,13d bytes allocated, %,4d MB heap needed, %,d chars%n",
+                        path + ":", nanos / 1e6, allocated, heapNeeded(path, docx), text.length());
+            }
+        } finally {
+            Files.deleteIfExists(docx);
+        }
+    }
+
+    private static Extraction extraction(String path) {
+        if (path.equals("floor")) {
+            return docx -> "";
+        }
+        if (path.equals("before")) {
+            return docx -> {
+                try (InputStream in = Files.newInputStream(docx);
+                     XWPFDocument document = new XWPFDocument(in);
+                     XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+                    return extractor.getText();
+                }
+            };
+        }
+        return docx -> {
+            try (ZipFile zip = new ZipFile(docx.toFile())) {
+                return DocxStreamReader.extract(zip, MAX_CHARS, MAX_PART_BYTES);
+            }
+        };
+    }
+
+    /** Bisects {@code -Xmx} over fresh JVMs that each extract the document once. */
+    private static int heapNeeded(String path, Path docx) throws Exception {
+        int low = 0;
+        int high = MAX_HEAP_MB;
+        if (!fits(path, docx, high)) throw new IllegalStateException(path + " failed even with " + high + " MB");
+        while (high - low > STEP_MB) {
+            int mid = (low + high) / 2;
+            if (fits(path, docx, mid)) high = mid;
+            else low = mid;
+        }
+        return high;
+    }
+
+    private static boolean fits(String path, Path docx, int heapMb) throws Exception {
+        Process process = new ProcessBuilder(ProcessHandle.current().info().command().orElse("java"),
+                "-Xmx" + heapMb + "m", "-cp", System.getProperty("java.class.path"),
+                DocxExtractionBenchmark.class.getName(), "run", path, docx.toString())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes());
+        int exit = process.waitFor();
+        // A tiny heap can already run out while the JVM and logback start up
+        if (exit != 0 && exit != OUT_OF_MEMORY && !output.contains("OutOfMemoryError")) {
+            throw new IllegalStateException(path + " failed at " + heapMb + " MB:\n" + output);
+        }
+        return exit == 0;
+    }
+
+    private static int run(String path, Path docx) throws Exception {
+        try {
+            extraction(path).extract(docx);
+            return 0;
+        } catch (Exception | OutOfMemoryError e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof OutOfMemoryError) return OUT_OF_MEMORY;
+            }
+            throw e;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Test document
+    // -------------------------------------------------------------------------
+
+    /** A heading and five requirement paragraphs per section, and a 6x4 table every tenth. */
+    private static void generate(Path docx) throws IOException {
+        Random random = new Random(34);
+        String[] words = {"the", "user", "shall", "be", "able", "to", "filter", "orders", "by", "status",
+                "system", "must", "return", "within", "two", "seconds", "report", "export", "audit", "record"};
+        try (XWPFDocument document = new XWPFDocument();
+             OutputStream out = Files.newOutputStream(docx)) {
+            for (int s = 0; s < SECTIONS; s++) {
+                XWPFParagraph heading = document.createParagraph();
+                heading.setStyle("Heading" + (1 + s % 3));
+                heading.createRun().setText("Section " + s + ": order management");
+                for (int p = 0; p < 5; p++) {
+                    StringBuilder text = new StringBuilder("REQ-").append(s).append('.').append(p);
+                    while (text.length() < 180) text.append(' ').append(words[random.nextInt(words.length)]);
+                    document.createParagraph().createRun().setText(text.toString());
+                }
+                if (s % 10 == 0) {
+                    XWPFTable table = document.createTable(6, 4);
+                    for (int r = 0; r < 6; r++) {
+                        for (int c = 0; c < 4; c++) {
+                            table.getRow(r).getCell(c).setText(words[random.nextInt(words.length)] + " " + r + "." + c);
+                        }
+                    }
+                }
+            }
+            document.write(out);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.sdlcassist.service;
+
+import com.sdlcassist.model.CompressedTextConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Storage cost of {@link ArtifactHistoryService}'s snapshot + delta layout over 100
+ * refinement cycles of a generated prototype, each making one to three local edits, against
+ * keeping every revision as a full copy (plain and compressed).
+ *
+ * Revisions are encoded the way the service does it: a {@link DeltaCodec} delta from the
+ * previous revision, or a compressed snapshot every {@value #SNAPSHOT_INTERVAL} revisions
+ * and whenever the delta would save less than half. Every revision is then rebuilt from its
+ * chain and compared with the original, and the slowest rebuild is reported.
+ *
+ * Not a test; run it by hand from {@code backend/}:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.sdlcassist.service.HistoryStorageBenchmark
+ * </pre>
+ */
+public class HistoryStorageBenchmark {
+
+    private static final int CYCLES = 100;
+    private static final int SNAPSHOT_INTERVAL = 10;
+
+    private record Stored(int revision, boolean snapshot, byte[] data) {}
+
+    public static void main(String[] args) {
+        Random random = new Random(50);
+        List<String> lines = new ArrayList<>(prototype(random).lines().toList());
+        int initialBytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8).length;
+
+        List<String> revisions = new ArrayList<>();
+        List<Stored> history = new ArrayList<>();
+        long fullBytes = 0;
+        long compressedBytes = 0;
+        long storedBytes = 0;
+        long encodeNanos = 0;
+        int snapshots = 0;
+        int lastSnapshot = 0;
+        byte[] previous = null;
+
+        for (int revision = 1; revision <= CYCLES; revision++) {
+            refine(lines, random, revision);
+            String content = String.join("\n", lines);
+            byte[] text = content.getBytes(StandardCharsets.UTF_8);
+
+            long start = System.nanoTime();
+            byte[] snapshot = CompressedTextConverter.compress(content);
+            byte[] data = snapshot;
+            boolean isSnapshot = true;
+            if (previous != null && revision - lastSnapshot < SNAPSHOT_INTERVAL) {
+                byte[] delta = DeltaCodec.encode(previous, text);
+                if (delta.length < snapshot.length / 2) {
+                    data = delta;
+                    isSnapshot = false;
+                }
+            }
+            encodeNanos += System.nanoTime() - start;
+
+            if (isSnapshot) {
+                snapshots++;
+                lastSnapshot = revision;
+            }
+            history.add(new Stored(revision, isSnapshot, data));
+            revisions.add(content);
+            fullBytes += text.length;
+            compressedBytes += snapshot.length;
+            storedBytes += data.length;
+            previous = text;
+        }
+
+        long slowestRead = 0;
+        for (Stored stored : history) {
+            long start = System.nanoTime();
+            String rebuilt = rebuild(history, stored.revision());
+            slowestRead = Math.max(slowestRead, System.nanoTime() - start);
+            if (!rebuilt.equals(revisions.get(stored.revision() - 1))) {
+                throw new IllegalStateException("Revision " + stored.revision() + " did not rebuild");
+            }
+        }
+
+        System.out.printf("prototype: %,d bytes at revision 0, %,d at revision %d%n",
+                initialBytes, previous.length, CYCLES);
+        System.out.printf("full copies:        %,12d bytes%n", fullBytes);
+        System.out.printf("compressed copies:  %,12d bytes%n", compressedBytes);
+        System.out.printf("snapshots + deltas: %,12d bytes (%d snapshots) = %.1f%% of full, %.1f%% of compressed%n",
+                storedBytes, snapshots, 100.0 * storedBytes / fullBytes, 100.0 * storedBytes / compressedBytes);
+        System.out.printf("encode %.2f ms per revision, slowest read %.2f ms%n",
+                encodeNanos / 1e6 / CYCLES, slowestRead / 1e6);
+    }
+
+    /** The nearest snapshot at or before {@code revision}, with the deltas after it applied. */
+    private static String rebuild(List<Stored> history, int revision) {
+        int from = revision;
+        while (!history.get(from - 1).snapshot()) from--;
+        byte[] text = CompressedTextConverter.decompress(history.get(from - 1).data()).getBytes(StandardCharsets.UTF_8);
+        for (int i = from + 1; i <= revision; i++) {
+            text = DeltaCodec.apply(text, history.get(i - 1).data());
+        }
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    /** One refinement: a reworded label, an added note or a restyled rule, one to three times. */
+    private static void refine(List<String> lines, Random random, int cycle) {
+        int edits = 1 + random.nextInt(3);
+        for (int e = 0; e < edits; e++) {
+            int at = 1 + random.nextInt(lines.size() - 2);
+            switch (random.nextInt(3)) {
+                case 0 -> lines.set(at, lines.get(at).replace("label", "label v" + cycle));
+                case 1 -> lines.add(at, "  <p class=\"note\">Refinement " + cycle + " added this note</p>");
+                default -> lines.set(at, lines.get(at).replaceAll("padding: \\d+px", "padding: " + random.nextInt(30) + "px"));
+            }
+        }
+    }
+
+    /** A generated-looking prototype: a stylesheet of card rules followed by the cards. */
+    private static String prototype(Random random) {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><style>\n");
+        for (int i = 0; i < 120; i++) {
+            html.append(".c").append(i).append(" { color: #").append(String.format("%06x", random.nextInt(0xFFFFFF)))
+                    .append("; padding: ").append(random.nextInt(20)).append("px; }\n");
+        }
+        html.append("</style></head><body>\n");
+        for (int i = 0; i < 300; i++) {
+            html.append("  <div class=\"c").append(i % 120).append("\"><span>Item ").append(i)
+                    .append(" label text for the card</span><button>Action ").append(i).append("</button></div>\n");
+        }
+        return html.append("</body></html>\n").toString();
+    }
+}
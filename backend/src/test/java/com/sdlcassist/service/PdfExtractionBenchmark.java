@@ -0,0 +1,190 @@
+package com.sdlcassist.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Heap needed to extract N large PDFs at once: the old path
+ * ({@code Loader.loadPDF(readAllBytes())} and one {@code PDFTextStripper.getText}) against
+ * {@link PdfTextExtractor} behind {@link DocumentTextExtractor} (spooled temp file,
+ * {@code RandomAccessReadBufferedFile}, a 16 MB stream cache that spills to scratch files,
+ * page-ranged stripping).
+ *
+ * Peak heap is measured as the smallest {@code -Xmx} at which a fresh JVM gets all N
+ * extractions through without an OutOfMemoryError, found by bisection to the nearest
+ * {@value #STEP_MB} MB; that is the number a container limit has to cover. Wall time is
+ * taken from a run with a roomy heap. The generated PDF is about 10 MB of uncompressed
+ * pages, with less text than {@code app.extraction.max-text-chars} so both paths return
+ * the whole document.
+ *
+ * Not a test; run it by hand from {@code backend/} (the argument is the number of
+ * concurrent PDFs):
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.sdlcassist.service.PdfExtractionBenchmark 4
+ * </pre>
+ */
+public class PdfExtractionBenchmark {
+
+    private static final int PAGES = 400;
+    private static final int STEP_MB = 8;
+    private static final int MAX_HEAP_MB = 2048;
+    private static final int OUT_OF_MEMORY = 3;
+
+    public static void main(String[] args) throws Exception {
+        // PDFBox logs every object it parses at DEBUG under the default logback setup
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        if (args.length > 0 && args[0].equals("run")) {
+            System.exit(run(args[1], Integer.parseInt(args[2]), Path.of(args[3])));
+        }
+        int concurrent = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+
+        Path pdf = Files.createTempFile("pdf-benchmark-", ".pdf");
+        try {
+            generate(pdf);
+            System.out.printf("%d concurrent extractions of a %,d-page, %.1f MB PDF%n",
+                    concurrent, PAGES, Files.size(pdf) / 1048576.0);
+            for (String path : List.of("before", "after")) {
+                long millis = child(path, concurrent, pdf, MAX_HEAP_MB);
+                if (millis < 0) throw new IllegalStateException(path + " failed even with " + MAX_HEAP_MB + " MB");
+                int low = 0;
+                int high = MAX_HEAP_MB;
+                while (high - low > STEP_MB) {
+                    int mid = (low + high) / 2;
+                    if (child(path, concurrent, pdf, mid) >= 0) high = mid;
+                    else low = mid;
+                }
+                System.out.printf("%-7s %,5d MB heap needed, %,6d ms%n", path + ":", high, millis);
+            }
+        } finally {
+            Files.deleteIfExists(pdf);
+        }
+    }
+
+    /** Runs one path in a fresh JVM with the given heap; its wall time in ms, or -1 on OutOfMemoryError. */
+    private static long child(String path, int concurrent, Path pdf, int heapMb) throws Exception {
+        Process process = new ProcessBuilder(ProcessHandle.current().info().command().orElse("java"),
+                "-Xmx" + heapMb + "m", "-cp", System.getProperty("java.class.path"),
+                PdfExtractionBenchmark.class.getName(), "run", path, String.valueOf(concurrent), pdf.toString())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes());
+        int exit = process.waitFor();
+        if (exit == OUT_OF_MEMORY) return -1;
+        if (exit != 0) throw new IllegalStateException(path + " failed at " + heapMb + " MB:\n" + output);
+        String last = output.strip().lines().reduce((a, b) -> b).orElseThrow();
+        return Long.parseLong(last);
+    }
+
+    private static int run(String path, int concurrent, Path pdf) throws Exception {
+        Callable<String> extraction = path.equals("before") ? () -> before(pdf) : after(pdf);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrent);
+        long start = System.nanoTime();
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < concurrent; i++) results.add(pool.submit(extraction));
+            for (Future<String> result : results) {
+                if (result.get().length() < PAGES * 1000) throw new IllegalStateException("Text missing");
+            }
+        } catch (Exception | OutOfMemoryError e) {
+            // PDFBox sometimes wraps it, e.g. in an IOException from a stream read
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof OutOfMemoryError) return OUT_OF_MEMORY;
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+        System.out.println((System.nanoTime() - start) / 1_000_000);
+        return 0;
+    }
+
+    private static String before(Path pdf) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(pdf);
+             PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    /** The production extractor with its application.yml defaults. */
+    private static Callable<String> after(Path pdf) throws Exception {
+        PdfTextExtractor pdfExtractor = new PdfTextExtractor();
+        set(pdfExtractor, "pdfMaxMainMemoryMb", 16L);
+        set(pdfExtractor, "pdfPagesPerBatch", 20);
+        set(pdfExtractor, "maxTextChars", 2_000_000);
+        set(pdfExtractor, "maxPages", 2000);
+        DocumentTextExtractor extractor = new DocumentTextExtractor(List.of(pdfExtractor), new PlainTextExtractor());
+        return () -> {
+            // The worker reads the upload as a stream from the blob store
+            try (InputStream content = Files.newInputStream(pdf)) {
+                return extractor.extract(content, PdfTextExtractor.PDF);
+            }
+        };
+    }
+
+    private static void set(Object target, String field, Object value) throws ReflectiveOperationException {
+        Field f = target.getClass().getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(target, value);
+    }
+
+    // -------------------------------------------------------------------------
+    // Test document
+    // -------------------------------------------------------------------------
+
+    /**
+     * Pages of requirement-like text with a dense vector diagram each, written without
+     * compression: about 25 KB per page, a little over 3 KB of it text.
+     */
+    private static void generate(Path pdf) throws IOException {
+        Random random = new Random(33);
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        String[] words = {"the", "user", "shall", "be", "able", "to", "filter", "orders", "by", "status",
+                "system", "must", "return", "within", "two", "seconds", "report", "export", "audit", "record"};
+        try (PDDocument document = new PDDocument()) {
+            for (int p = 0; p < PAGES; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page,
+                        PDPageContentStream.AppendMode.OVERWRITE, false)) {
+                    content.beginText();
+                    content.setFont(font, 9);
+                    content.newLineAtOffset(40, 750);
+                    for (int line = 0; line < 40; line++) {
+                        StringBuilder text = new StringBuilder("REQ-").append(p).append('.').append(line);
+                        while (text.length() < 80) text.append(' ').append(words[random.nextInt(words.length)]);
+                        content.showText(text.toString());
+                        content.newLineAtOffset(0, -11);
+                    }
+                    content.endText();
+                    for (int shape = 0; shape < 1000; shape++) {
+                        content.addRect(random.nextFloat() * 550, random.nextFloat() * 300, 4, 4);
+                    }
+                    content.stroke();
+                }
+            }
+            document.save(pdf.toFile());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdlcassist.service.PromptService.Prompt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Bytes allocated to build and publish one screen-generation {@code :streamQuery} body:
+ * the old rendered String + {@code writeValueAsString} + {@code ofString} path against
+ * {@link PromptMessage} streamed through {@link JsonBodyPublisher}.
+ *
+ * Not a test; run it by hand from {@code backend/}:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.sdlcassist.service.PromptBodyBenchmark
+ * </pre>
+ */
+public class PromptBodyBenchmark {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Prompt prompt = Prompt.of("screen-generation", resource("/prompts/screen-generation.txt"));
+        String screenJson = "{\n  \"name\" : \"Order history\",\n  \"screenType\" : \"list\"\n}";
+        String prd = document("PRD", 120_000);
+        String designSystem = document("Design system", 60_000);
+
+        Scenario rendered = () -> {
+            String message = prompt.render(Map.of(
+                    "SCREEN_DEFINITION", screenJson,
+                    "PRD_CONTENT", prd,
+                    "DESIGN_SYSTEM", designSystem,
+                    "TEMPLATE_ID", "default"));
+            Map<String, Object> body = Map.of("input", Map.of(
+                    "session_id", "session-1",
+                    "user_id", "user-1",
+                    "message", message));
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        };
+        Scenario streamed = () -> JsonBodyPublisher.streamQuery(objectMapper, "session-1", "user-1",
+                prompt.message(Map.of(
+                        "SCREEN_DEFINITION", () -> screenJson,
+                        "PRD_CONTENT", () -> prd,
+                        "DESIGN_SYSTEM", () -> designSystem,
+                        "TEMPLATE_ID", () -> "default")));
+
+        byte[] expected = drain(rendered.build(), true);
+        byte[] actual = drain(streamed.build(), true);
+        if (!objectMapper.readTree(expected).equals(objectMapper.readTree(actual))) {
+            throw new IllegalStateException("Streamed body differs from the rendered one");
+        }
+
+        System.out.printf("body: %,d bytes (PRD %,d chars, design system %,d chars)%n",
+                actual.length, prd.length(), designSystem.length());
+        long before = measure(rendered);
+        long after = measure(streamed);
+        System.out.printf("rendered + ofString:  %,12d bytes allocated per body%n", before);
+        System.out.printf("streamed segments:    %,12d bytes allocated per body%n", after);
+        System.out.printf("reduction:            %11.1f%%%n", 100.0 * (before - after) / before);
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        HttpRequest.BodyPublisher build() throws IOException;
+    }
+
+    private static long measure(Scenario scenario) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            drain(scenario.build(), false);
+        }
+        long start = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            drain(scenario.build(), false);
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - start) / ITERATIONS;
+    }
+
+    /**
+     * Subscribes the way the HTTP client does. Both publishers deliver on the requesting
+     * thread, so everything they allocate is counted against this one.
+     */
+    private static byte[] drain(HttpRequest.BodyPublisher publisher, boolean keep) {
+        CompletableFuture<byte[]> done = new CompletableFuture<>();
+        byte[] out = keep ? new byte[(int) publisher.contentLength()] : null;
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private int position;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                int length = item.remaining();
+                if (out != null) item.get(out, position, length);
+                position += length;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(out);
+            }
+        });
+        if (!done.isDone()) {
+            throw new IllegalStateException("Publisher did not complete on the calling thread");
+        }
+        return done.join();
+    }
+
+    private static String resource(String path) throws IOException {
+        try (InputStream in = PromptBodyBenchmark.class.getResourceAsStream(path)) {
+            if (in == null) throw new IllegalStateException("Missing " + path);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Markdown-ish text with the quotes, newlines and non-ASCII that JSON escaping has to handle. */
+    private static String document(String title, int length) {
+        StringBuilder text = new StringBuilder("# " + title + "\n\n");
+        for (int section = 1; text.length() < length; section++) {
+            text.append("## Section ").append(section).append('\n')
+                    .append("- The \"order\" list shows status, total (€) and a link to details.\n")
+                    .append("- Users filter by date range; empty states explain what to do next.\n\n");
+        }
+        return text.toString();
+    }
+}
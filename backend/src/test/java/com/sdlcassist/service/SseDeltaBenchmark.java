@@ -0,0 +1,141 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Bytes allocated and SSE frames written to stream one 16k-token PRD: the old path of one
+ * {@code Map.of("text", delta)} event per model delta, serialised by Jackson the way the
+ * MVC message converter does it, against {@link SseDeltaWriter}'s coalesced, pre-escaped
+ * frames. Every frame is a separate write and flush on the servlet response, so the frame
+ * count is the syscall count per stream.
+ *
+ * It also checks that a delta left pending when the model stalls is sent by the writer's
+ * timer within the configured delay, without waiting for another delta.
+ *
+ * Not a test; run it by hand from {@code backend/}:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.sdlcassist.service.SseDeltaBenchmark
+ * </pre>
+ */
+public class SseDeltaBenchmark {
+
+    private static final int TOKENS = 16_000;
+    private static final int MAX_CHARS = 256;
+    private static final long MAX_DELAY_MS = 50;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        String[] deltas = deltas(new Random(26));
+
+        CountingEmitter perDelta = new CountingEmitter(true);
+        streamPerDelta(deltas, perDelta);
+        CountingEmitter coalesced = new CountingEmitter(true);
+        streamCoalesced(deltas, coalesced);
+        if (!perDelta.text.toString().equals(coalesced.text.toString())) {
+            throw new IllegalStateException("Coalesced frames carry different text");
+        }
+
+        long before = measure(() -> streamPerDelta(deltas, new CountingEmitter(false)));
+        long after = measure(() -> streamCoalesced(deltas, new CountingEmitter(false)));
+        System.out.printf("%,d deltas, %,d chars per stream%n", deltas.length, perDelta.text.length());
+        System.out.printf("one event per delta: %,12d bytes allocated, %,6d frames, %,9d bytes written%n",
+                before, perDelta.frames, perDelta.bytes);
+        System.out.printf("coalesced frames:    %,12d bytes allocated, %,6d frames, %,9d bytes written%n",
+                after, coalesced.frames, coalesced.bytes);
+        System.out.printf("reduction:           %11.1f%% bytes, %5.1f%% frames%n",
+                100.0 * (before - after) / before, 100.0 * (perDelta.frames - coalesced.frames) / perDelta.frames);
+
+        CountingEmitter stalled = new CountingEmitter(false);
+        SseDeltaWriter writer = new SseDeltaWriter(stalled, MAX_CHARS, MAX_DELAY_MS);
+        long start = System.nanoTime();
+        writer.append("A stalled model's last words");
+        while (stalled.frames == 0 && System.nanoTime() - start < 2_000_000_000L) {
+            Thread.sleep(1);
+        }
+        if (stalled.frames == 0) throw new IllegalStateException("Pending delta was never flushed by the timer");
+        System.out.printf("stalled delta flushed by the timer after %.1f ms (max delay %d ms)%n",
+                (System.nanoTime() - start) / 1e6, MAX_DELAY_MS);
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        void run() throws IOException;
+    }
+
+    private static long measure(Scenario scenario) throws IOException {
+        for (int i = 0; i < WARMUP; i++) scenario.run();
+        long start = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) scenario.run();
+        return (THREADS.getCurrentThreadAllocatedBytes() - start) / ITERATIONS;
+    }
+
+    private static void streamPerDelta(String[] deltas, SseEmitter emitter) throws IOException {
+        for (String delta : deltas) {
+            emitter.send(SseEmitter.event().name("delta").data(Map.of("text", delta)));
+        }
+    }
+
+    // Deltas arrive back to back here, so the size limit decides every frame but the last
+    private static void streamCoalesced(String[] deltas, SseEmitter emitter) throws IOException {
+        SseDeltaWriter writer = new SseDeltaWriter(emitter, MAX_CHARS, MAX_DELAY_MS);
+        for (String delta : deltas) {
+            writer.append(delta);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Serialises each event the way the servlet handler would, strings as-is and objects
+     * through Jackson, and counts one write + flush per event. The event's data part is the
+     * one without a media type; with {@code keep} set its text is collected for comparison.
+     */
+    private static final class CountingEmitter extends SseEmitter {
+        private final boolean keep;
+        private final StringBuilder text = new StringBuilder();
+        private volatile int frames;
+        private long bytes;
+
+        private CountingEmitter(boolean keep) {
+            this.keep = keep;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            for (DataWithMediaType part : builder.build()) {
+                Object data = part.getData();
+                byte[] encoded = data instanceof String string
+                        ? string.getBytes(StandardCharsets.UTF_8)
+                        : OBJECT_MAPPER.writeValueAsBytes(data);
+                bytes += encoded.length;
+                if (keep && part.getMediaType() == null) {
+                    text.append(OBJECT_MAPPER.readTree(encoded).get("text").asText());
+                }
+            }
+            frames++;
+        }
+    }
+
+    /** Token-sized pieces of Markdown, with the quotes and newlines a PRD is full of. */
+    private static String[] deltas(Random random) {
+        String[] words = {"The", " user", " can", " filter", " orders", " by", " \"status\"", ",", " date",
+                " and", " total", ".", "\n", "- ", "## ", " API", " returns", " 404", " when", " missing"};
+        String[] deltas = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            deltas[i] = words[random.nextInt(words.length)];
+        }
+        return deltas;
+    }
+}
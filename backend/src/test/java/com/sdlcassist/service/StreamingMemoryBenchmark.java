@@ -0,0 +1,302 @@
+package com.sdlcassist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.reactivestreams.Subscription;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Heap and threads held per concurrent analysis stream: the blocking path of
+ * {@code AiService.streamAnalysis} (one virtual thread per stream reading the model's
+ * response through {@code BodyHandlers.ofInputStream} into an {@link SseDeltaWriter}) against
+ * the reactive pipeline of {@code streamAnalysisReactive} ({@code sendAsync} with
+ * {@code ofPublisher}, line decoding, {@code bufferTimeout} batching, no thread per stream).
+ *
+ * A child JVM plays the model API, so its connections don't count against either side: every
+ * stream receives a token-sized {@code content_block_delta} every {@value #EVENT_INTERVAL_MS} ms.
+ * Once all streams are mid-answer the heap is measured after a full GC, minus the heap before
+ * the streams were opened, and divided by the number of streams. Virtual-thread stacks live on
+ * the heap, so they are included. Frames go to a discarding emitter / subscriber; the servlet
+ * side of each connection costs the same on both paths and is left out.
+ *
+ * Not a test; run it by hand from {@code backend/} (the argument is the stream count):
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.sdlcassist.service.StreamingMemoryBenchmark 1000
+ * </pre>
+ */
+public class StreamingMemoryBenchmark {
+
+    private static final int EVENT_INTERVAL_MS = 100;
+    private static final int EVENTS = 150;
+    private static final int MAX_CHARS = 256;
+    private static final long MAX_DELAY_MS = 50;
+    private static final int BATCH_EVENTS = 64;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final StringDecoder LINE_DECODER = StringDecoder.textPlainOnly();
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private static final AtomicInteger FRAMES = new AtomicInteger();
+    // Thread.getAllStackTraces doesn't list virtual threads, so the blocking path counts its own
+    private static final AtomicInteger VIRTUAL_THREADS = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve();
+            return;
+        }
+        int streams = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        Process server = new ProcessBuilder(ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"), StreamingMemoryBenchmark.class.getName(), "serve")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            // The port is the child's first line of output that is only digits
+            BufferedReader serverOut = new BufferedReader(new InputStreamReader(server.getInputStream()));
+            String port = serverOut.readLine();
+            while (port != null && !port.matches("\\d+")) port = serverOut.readLine();
+            URI uri = URI.create("http://127.0.0.1:" + port + "/v1/messages");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+            System.out.printf("%,d concurrent streams, one delta every %d ms%n", streams, EVENT_INTERVAL_MS);
+            Result blocking = measure(streams, (started, done) -> {
+                for (int i = 0; i < streams; i++) {
+                    Thread.startVirtualThread(() -> streamBlocking(client, uri, started, done));
+                }
+            });
+            print("virtual thread per stream", blocking, streams);
+            Result reactive = measure(streams, (started, done) -> {
+                for (int i = 0; i < streams; i++) {
+                    streamReactive(client, uri).subscribe(new FrameSubscriber(started, done));
+                }
+            });
+            print("reactive pipeline", reactive, streams);
+            System.out.printf("reactive holds %.1f%% less heap per stream%n",
+                    100.0 * (blocking.heapBytes - reactive.heapBytes) / blocking.heapBytes);
+        } finally {
+            server.destroy();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        void open(CountDownLatch started, CountDownLatch done);
+    }
+
+    private record Result(long heapBytes, int platformThreads, int virtualThreads, long frames) {}
+
+    private static Result measure(int streams, Scenario scenario) throws InterruptedException {
+        long before = usedHeapAfterGc();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        CountDownLatch started = new CountDownLatch(streams);
+        CountDownLatch done = new CountDownLatch(streams);
+        FRAMES.set(0);
+
+        scenario.open(started, done);
+        if (!started.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(started.getCount() + " streams never received a delta");
+        }
+        Thread.sleep(2 * EVENT_INTERVAL_MS);
+        long during = usedHeapAfterGc();
+        int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+        int virtualThreads = VIRTUAL_THREADS.get();
+
+        if (!done.await(EVENTS * EVENT_INTERVAL_MS + 60_000L, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException(done.getCount() + " streams never finished");
+        }
+        return new Result(during - before, platformThreads, virtualThreads, FRAMES.get());
+    }
+
+    private static void print(String label, Result result, int streams) {
+        System.out.printf("%-26s %,9d bytes heap per stream, %,5d new platform threads, %,5d virtual threads, %,d frames%n",
+                label + ":", result.heapBytes / streams, result.platformThreads, result.virtualThreads, result.frames);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // -------------------------------------------------------------------------
+    // Blocking path: one virtual thread per stream, as submitted by StreamingExecutor
+    // -------------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private static void streamBlocking(HttpClient client, URI uri, CountDownLatch started, CountDownLatch done) {
+        VIRTUAL_THREADS.incrementAndGet();
+        try {
+            HttpResponse<InputStream> response = client.send(request(uri), HttpResponse.BodyHandlers.ofInputStream());
+            SseDeltaWriter writer = new SseDeltaWriter(new DiscardingEmitter(), MAX_CHARS, MAX_DELAY_MS);
+            boolean first = true;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("data: ")) continue;
+                    Map<String, Object> event = OBJECT_MAPPER.readValue(line.substring(6), Map.class);
+                    if ("content_block_delta".equals(event.get("type"))) {
+                        writer.append((String) ((Map<String, Object>) event.get("delta")).get("text"));
+                        if (first) {
+                            started.countDown();
+                            first = false;
+                        }
+                    } else if ("message_stop".equals(event.get("type"))) {
+                        break;
+                    }
+                }
+            }
+            writer.flush();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            VIRTUAL_THREADS.decrementAndGet();
+            done.countDown();
+        }
+    }
+
+    private static final class DiscardingEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build();
+            FRAMES.incrementAndGet();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Reactive path: no thread per stream
+    // -------------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private static Flux<String> streamReactive(HttpClient client, URI uri) {
+        return Mono.fromFuture(() -> client.sendAsync(request(uri), HttpResponse.BodyHandlers.ofPublisher()))
+                .flatMapMany(response -> {
+                    Flux<DataBuffer> body = JdkFlowAdapter.flowPublisherToFlux(response.body())
+                            .concatMapIterable(buffers -> buffers)
+                            .map(DefaultDataBufferFactory.sharedInstance::wrap);
+                    return LINE_DECODER.decode(body, STRING_TYPE, null, null);
+                })
+                .filter(line -> line.startsWith("data: "))
+                .concatMap(line -> {
+                    try {
+                        Map<String, Object> event = OBJECT_MAPPER.readValue(line.substring(6), Map.class);
+                        if ("message_stop".equals(event.get("type"))) return Mono.just("");
+                        Map<String, Object> delta = (Map<String, Object>) event.get("delta");
+                        return delta != null ? Mono.just((String) delta.get("text")) : Mono.<String>empty();
+                    } catch (IOException e) {
+                        return Mono.error(e);
+                    }
+                })
+                .takeUntil(String::isEmpty)
+                .bufferTimeout(BATCH_EVENTS, Duration.ofMillis(MAX_DELAY_MS), true)
+                .map(batch -> String.join("", batch))
+                .filter(frame -> !frame.isEmpty());
+    }
+
+    /** Requests one frame at a time, like the servlet response writer. */
+    private static final class FrameSubscriber extends BaseSubscriber<String> {
+        private final CountDownLatch started;
+        private final CountDownLatch done;
+        private boolean first = true;
+
+        private FrameSubscriber(CountDownLatch started, CountDownLatch done) {
+            this.started = started;
+            this.done = done;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(String frame) {
+            FRAMES.incrementAndGet();
+            if (first) {
+                started.countDown();
+                first = false;
+            }
+            request(1);
+        }
+
+        @Override
+        protected void hookOnError(Throwable error) {
+            throw new IllegalStateException(error);
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            done.countDown();
+        }
+    }
+
+    private static HttpRequest request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("content-type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"stream\":true}"))
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // Stand-in model API, run in the child JVM
+    // -------------------------------------------------------------------------
+
+    private static void serve() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        List<String> words = List.of("The", " user", " can", " filter", " orders", " by", " \"status\"", ".\n");
+        server.createContext("/v1/messages", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < EVENTS; i++) {
+                    String data = OBJECT_MAPPER.writeValueAsString(Map.of("type", "content_block_delta",
+                            "delta", Map.of("type", "text_delta", "text", words.get(i % words.size()))));
+                    out.write(("event: content_block_delta\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    Thread.sleep(EVENT_INTERVAL_MS);
+                }
+                out.write("event: message_stop\ndata: {\"type\":\"message_stop\"}\n\n".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        System.out.println(server.getAddress().getPort());
+        System.out.flush();
+    }
+}
@@ -0,0 +1,97 @@
+-- Seed for SearchQueryBenchmark: 10,000 projects in a scratch schema with the tables,
+-- search columns and indexes the search query reads (migrations 002, 008, 009, 011, 012
+-- and 017). Per project: a description, three artifacts of about 300 words, and three
+-- uploaded files (two READY) of four chunks each. Words are drawn with a skew towards
+-- the start of the list, so early words match most rows and late ones few, as in real
+-- requirement documents. Every row also names one of 1,000 components (component0 to
+-- component999), a term only about 0.1% of rows match.
+
+DROP SCHEMA IF EXISTS search_bench CASCADE;
+CREATE SCHEMA search_bench;
+SET search_path TO search_bench;
+
+CREATE TABLE projects (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    meta_search tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED
+);
+
+CREATE TABLE project_artifacts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    project_id UUID NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    type VARCHAR(40) NOT NULL,
+    content TEXT NOT NULL,
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('english', content)) STORED,
+    CONSTRAINT uq_project_artifacts_project_type UNIQUE (project_id, type)
+);
+
+CREATE TABLE project_files (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    project_id UUID NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    original_filename VARCHAR(500) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    extraction_status VARCHAR(20) NOT NULL
+);
+
+CREATE TABLE file_chunks (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    content_hash VARCHAR(64) NOT NULL,
+    chunk_index INT NOT NULL,
+    heading_path TEXT,
+    text TEXT NOT NULL,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(heading_path, '')), 'A') ||
+        to_tsvector('english', text)
+    ) STORED,
+    CONSTRAINT uq_file_chunks_hash_index UNIQUE (content_hash, chunk_index)
+);
+
+CREATE FUNCTION prose(words INT) RETURNS TEXT LANGUAGE sql VOLATILE AS $$
+    SELECT string_agg(v.w[1 + floor(power(random(), 3) * array_length(v.w, 1))::int], ' ')
+    FROM generate_series(1, words), (SELECT ARRAY[
+        'the', 'user', 'system', 'shall', 'order', 'status', 'report', 'account', 'payment', 'customer',
+        'admin', 'export', 'filter', 'search', 'invoice', 'audit', 'record', 'request', 'response', 'service',
+        'notification', 'email', 'dashboard', 'permission', 'role', 'session', 'token', 'login', 'password', 'profile',
+        'inventory', 'warehouse', 'shipment', 'delivery', 'carrier', 'tracking', 'refund', 'discount', 'coupon', 'catalog',
+        'product', 'category', 'price', 'currency', 'tax', 'region', 'locale', 'timezone', 'schedule', 'calendar',
+        'booking', 'reservation', 'cancellation', 'approval', 'workflow', 'escalation', 'ticket', 'priority', 'sla', 'incident',
+        'latency', 'throughput', 'availability', 'backup', 'restore', 'encryption', 'retention', 'compliance', 'gdpr', 'consent',
+        'webhook', 'integration', 'partner', 'supplier', 'contract', 'subscription', 'renewal', 'billing', 'ledger', 'reconciliation',
+        'forecast', 'analytics', 'metric', 'threshold', 'alert', 'pager', 'rollback', 'migration', 'tenant', 'quota',
+        'geofence', 'telematics', 'barcode', 'rfid', 'pallet', 'manifest', 'customs', 'tariff', 'hazmat', 'cryogenic'
+    ] AS w) v
+$$;
+
+SELECT setseed(0.40);
+
+INSERT INTO projects (name, description)
+SELECT 'Project ' || g || ' ' || prose(3), prose(40) || ' component' || (g % 1000)
+FROM generate_series(1, 10000) g;
+
+INSERT INTO project_artifacts (project_id, type, content)
+SELECT p.id, t.type, prose(300) || ' component' || (abs(hashtext(p.id::text || t.type)) % 1000)
+FROM projects p CROSS JOIN (VALUES ('PRD'), ('DESIGN_SYSTEM'), ('ARCH_OVERVIEW')) t(type);
+
+INSERT INTO project_files (project_id, original_filename, content_hash, extraction_status)
+SELECT p.id, 'requirements-' || f || '.pdf', md5(p.id::text || f) || md5(f || p.id::text),
+       CASE WHEN f = 3 THEN 'PENDING' ELSE 'READY' END
+FROM projects p CROSS JOIN generate_series(1, 3) f;
+
+INSERT INTO file_chunks (content_hash, chunk_index, heading_path, text)
+SELECT f.content_hash, c, 'Requirements > Section ' || (c + 1),
+       prose(200) || ' component' || (abs(hashtext(f.content_hash || c)) % 1000)
+FROM project_files f CROSS JOIN generate_series(0, 3) c;
+
+CREATE INDEX idx_projects_meta_search ON projects USING GIN (meta_search);
+CREATE INDEX idx_project_artifacts_search_vector ON project_artifacts USING GIN (search_vector);
+CREATE INDEX idx_project_files_project_id ON project_files(project_id);
+CREATE INDEX idx_project_files_content_hash ON project_files(content_hash);
+CREATE INDEX idx_project_files_extraction_status
+    ON project_files(extraction_status) WHERE extraction_status IN ('PENDING', 'EXTRACTING');
+CREATE INDEX idx_file_chunks_search_vector ON file_chunks USING GIN (search_vector);
+
+ANALYZE projects, project_artifacts, project_files, file_chunks;
@@ -4,9 +4,25 @@ export interface ProjectFile {
     originalFilename: string;
     mimeType: string;
     fileSize: number;
+    status: FileExtractionStatus;
+    extractionError?: string;
     createdAt: string;
 }
 
+export type FileExtractionStatus = 'PENDING' | 'EXTRACTING' | 'READY' | 'FAILED';
+
+export interface UploadSession {
+    id: string;
+    projectId: string;
+    originalFilename: string;
+    mimeType: string;
+    size: number;
+    offset: number;
+    maxChunkSize: number;
+    expiresAt: string;
+}
+
 export interface AiAnalysisResponse {
     content: string;
+    promptVersion?: string;
 }
@@ -34,12 +34,41 @@ export interface Project {
     sequenceDiagramsGeneratedAt: string | null;
     techDesignStatus: 'NOT_STARTED' | 'IN_PROGRESS' | 'COMPLETE' | null;
     techDesignCompletedAt: string | null;
+    /** Current version of each stored artifact, keyed by type (PRD, DESIGN_SYSTEM, ARCH_OVERVIEW, ...). */
+    artifactVersions: Record<string, number>;
     ownerName: string | null;
     ownerId: string | null;
     createdAt: string;
     updatedAt: string;
 }
 
+/** Dashboard list row: list columns and counts, without any generated content. */
+export interface ProjectSummary {
+    id: string;
+    name: string;
+    description: string | null;
+    status: 'DRAFT' | 'ACTIVE' | 'COMPLETED' | 'ARCHIVED';
+    uxDesignStatus: 'NOT_STARTED' | 'COMPLETE' | null;
+    technicalDesignStatus: 'LOCKED' | 'UNLOCKED' | 'IN_PROGRESS' | 'COMPLETE' | null;
+    techDesignStatus: 'NOT_STARTED' | 'IN_PROGRESS' | 'COMPLETE' | null;
+    ownerId: string | null;
+    ownerName: string | null;
+    fileCount: number;
+    screenCount: number;
+    prototypeCount: number;
+    createdAt: string;
+    updatedAt: string;
+}
+
+export type ProjectSummarySort = 'updated' | 'created' | 'name';
+
+export interface ProjectSummaryPage {
+    sort: ProjectSummarySort;
+    limit: number;
+    items: ProjectSummary[];
+    nextCursor: string | null;
+}
+
 export interface ProjectRequest {
     name: string;
     description?: string;
@@ -1,16 +1,83 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable, Subscriber } from 'rxjs';
-import { ProjectFile, AiAnalysisResponse } from '../models/file.model';
+import { Observable, Subscriber, firstValueFrom, forkJoin, from, map } from 'rxjs';
+import { ProjectFile, AiAnalysisResponse, UploadSession } from '../models/file.model';
 import { environment } from '../../../environments/environment';
 
 @Injectable({
     providedIn: 'root',
 })
 export class FileService {
+    // Matches the server's multipart limit; larger files go through resumable uploads
+    private static readonly MULTIPART_MAX_BYTES = 10 * 1024 * 1024;
+    private static readonly RESUMABLE_CHUNK_BYTES = 8 * 1024 * 1024;
+    private static readonly RESUMABLE_MAX_RETRIES = 5;
+
     constructor(private http: HttpClient) {}
 
     upload(projectId: string, files: File[]): Observable<ProjectFile[]> {
+        const large = files.filter(file => file.size > FileService.MULTIPART_MAX_BYTES);
+        if (large.length === 0) {
+            return this.uploadMultipart(projectId, files);
+        }
+
+        const small = files.filter(file => file.size <= FileService.MULTIPART_MAX_BYTES);
+        const requests = large.map(file => this.uploadResumable(projectId, file).pipe(map(uploaded => [uploaded])));
+        if (small.length > 0) {
+            requests.unshift(this.uploadMultipart(projectId, small));
+        }
+        return forkJoin(requests).pipe(map(results => results.flat()));
+    }
+
+    /**
+     * Sends the file in chunks. A failed chunk is retried with backoff from whatever
+     * offset the server reports, so a flaky connection resumes rather than restarting.
+     */
+    uploadResumable(projectId: string, file: File): Observable<ProjectFile> {
+        return from(this.runResumableUpload(projectId, file));
+    }
+
+    private async runResumableUpload(projectId: string, file: File): Promise<ProjectFile> {
+        const base = `${environment.apiUrl}/projects/${projectId}/uploads`;
+        const session = await firstValueFrom(this.http.post<UploadSession>(
+            base,
+            { filename: file.name, mimeType: file.type, size: file.size },
+            { withCredentials: true }
+        ));
+
+        const url = `${base}/${session.id}`;
+        const chunkSize = Math.min(FileService.RESUMABLE_CHUNK_BYTES, session.maxChunkSize);
+        let offset = session.offset;
+        let failures = 0;
+
+        while (offset < file.size) {
+            try {
+                const chunk = file.slice(offset, Math.min(offset + chunkSize, file.size));
+                const status = await firstValueFrom(this.http.put<UploadSession>(
+                    `${url}?offset=${offset}`,
+                    chunk,
+                    { withCredentials: true, headers: { 'Content-Type': 'application/octet-stream' } }
+                ));
+                offset = status.offset;
+                failures = 0;
+            } catch (err) {
+                if (++failures > FileService.RESUMABLE_MAX_RETRIES) {
+                    throw err;
+                }
+                await new Promise(resolve => setTimeout(resolve, 1000 * 2 ** (failures - 1)));
+                // The server keeps every byte it received; continue from its offset
+                const status = await firstValueFrom(this.http.get<UploadSession>(url, { withCredentials: true }))
+                    .catch(() => null);
+                if (status) {
+                    offset = status.offset;
+                }
+            }
+        }
+
+        return firstValueFrom(this.http.post<ProjectFile>(`${url}/complete`, {}, { withCredentials: true }));
+    }
+
+    private uploadMultipart(projectId: string, files: File[]): Observable<ProjectFile[]> {
         const formData = new FormData();
         files.forEach(file => formData.append('files', file));
         return this.http.post<ProjectFile[]>(
@@ -38,6 +105,25 @@ export class FileService {
         );
     }
 
+    statusEvents(projectId: string): Observable<ProjectFile> {
+        return new Observable((subscriber: Subscriber<ProjectFile>) => {
+            const url = `${environment.apiUrl}/projects/${projectId}/files/events`;
+            const eventSource = new EventSource(url, { withCredentials: true });
+
+            eventSource.addEventListener('file-status', (event: MessageEvent) => {
+                try {
+                    subscriber.next(JSON.parse(event.data));
+                } catch {
+                    // ignore malformed frames
+                }
+            });
+
+            return () => {
+                eventSource.close();
+            };
+        });
+    }
+
     analyze(projectId: string): Observable<AiAnalysisResponse> {
         return this.http.post<AiAnalysisResponse>(
             `${environment.apiUrl}/projects/${projectId}/analyze`,
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable, Subject } from 'rxjs';
-import { Project, ProjectRequest, TechPreferences } from '../models/project.model';
+import { Project, ProjectRequest, ProjectSummaryPage, ProjectSummarySort, TechPreferences } from '../models/project.model';
 import { ScreenDefinition } from '../models/screen-definition.model';
 import { environment } from '../../../environments/environment';
 
@@ -25,6 +25,14 @@ export class ProjectService {
         return this.http.get<Project[]>(this.baseUrl, { withCredentials: true });
     }
 
+    /** Lightweight project list for the dashboard and sidebar; pass the previous page's nextCursor to continue. */
+    getSummaries(sort: ProjectSummarySort = 'updated', cursor?: string | null, limit?: number): Observable<ProjectSummaryPage> {
+        let params = new HttpParams().set('sort', sort);
+        if (cursor) params = params.set('cursor', cursor);
+        if (limit) params = params.set('limit', limit);
+        return this.http.get<ProjectSummaryPage>(`${this.baseUrl}/summaries`, { params, withCredentials: true });
+    }
+
     getById(id: string): Observable<Project> {
         return this.http.get<Project>(`${this.baseUrl}/${id}`, { withCredentials: true });
     }
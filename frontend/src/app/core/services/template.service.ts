@@ -2,6 +2,7 @@ import { Injectable, inject } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable, map, shareReplay } from 'rxjs';
 import { TemplateIndex, TemplateEntry, TemplateMetadata } from '../models/template.model';
+import { environment } from '../../../environments/environment';
 
 @Injectable({
   providedIn: 'root'
@@ -9,16 +10,19 @@ import { TemplateIndex, TemplateEntry, TemplateMetadata } from '../models/templa
 export class TemplateService {
   private http = inject(HttpClient);
 
-  // Cache the index.json after first load
+  // Cache the template index after first load (the server also sends an ETag)
   private templateIndex$: Observable<TemplateIndex> | null = null;
 
   /**
-   * Get all available templates from index.json
+   * Get all available templates from the backend template registry
    * Results are cached after first load
    */
   getTemplates(): Observable<TemplateEntry[]> {
     if (!this.templateIndex$) {
-      this.templateIndex$ = this.http.get<TemplateIndex>('assets/templates/index.json').pipe(
+      this.templateIndex$ = this.http.get<TemplateIndex>(
+        `${environment.apiUrl}/templates`,
+        { withCredentials: true }
+      ).pipe(
         shareReplay(1)
       );
     }
@@ -30,9 +34,11 @@ export class TemplateService {
 
   /**
    * Get metadata for a specific template by ID
-   * Loads the template's metadata.json file
    */
   getMetadata(templateId: string): Observable<TemplateMetadata> {
-    return this.http.get<TemplateMetadata>(`assets/templates/${templateId}/metadata.json`);
+    return this.http.get<TemplateMetadata>(
+      `${environment.apiUrl}/templates/${templateId}`,
+      { withCredentials: true }
+    );
   }
 }
@@ -11,7 +11,7 @@ import { HeaderComponent } from '../../shared/components/header.component';
 import { CreateProjectDialogComponent } from './create-project-dialog.component';
 import { ProjectService } from '../../core/services/project.service';
 import { AuthService } from '../../core/services/auth.service';
-import { Project } from '../../core/models/project.model';
+import { ProjectSummary } from '../../core/models/project.model';
 
 @Component({
     selector: 'app-dashboard',
@@ -124,6 +124,13 @@ import { Project } from '../../core/models/project.model';
                     (click)="onProjectSelect(row)"></tr>
               </table>
             </div>
+            @if (nextCursor()) {
+              <div class="load-more">
+                <button class="btn btn-outline" [disabled]="loadingMore()" (click)="loadMore()">
+                  {{ loadingMore() ? 'Loading…' : 'Load more' }}
+                </button>
+              </div>
+            }
           }
         </div>
       </div>
@@ -206,6 +213,12 @@ import { Project } from '../../core/models/project.model';
       color: var(--muted-foreground);
     }
 
+    .load-more {
+      display: flex;
+      justify-content: center;
+      margin-top: 16px;
+    }
+
     .empty-state h3 {
       margin-bottom: 4px;
     }
@@ -216,7 +229,9 @@ import { Project } from '../../core/models/project.model';
   `],
 })
 export class DashboardComponent implements OnInit {
-    projects = signal<Project[]>([]);
+    projects = signal<ProjectSummary[]>([]);
+    nextCursor = signal<string | null>(null);
+    loadingMore = signal(false);
     displayedColumns = ['name', 'status', 'owner', 'updatedAt', 'actions'];
 
     constructor(
@@ -232,14 +247,34 @@ export class DashboardComponent implements OnInit {
     }
 
     loadProjects(): void {
-        this.projectService.getAll().subscribe({
-            next: (projects) => this.projects.set(projects),
+        this.projectService.getSummaries().subscribe({
+            next: (page) => {
+                this.projects.set(page.items);
+                this.nextCursor.set(page.nextCursor);
+            },
             error: () =>
                 this.snackBar.open('Failed to load projects', 'Close', { duration: 3000 }),
         });
     }
 
-    onProjectSelect(project: Project): void {
+    loadMore(): void {
+        const cursor = this.nextCursor();
+        if (!cursor || this.loadingMore()) return;
+        this.loadingMore.set(true);
+        this.projectService.getSummaries('updated', cursor).subscribe({
+            next: (page) => {
+                this.projects.update(projects => [...projects, ...page.items]);
+                this.nextCursor.set(page.nextCursor);
+                this.loadingMore.set(false);
+            },
+            error: () => {
+                this.loadingMore.set(false);
+                this.snackBar.open('Failed to load projects', 'Close', { duration: 3000 });
+            },
+        });
+    }
+
+    onProjectSelect(project: ProjectSummary): void {
         this.router.navigate(['/projects', project.id, 'planning']);
     }
 
@@ -255,7 +290,7 @@ export class DashboardComponent implements OnInit {
         });
     }
 
-    deleteProject(project: Project): void {
+    deleteProject(project: ProjectSummary): void {
         if (confirm(`Delete "${project.name}"? This cannot be undone.`)) {
             this.projectService.delete(project.id).subscribe({
                 next: () => {
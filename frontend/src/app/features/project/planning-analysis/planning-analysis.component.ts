@@ -63,7 +63,7 @@ import { marked } from 'marked';
           }
         </div>
         <input #fileInput type="file" hidden
-               accept=".pdf,.docx,.txt,.md"
+               accept=".pdf,.docx,.xlsx,.pptx,.html,.htm,.txt,.md"
                multiple
                (change)="onFilesSelected($event)" />
       </div>
@@ -77,6 +77,11 @@ import { marked } from 'marked';
                 <lucide-icon name="file-text" [size]="16"></lucide-icon>
                 <span class="file-name">{{ file.originalFilename }}</span>
                 <span class="file-size">{{ formatFileSize(file.fileSize) }}</span>
+                @if (file.status === 'PENDING' || file.status === 'EXTRACTING') {
+                  <span class="file-status">Processing...</span>
+                } @else if (file.status === 'FAILED') {
+                  <span class="file-status failed" [title]="file.extractionError || ''">Could not read file</span>
+                }
               </div>
               <div class="file-actions">
                 <a class="btn-icon" [href]="getDownloadUrl(file)" title="Download file" target="_blank">
@@ -395,6 +400,17 @@ import { marked } from 'marked';
       color: var(--muted-foreground);
     }
 
+    .file-status {
+      font-size: 12px;
+      color: var(--muted-foreground);
+      font-style: italic;
+    }
+
+    .file-status.failed {
+      color: var(--destructive, #ef4444);
+      font-style: normal;
+    }
+
     .file-actions {
       display: flex;
       gap: 4px;
@@ -985,6 +1001,7 @@ export class PlanningAnalysisComponent implements OnInit, HasUnsavedChanges {
     private projectName = '';
     private destroyRef = inject(DestroyRef);
     private streamSubscription: Subscription | null = null;
+    private fileStatusSubscription: Subscription | null = null;
 
     constructor(
         private route: ActivatedRoute,
@@ -995,6 +1012,7 @@ export class PlanningAnalysisComponent implements OnInit, HasUnsavedChanges {
     ) {
         this.destroyRef.onDestroy(() => {
             this.streamSubscription?.unsubscribe();
+            this.fileStatusSubscription?.unsubscribe();
         });
     }
 
@@ -1017,6 +1035,8 @@ export class PlanningAnalysisComponent implements OnInit, HasUnsavedChanges {
     private resetState(): void {
         this.streamSubscription?.unsubscribe();
         this.streamSubscription = null;
+        this.fileStatusSubscription?.unsubscribe();
+        this.fileStatusSubscription = null;
         this.prdContent.set(null);
         this.prdDraft.set('');
         this.savingPrd.set(false);
@@ -1055,6 +1075,11 @@ export class PlanningAnalysisComponent implements OnInit, HasUnsavedChanges {
             next: files => this.uploadedFiles.set(files),
             error: () => {},
         });
+
+        // Extraction runs after upload; keep each file's status current
+        this.fileStatusSubscription = this.fileService.statusEvents(this.projectId).subscribe(update => {
+            this.uploadedFiles.update(files => files.map(f => f.id === update.id ? { ...f, ...update } : f));
+        });
     }
 
     saveManualAsDocument(): void {
@@ -8,7 +8,7 @@ import { SidebarComponent } from '../../shared/components/sidebar.component';
 import { HeaderComponent, Breadcrumb } from '../../shared/components/header.component';
 import { ProjectService } from '../../core/services/project.service';
 import { AuthService } from '../../core/services/auth.service';
-import { Project } from '../../core/models/project.model';
+import { Project, ProjectSummary } from '../../core/models/project.model';
 
 interface SdlcPhase {
     label: string;
@@ -228,7 +228,7 @@ interface SdlcPhase {
 })
 export class ProjectLayoutComponent implements OnInit {
     project = signal<Project | null>(null);
-    projects = signal<Project[]>([]);
+    projects = signal<ProjectSummary[]>([]);
     breadcrumbs = signal<Breadcrumb[]>([]);
     progressPercent = signal(20);
     activePhase = signal<string>('planning');
@@ -257,8 +257,8 @@ export class ProjectLayoutComponent implements OnInit {
             takeUntilDestroyed(this.destroyRef)
         ).subscribe(id => this.loadProject(id));
 
-        this.projectService.getAll().subscribe({
-            next: (projects) => this.projects.set(projects),
+        this.projectService.getSummaries('updated', null, 100).subscribe({
+            next: (page) => this.projects.set(page.items),
         });
 
         // Track active phase based on route
@@ -337,7 +337,7 @@ export class ProjectLayoutComponent implements OnInit {
         this.progressPercent.set(Math.round(percent));
     }
 
-    onProjectSelect(project: Project): void {
+    onProjectSelect(project: ProjectSummary): void {
         this.router.navigate(['/projects', project.id, 'planning']);
     }
 
@@ -2,7 +2,7 @@ import { Component, EventEmitter, Input, OnInit, Output, signal } from '@angular
 import { CommonModule } from '@angular/common';
 import { RouterLink, RouterLinkActive } from '@angular/router';
 import { LucideAngularModule } from 'lucide-angular';
-import { Project } from '../../core/models/project.model';
+import { ProjectSummary } from '../../core/models/project.model';
 
 const STORAGE_KEY = 'sidebar-collapsed';
 
@@ -277,10 +277,10 @@ const STORAGE_KEY = 'sidebar-collapsed';
   `],
 })
 export class SidebarComponent implements OnInit {
-    @Input() projects: Project[] = [];
+    @Input() projects: ProjectSummary[] = [];
     @Input() activeItem = '';
     @Input() userName = '';
-    @Output() projectSelected = new EventEmitter<Project>();
+    @Output() projectSelected = new EventEmitter<ProjectSummary>();
 
     collapsed = signal(false);
 
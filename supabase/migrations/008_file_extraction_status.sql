@@ -0,0 +1,9 @@
+-- Async document extraction: per-file status, set by the background extraction workers
+ALTER TABLE project_files
+  ADD COLUMN IF NOT EXISTS extraction_status VARCHAR(20) NOT NULL DEFAULT 'READY',
+  ADD COLUMN IF NOT EXISTS extraction_error TEXT;
+
+-- Existing rows were extracted synchronously on upload, hence the READY default.
+-- extraction_status values: PENDING, EXTRACTING, READY, FAILED
+CREATE INDEX IF NOT EXISTS idx_project_files_extraction_status
+  ON project_files(extraction_status) WHERE extraction_status IN ('PENDING', 'EXTRACTING');
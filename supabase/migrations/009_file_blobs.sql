@@ -0,0 +1,25 @@
+-- Content-addressed blob store: raw file bytes move out of project_files
+CREATE TABLE IF NOT EXISTS file_blobs (
+    hash VARCHAR(64) PRIMARY KEY,          -- lowercase hex SHA-256 of data
+    data BYTEA NOT NULL,
+    size BIGINT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Store uncompressed out-of-line so substring() range reads don't detoast the whole value
+ALTER TABLE file_blobs ALTER COLUMN data SET STORAGE EXTERNAL;
+
+ALTER TABLE project_files ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+INSERT INTO file_blobs (hash, data, size)
+SELECT DISTINCT ON (encode(sha256(file_data), 'hex')) encode(sha256(file_data), 'hex'), file_data, length(file_data)
+FROM project_files
+WHERE file_data IS NOT NULL
+ON CONFLICT (hash) DO NOTHING;
+
+UPDATE project_files SET content_hash = encode(sha256(file_data), 'hex') WHERE content_hash IS NULL;
+
+ALTER TABLE project_files ALTER COLUMN content_hash SET NOT NULL;
+ALTER TABLE project_files DROP COLUMN file_data;
+
+CREATE INDEX IF NOT EXISTS idx_project_files_content_hash ON project_files(content_hash);
@@ -0,0 +1,22 @@
+-- Share blobs and their extracted text across project files by reference count
+ALTER TABLE file_blobs
+  ADD COLUMN IF NOT EXISTS ref_count INTEGER NOT NULL DEFAULT 0,
+  ADD COLUMN IF NOT EXISTS extracted_text TEXT;
+
+UPDATE file_blobs b
+SET ref_count = (SELECT COUNT(*) FROM project_files f WHERE f.content_hash = b.hash);
+
+-- Extracted text moves from each file row onto the shared blob
+UPDATE file_blobs b
+SET extracted_text = f.extracted_text
+FROM (
+  SELECT DISTINCT ON (content_hash) content_hash, extracted_text
+  FROM project_files
+  WHERE extraction_status = 'READY' AND extracted_text IS NOT NULL
+  ORDER BY content_hash, updated_at DESC
+) f
+WHERE f.content_hash = b.hash;
+
+ALTER TABLE project_files DROP COLUMN extracted_text;
+
+DELETE FROM file_blobs WHERE ref_count <= 0;
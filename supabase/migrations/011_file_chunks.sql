@@ -0,0 +1,25 @@
+-- Extracted text split into stable, hashed chunks (per shared blob)
+CREATE TABLE IF NOT EXISTS file_chunks (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    content_hash VARCHAR(64) NOT NULL REFERENCES file_blobs(hash) ON DELETE CASCADE,
+    chunk_index INTEGER NOT NULL,
+    chunk_hash VARCHAR(64) NOT NULL,         -- SHA-256 of the chunk text
+    heading_path TEXT,                       -- e.g. "Requirements > Authentication"
+    page_start INTEGER,                      -- PDF only
+    page_end INTEGER,
+    token_estimate INTEGER NOT NULL,
+    text TEXT NOT NULL,
+    UNIQUE (content_hash, chunk_index)
+);
+
+-- Chunk hashes covered by each project's most recent successful analysis
+CREATE TABLE IF NOT EXISTS project_analysis_chunks (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    project_id UUID NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    chunk_hash VARCHAR(64) NOT NULL,
+    analyzed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_analysis_chunks_project_id ON project_analysis_chunks(project_id);
+
+-- Existing blobs are chunked by the application on startup
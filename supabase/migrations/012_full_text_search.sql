@@ -0,0 +1,31 @@
+-- Full-text search: generated tsvector columns kept current by Postgres on every write
+ALTER TABLE projects
+  ADD COLUMN IF NOT EXISTS meta_search tsvector GENERATED ALWAYS AS (
+      setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+      setweight(to_tsvector('english', coalesce(description, '')), 'B')
+  ) STORED,
+  ADD COLUMN IF NOT EXISTS prd_search tsvector GENERATED ALWAYS AS (
+      to_tsvector('english', coalesce(prd_content, ''))
+  ) STORED,
+  ADD COLUMN IF NOT EXISTS design_system_search tsvector GENERATED ALWAYS AS (
+      to_tsvector('english', coalesce(design_system_content, ''))
+  ) STORED,
+  ADD COLUMN IF NOT EXISTS tech_design_search tsvector GENERATED ALWAYS AS (
+      to_tsvector('english',
+          coalesce(arch_overview_content, '') || ' ' ||
+          coalesce(data_model_content, '') || ' ' ||
+          coalesce(api_contract_content, '') || ' ' ||
+          coalesce(sequence_diagrams_content, ''))
+  ) STORED;
+
+ALTER TABLE file_chunks
+  ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+      setweight(to_tsvector('english', coalesce(heading_path, '')), 'A') ||
+      to_tsvector('english', text)
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_projects_meta_search ON projects USING GIN (meta_search);
+CREATE INDEX IF NOT EXISTS idx_projects_prd_search ON projects USING GIN (prd_search);
+CREATE INDEX IF NOT EXISTS idx_projects_design_system_search ON projects USING GIN (design_system_search);
+CREATE INDEX IF NOT EXISTS idx_projects_tech_design_search ON projects USING GIN (tech_design_search);
+CREATE INDEX IF NOT EXISTS idx_file_chunks_search_vector ON file_chunks USING GIN (search_vector);
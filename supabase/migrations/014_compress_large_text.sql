@@ -0,0 +1,19 @@
+-- Screen prototypes are compressed by the application (CompressedTextConverter).
+-- Existing rows become plain UTF-8 bytes, which the converter still reads, and are
+-- compressed in the background by CompressionBackfillService.
+ALTER TABLE project_screens
+  ALTER COLUMN prototype_content TYPE BYTEA USING convert_to(prototype_content, 'UTF8');
+
+-- Already compressed; don't let TOAST try again
+ALTER TABLE project_screens ALTER COLUMN prototype_content SET STORAGE EXTERNAL;
+
+-- The markdown artifacts feed the generated full-text search columns (012), so they stay
+-- TEXT for Postgres to read. Use lz4 instead of pglz for their TOAST compression: it is
+-- much faster to compress and decompress at a similar ratio. Applies to new writes.
+ALTER TABLE projects
+  ALTER COLUMN prd_content SET COMPRESSION lz4,
+  ALTER COLUMN design_system_content SET COMPRESSION lz4,
+  ALTER COLUMN arch_overview_content SET COMPRESSION lz4,
+  ALTER COLUMN data_model_content SET COMPRESSION lz4,
+  ALTER COLUMN api_contract_content SET COMPRESSION lz4,
+  ALTER COLUMN sequence_diagrams_content SET COMPRESSION lz4;
@@ -0,0 +1,4 @@
+-- Extraction attempts per file; a file that repeatedly takes the worker down is failed
+-- on startup instead of being retried forever
+ALTER TABLE project_files
+  ADD COLUMN IF NOT EXISTS extraction_attempts INTEGER NOT NULL DEFAULT 0;
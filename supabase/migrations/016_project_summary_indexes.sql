@@ -0,0 +1,8 @@
+-- Keyset pagination for the dashboard project list: one index per sort order, each
+-- ending in id so the (sort key, id) cursor comparison is an index range scan
+CREATE INDEX IF NOT EXISTS idx_projects_updated_at_id ON projects(updated_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_projects_created_at_id ON projects(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_projects_name_id ON projects(name, id);
+
+-- Per-project screen and prototype counts
+CREATE INDEX IF NOT EXISTS idx_project_screens_project_id ON project_screens(project_id);
@@ -0,0 +1,57 @@
+-- Move the large markdown documents out of the projects row into one row per artifact,
+-- so metadata reads and writes (status changes, uploads, phase completion) only touch
+-- a small row and saving one document no longer rewrites the others
+CREATE TABLE IF NOT EXISTS project_artifacts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    project_id UUID NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    type VARCHAR(30) NOT NULL,
+    content TEXT COMPRESSION lz4 NOT NULL,
+    hash VARCHAR(64) NOT NULL,
+    generated_at TIMESTAMPTZ,
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('english', content)) STORED,
+    CONSTRAINT uq_project_artifacts_project_type UNIQUE (project_id, type),
+    CONSTRAINT chk_project_artifacts_type CHECK (type IN (
+        'PRD', 'DESIGN_SYSTEM', 'CORPORATE_GUIDELINES',
+        'ARCH_OVERVIEW', 'DATA_MODEL', 'API_CONTRACT', 'SEQUENCE_DIAGRAMS'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_artifacts_search_vector ON project_artifacts USING GIN (search_vector);
+
+-- Copy existing content. The PRD had no timestamp of its own; use the project's.
+INSERT INTO project_artifacts (project_id, type, content, hash, generated_at)
+SELECT p.id, a.type, a.content, encode(sha256(convert_to(a.content, 'UTF8')), 'hex'), a.generated_at
+FROM projects p
+CROSS JOIN LATERAL (VALUES
+    ('PRD', p.prd_content, p.updated_at),
+    ('DESIGN_SYSTEM', p.design_system_content, p.design_system_updated_at),
+    ('CORPORATE_GUIDELINES', p.corporate_guidelines_content, p.corporate_guidelines_uploaded_at),
+    ('ARCH_OVERVIEW', p.arch_overview_content, p.arch_overview_generated_at),
+    ('DATA_MODEL', p.data_model_content, p.data_model_generated_at),
+    ('API_CONTRACT', p.api_contract_content, p.api_contract_generated_at),
+    ('SEQUENCE_DIAGRAMS', p.sequence_diagrams_content, p.sequence_diagrams_generated_at)
+) AS a(type, content, generated_at)
+WHERE a.content IS NOT NULL
+ON CONFLICT (project_id, type) DO NOTHING;
+
+-- The per-document search columns from 012 are replaced by project_artifacts.search_vector
+DROP INDEX IF EXISTS idx_projects_prd_search;
+DROP INDEX IF EXISTS idx_projects_design_system_search;
+DROP INDEX IF EXISTS idx_projects_tech_design_search;
+
+ALTER TABLE projects
+  DROP COLUMN IF EXISTS prd_search,
+  DROP COLUMN IF EXISTS design_system_search,
+  DROP COLUMN IF EXISTS tech_design_search,
+  DROP COLUMN IF EXISTS prd_content,
+  DROP COLUMN IF EXISTS design_system_content,
+  DROP COLUMN IF EXISTS design_system_updated_at,
+  DROP COLUMN IF EXISTS corporate_guidelines_content,
+  DROP COLUMN IF EXISTS corporate_guidelines_uploaded_at,
+  DROP COLUMN IF EXISTS arch_overview_content,
+  DROP COLUMN IF EXISTS arch_overview_generated_at,
+  DROP COLUMN IF EXISTS data_model_content,
+  DROP COLUMN IF EXISTS data_model_generated_at,
+  DROP COLUMN IF EXISTS api_contract_content,
+  DROP COLUMN IF EXISTS api_contract_generated_at,
+  DROP COLUMN IF EXISTS sequence_diagrams_content,
+  DROP COLUMN IF EXISTS sequence_diagrams_generated_at;
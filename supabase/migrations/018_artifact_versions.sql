@@ -0,0 +1,4 @@
+-- Optimistic-lock version for artifact saves: each content change bumps it, and a save
+-- can require the version it was based on (409 otherwise)
+ALTER TABLE project_artifacts
+  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
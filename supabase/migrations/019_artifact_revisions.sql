@@ -0,0 +1,23 @@
+-- Revision history of the generated artifacts and screen prototypes. Each revision is
+-- either a compressed full SNAPSHOT or a binary DELTA from the revision before it (see
+-- ArtifactHistoryService); screen_id is set for prototypes only. Saving the screen list
+-- keeps the ids of the screens that stay on it and deletes the history of the ones it drops.
+CREATE TABLE IF NOT EXISTS artifact_revisions (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    project_id UUID NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    artifact VARCHAR(30) NOT NULL,
+    screen_id UUID,
+    revision INTEGER NOT NULL,
+    kind VARCHAR(10) NOT NULL,
+    data BYTEA NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    content_length INTEGER NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    -- One row per revision (NULL screen_ids count as equal); the index also serves
+    -- the latest-revision and nearest-snapshot lookups
+    CONSTRAINT uq_artifact_revisions_revision UNIQUE NULLS NOT DISTINCT (project_id, artifact, screen_id, revision),
+    CONSTRAINT chk_artifact_revisions_kind CHECK (kind IN ('SNAPSHOT', 'DELTA'))
+);
+
+-- Deltas and snapshots are already compressed; don't let TOAST try again
+ALTER TABLE artifact_revisions ALTER COLUMN data SET STORAGE EXTERNAL;